@@ -0,0 +1,77 @@
+package io.github.voidc.vectometry.index;
+
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+import io.github.voidc.vectometry.IShape;
+import io.github.voidc.vectometry.Polygon;
+import io.github.voidc.vectometry.Vector;
+import io.github.voidc.vectometry.metrics.Histogram;
+
+/**
+ * local load test of the {@link BatchingQueryExecutor} against one scan per request
+ * <p>
+ * usage: java io.github.voidc.vectometry.index.QueryLoadGenerator [shapes] [clients] [requests per client] [batch size] [delay in us]
+ * <br>
+ * every client sends point in polygon queries one after another and waits for each answer, the latency percentiles
+ * and the throughput of both variants are printed
+ */
+public class QueryLoadGenerator {
+	private static final float WORLD = 10000;
+
+	public static void main(String[] args) throws InterruptedException {
+		int shapeCount = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		int clients = args.length > 1 ? Integer.parseInt(args[1]) : 256;
+		int requests = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+		int batchSize = args.length > 3 ? Integer.parseInt(args[3]) : 256;
+		long delay = args.length > 4 ? Long.parseLong(args[4]) : 0;
+
+		Random random = new Random(42);
+		IShape[] shapes = new IShape[shapeCount];
+		for(int s = 0; s < shapeCount; s++) {
+			float x = random.nextFloat() * WORLD, y = random.nextFloat() * WORLD, size = 10 + random.nextFloat() * 90;
+			shapes[s] = new Polygon(new Vector[] {
+					new Vector(x, y), new Vector(x + size, y + size / 4), new Vector(x + size / 2, y + size), new Vector(x - size / 4, y + size / 2)});
+		}
+
+		try(BatchingQueryExecutor executor = new BatchingQueryExecutor(shapes, batchSize, delay)) {
+			ExecutorService workers = BatchingQueryExecutor.newWorkers();
+			System.out.printf("%d shapes, %d clients, %d requests each%n", shapeCount, clients, requests);
+			run("unbatched", clients, requests, point -> CompletableFuture.supplyAsync(() -> executor.containingNow(point), workers));
+			run("batched", clients, requests, executor::containing);
+			workers.shutdown();
+			Histogram batches = executor.batchSizes();
+			System.out.printf("batch size: mean %.1f, p99 %d, max %d%n", batches.mean(), batches.percentile(0.99), batches.max());
+			Histogram depths = executor.queueDepths();
+			System.out.printf("queue depth: mean %.1f, p99 %d, max %d%n", depths.mean(), depths.percentile(0.99), depths.max());
+		}
+	}
+
+	private static void run(String name, int clients, int requests, Function<Vector, CompletableFuture<int[]>> query) throws InterruptedException {
+		Histogram latency = new Histogram();
+		CountDownLatch done = new CountDownLatch(clients);
+		long start = System.nanoTime();
+		for(int c = 0; c < clients; c++) {
+			Random random = new Random(c);
+			Thread client = new Thread(() -> {
+				for(int r = 0; r < requests; r++) {
+					Vector point = new Vector(random.nextFloat() * WORLD, random.nextFloat() * WORLD);
+					long sent = System.nanoTime();
+					query.apply(point).join();
+					latency.record(System.nanoTime() - sent);
+				}
+				done.countDown();
+			});
+			client.setDaemon(true);
+			client.start();
+		}
+		done.await();
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.printf("%-10s p50 %8.1f us  p99 %8.1f us  max %8.1f us  %10.0f queries/s%n", name,
+				latency.percentile(0.5) / 1e3, latency.percentile(0.99) / 1e3, latency.max() / 1e3, clients * requests / seconds);
+	}
+
+}
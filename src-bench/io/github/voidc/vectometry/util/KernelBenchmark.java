@@ -0,0 +1,86 @@
+package io.github.voidc.vectometry.util;
+
+import java.util.Random;
+
+import io.github.voidc.vectometry.Vector;
+
+/**
+ * compares the scalar kernels with {@link CoordinateKernels#DEFAULT} on fixed random data
+ * <p>
+ * usage: java [--add-modules jdk.incubator.vector] io.github.voidc.vectometry.util.KernelBenchmark [points] [rounds]
+ * <br>
+ * the data is generated with a fixed seed, every kernel is warmed up for two seconds before it is measured and the best round is printed
+ * in nanoseconds per point together with a checksum, so the runs of both implementations can be compared
+ */
+public class KernelBenchmark {
+	private static final long WARMUP_NANOS = 2_000_000_000L; // per kernel, the vector API is only fast once C2 has compiled it
+
+	private interface Kernel {
+		double run(CoordinateKernels kernels);
+	}
+
+	public static void main(String[] args) {
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : 1 << 16;
+		int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+
+		Random random = new Random(42);
+		float[] xy = new float[2 * n];
+		for(int i = 0; i < n; i++) { // star shaped ring around the origin
+			double angle = 2 * Math.PI * i / n, radius = 500 + random.nextFloat() * 500;
+			xy[2*i] = (float) (radius * Math.cos(angle));
+			xy[2*i+1] = (float) (radius * Math.sin(angle));
+		}
+		float[] points = new float[2 * n];
+		for(int i = 0; i < points.length; i++) {
+			points[i] = random.nextFloat() * 2000 - 1000;
+		}
+		float[] ring = new float[2 * 64];
+		for(int v = 0; v < 64; v++) {
+			int i = v * (n / 64);
+			ring[2*v] = xy[2*i];
+			ring[2*v+1] = xy[2*i+1];
+		}
+		Affine transform = Affine.rotation(Angle.deg(30), new Vector(10, 20)).then(Affine.scaling(2, 3));
+		float[] floats = new float[2 * n], bounds = new float[4];
+		boolean[] flags = new boolean[n];
+
+		CoordinateKernels scalar = new ScalarKernels(), selected = CoordinateKernels.DEFAULT;
+		System.out.printf("%d points, %d rounds, default kernels: %s%n", n, rounds, selected.getClass().getSimpleName());
+		System.out.printf("%-16s %12s %12s %8s%n", "kernel", "scalar ns/pt", "default ns/pt", "speedup");
+		measure("signedArea", n, rounds, scalar, selected, k -> k.signedArea(xy, n));
+		measure("bounds", n, rounds, scalar, selected, k -> {
+			k.bounds(xy, n, bounds);
+			return bounds[0] + bounds[1] + bounds[2] + bounds[3];
+		});
+		measure("transform", n, rounds, scalar, selected, k -> {
+			k.transform(xy, floats, n, transform);
+			return floats[0] + floats[floats.length - 1];
+		});
+		measure("distances", n, rounds, scalar, selected, k -> {
+			k.distancesSquared(points, n, 3, 4, floats);
+			return floats[0] + floats[n - 1];
+		});
+		measure("inCircle", n, rounds, scalar, selected, k -> k.inCircle(points, n, 0, 0, 700, flags));
+		measure("inPolygon(64)", n, rounds, scalar, selected, k -> k.inPolygon(ring, 64, points, n, flags));
+	}
+
+	private static void measure(String name, int n, int rounds, CoordinateKernels scalar, CoordinateKernels selected, Kernel kernel) {
+		double scalarSum = 0, selectedSum = 0;
+		for(long end = System.nanoTime() + WARMUP_NANOS; System.nanoTime() < end;) {
+			scalarSum = kernel.run(scalar);
+			selectedSum = kernel.run(selected);
+		}
+		long scalarBest = Long.MAX_VALUE, selectedBest = Long.MAX_VALUE;
+		for(int r = 0; r < rounds; r++) {
+			long start = System.nanoTime();
+			scalarSum = kernel.run(scalar);
+			scalarBest = Math.min(scalarBest, System.nanoTime() - start);
+			start = System.nanoTime();
+			selectedSum = kernel.run(selected);
+			selectedBest = Math.min(selectedBest, System.nanoTime() - start);
+		}
+		System.out.printf("%-16s %12.3f %12.3f %7.2fx   checksums %s / %s%n", name, (double) scalarBest / n, (double) selectedBest / n,
+				(double) scalarBest / selectedBest, (float) scalarSum, (float) selectedSum);
+	}
+
+}
@@ -0,0 +1,88 @@
+package io.github.voidc.vectometry.util;
+
+import java.util.Random;
+
+/**
+ * compares {@link Matrix#multiply(Matrix)} with the plain triple loop on random square matrices
+ * <p>
+ * usage: java io.github.voidc.vectometry.util.MatrixBenchmark [sizes...]
+ * <br>
+ * the sizes default to 64 up to 2048. every size is measured in rounds until one second has passed (at least two rounds, the
+ * first one is a warm-up) and the best round is printed together with the largest difference between both results
+ */
+public class MatrixBenchmark {
+	private static final long ROUND_NANOS = 1_000_000_000L;
+
+	private interface Product {
+		Matrix multiply(Matrix a, Matrix b);
+	}
+
+	public static void main(String[] args) {
+		int[] sizes = {64, 128, 256, 512, 1024, 2048};
+		if(args.length > 0) {
+			sizes = new int[args.length];
+			for(int i = 0; i < args.length; i++) {
+				sizes[i] = Integer.parseInt(args[i]);
+			}
+		}
+		Random random = new Random(42);
+		System.out.printf("%d processors%n", Runtime.getRuntime().availableProcessors());
+		System.out.printf("%6s %14s %14s %8s %12s%n", "size", "triple loop ms", "multiply ms", "speedup", "difference");
+		for(int n : sizes) {
+			Matrix a = random(n, random), b = random(n, random);
+			Matrix[] results = new Matrix[2];
+			double naive = measure(a, b, MatrixBenchmark::tripleLoop, results, 0);
+			double blocked = measure(a, b, Matrix::multiply, results, 1);
+			float difference = 0;
+			for(int col = 0; col < n; col++) {
+				for(int row = 0; row < n; row++) {
+					difference = Math.max(difference, Math.abs(results[0].get(col, row) - results[1].get(col, row)));
+				}
+			}
+			System.out.printf("%6d %14.2f %14.2f %7.2fx %12s%n", n, naive, blocked, naive / blocked, difference);
+		}
+	}
+
+	private static Matrix random(int n, Random random) {
+		float[][] values = new float[n][n];
+		for(float[] column : values) {
+			for(int row = 0; row < n; row++) {
+				column[row] = random.nextFloat() * 2 - 1;
+			}
+		}
+		return new Matrix(values);
+	}
+
+	/**
+	 * @return milliseconds of the best round
+	 */
+	private static double measure(Matrix a, Matrix b, Product product, Matrix[] results, int slot) {
+		long best = Long.MAX_VALUE;
+		long end = System.nanoTime() + ROUND_NANOS;
+		for(int round = 0; round < 2 || System.nanoTime() < end; round++) {
+			long start = System.nanoTime();
+			results[slot] = product.multiply(a, b);
+			long time = System.nanoTime() - start;
+			if(round > 0) best = Math.min(best, time);
+		}
+		return best / 1e6;
+	}
+
+	/**
+	 * the multiplication before the blocked version
+	 */
+	private static Matrix tripleLoop(Matrix a, Matrix b) {
+		Matrix result = new Matrix(b.columns(), a.rows());
+		for(int col = 0; col < result.columns(); col++) {
+			for(int row = 0; row < result.rows(); row++) {
+				float sum = 0;
+				for(int i = 0; i < a.columns(); i++) {
+					sum += b.get(col, i) * a.get(i, row);
+				}
+				result.set(col, row, sum);
+			}
+		}
+		return result;
+	}
+
+}
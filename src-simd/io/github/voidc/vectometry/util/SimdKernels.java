@@ -0,0 +1,177 @@
+package io.github.voidc.vectometry.util;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * kernels which use the incubating vector API, they are loaded reflectively so the library works without the module
+ * <p>
+ * interleaved coordinates are processed as they are where possible (bounds, area, transform) and split into x and y lanes
+ * with two-vector shuffles for the point in polygon test, which does enough work per point to pay for them. the remainder
+ * which doesn't fill a whole vector is processed by the scalar kernels
+ */
+final class SimdKernels implements CoordinateKernels {
+	private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+	private static final int LANES = SPECIES.length();
+	private static final int BLOCK = 1 << 10; // floats which are summed in single precision before they are added to the double sum
+
+	private static final VectorShuffle<Float> SWAP = VectorShuffle.fromOp(SPECIES, i -> i ^ 1);
+	private static final VectorShuffle<Float> EVEN = VectorShuffle.fromOp(SPECIES, i -> 2 * i);
+	private static final VectorShuffle<Float> ODD = VectorShuffle.fromOp(SPECIES, i -> 2 * i + 1);
+	private static final FloatVector SIGNS = FloatVector.fromArray(SPECIES, alternating(1, -1), 0);
+
+	private final ScalarKernels scalar = new ScalarKernels();
+
+	private static float[] alternating(float even, float odd) {
+		float[] values = new float[LANES];
+		for(int i = 0; i < LANES; i++) {
+			values[i] = i % 2 == 0 ? even : odd;
+		}
+		return values;
+	}
+
+	/**
+	 * sums x(i) * y(i+1) - x(i+1) * y(i) relative to the first point in blocks of single precision partial sums
+	 */
+	@Override
+	public double signedArea(float[] xy, int n) {
+		if(n < 3) {
+			return 0;
+		}
+		float x0 = xy[0], y0 = xy[1];
+		FloatVector origin = FloatVector.fromArray(SPECIES, alternating(x0, y0), 0);
+		double sum = 0;
+		int k = 0;
+		int end = 2 * n - 2 - LANES; // the next point is loaded 2 floats after the current one
+		while(k <= end) {
+			FloatVector acc = FloatVector.zero(SPECIES);
+			int blockEnd = Math.min(end, k + BLOCK);
+			for(; k <= blockEnd; k += LANES) {
+				// x(i) * (y(i+1) - y(i)) - y(i) * (x(i+1) - x(i)) has the same value but much smaller terms
+				FloatVector current = FloatVector.fromArray(SPECIES, xy, k);
+				FloatVector delta = FloatVector.fromArray(SPECIES, xy, k + 2).sub(current).rearrange(SWAP);
+				acc = current.sub(origin).mul(delta).fma(SIGNS, acc);
+			}
+			sum += acc.reduceLanes(VectorOperators.ADD);
+		}
+		for(int v = k / 2; v < n; v++) { // remaining edges including the closing one
+			int w = v + 1 < n ? v + 1 : 0;
+			double ax = xy[2*v] - x0, ay = xy[2*v+1] - y0;
+			double bx = xy[2*w] - x0, by = xy[2*w+1] - y0;
+			sum += ax * by - bx * ay;
+		}
+		return sum / 2;
+	}
+
+	@Override
+	public void bounds(float[] xy, int n, float[] out) {
+		int length = 2 * n;
+		if(length < LANES) {
+			scalar.bounds(xy, n, out);
+			return;
+		}
+		FloatVector min = FloatVector.fromArray(SPECIES, xy, 0), max = min;
+		int k = LANES;
+		for(; k + LANES <= length; k += LANES) {
+			FloatVector v = FloatVector.fromArray(SPECIES, xy, k);
+			min = min.min(v);
+			max = max.max(v);
+		}
+		float[] lanesMin = min.toArray(), lanesMax = max.toArray();
+		float minX = lanesMin[0], minY = lanesMin[1], maxX = lanesMax[0], maxY = lanesMax[1];
+		for(int i = 2; i < LANES; i += 2) {
+			minX = Math.min(minX, lanesMin[i]);
+			minY = Math.min(minY, lanesMin[i+1]);
+			maxX = Math.max(maxX, lanesMax[i]);
+			maxY = Math.max(maxY, lanesMax[i+1]);
+		}
+		for(; k < length; k += 2) {
+			minX = Math.min(minX, xy[k]);
+			minY = Math.min(minY, xy[k+1]);
+			maxX = Math.max(maxX, xy[k]);
+			maxY = Math.max(maxY, xy[k+1]);
+		}
+		out[0] = minX;
+		out[1] = minY;
+		out[2] = maxX;
+		out[3] = maxY;
+	}
+
+	/**
+	 * (x, y) * (a, d) + (y, x) * (c, b) + (tx, ty) for each pair of lanes
+	 */
+	@Override
+	public void transform(float[] src, float[] dst, int n, Affine transform) {
+		FloatVector diagonal = FloatVector.fromArray(SPECIES, alternating((float) transform.a, (float) transform.d), 0);
+		FloatVector cross = FloatVector.fromArray(SPECIES, alternating((float) transform.c, (float) transform.b), 0);
+		FloatVector translation = FloatVector.fromArray(SPECIES, alternating((float) transform.tx, (float) transform.ty), 0);
+		int length = 2 * n;
+		int k = 0;
+		for(; k + LANES <= length; k += LANES) {
+			FloatVector v = FloatVector.fromArray(SPECIES, src, k);
+			v.rearrange(SWAP).fma(cross, v.fma(diagonal, translation)).intoArray(dst, k);
+		}
+		float a = (float) transform.a, b = (float) transform.b, c = (float) transform.c, d = (float) transform.d;
+		float tx = (float) transform.tx, ty = (float) transform.ty;
+		for(; k < length; k += 2) {
+			float x = src[k], y = src[k+1];
+			dst[k] = a * x + c * y + tx;
+			dst[k+1] = b * x + d * y + ty;
+		}
+	}
+
+	/**
+	 * splitting the points into x and y lanes costs more than it saves for one subtraction and multiplication per point,
+	 * so this uses the scalar loop which the JIT vectorizes by itself
+	 */
+	@Override
+	public void distancesSquared(float[] xy, int n, float x, float y, float[] out) {
+		scalar.distancesSquared(xy, n, x, y, out);
+	}
+
+	/**
+	 * uses the scalar loop for the same reason as {@link #distancesSquared(float[], int, float, float, float[])}
+	 */
+	@Override
+	public int inCircle(float[] xy, int n, float cx, float cy, float radius, boolean[] out) {
+		return scalar.inCircle(xy, n, cx, cy, radius, out);
+	}
+
+	/**
+	 * tests a whole vector of points against one edge at a time
+	 */
+	@Override
+	public int inPolygon(float[] ring, int size, float[] xy, int n, boolean[] out) {
+		int count = 0;
+		int i = 0;
+		for(; i + LANES <= n; i += LANES) {
+			FloatVector first = FloatVector.fromArray(SPECIES, xy, 2 * i), second = FloatVector.fromArray(SPECIES, xy, 2 * i + LANES);
+			FloatVector px = first.rearrange(EVEN, second);
+			FloatVector py = first.rearrange(ODD, second);
+			VectorMask<Float> inside = SPECIES.maskAll(false);
+			for(int v = 0, w = size - 1; v < size; w = v++) {
+				float ax = ring[2*v], ay = ring[2*v+1], bx = ring[2*w], by = ring[2*w+1];
+				if(ay == by) continue;
+				VectorMask<Float> crosses = py.compare(VectorOperators.LT, ay).eq(py.compare(VectorOperators.LT, by)).not();
+				if(!crosses.anyTrue()) continue;
+				FloatVector x = py.sub(ay).mul((bx - ax) / (by - ay)).add(ax);
+				VectorMask<Float> flip = crosses.and(px.compare(VectorOperators.LT, x));
+				inside = inside.eq(flip).not();
+			}
+			inside.intoArray(out, i);
+			count += inside.trueCount();
+		}
+		if(i < n) {
+			float[] rest = new float[2 * (n - i)];
+			System.arraycopy(xy, 2 * i, rest, 0, rest.length);
+			boolean[] restOut = new boolean[n - i];
+			count += scalar.inPolygon(ring, size, rest, n - i, restOut);
+			System.arraycopy(restOut, 0, out, i, restOut.length);
+		}
+		return count;
+	}
+
+}
@@ -0,0 +1,283 @@
+package io.github.voidc.vectometry;
+
+import io.github.voidc.vectometry.util.CoordinateKernels;
+
+/**
+ * immutable axis aligned bounding box of four floats
+ * <p>
+ * all tests are constant time without any square roots, {@link Rectangle} is the polygonal view of a box.
+ * the static methods work on packed box arrays in the form {minX0, minY0, maxX0, maxY0, minX1, ...}
+ */
+public final class Aabb {
+	public static final Aabb EMPTY = new Aabb(Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY);
+
+	public final float minX, minY, maxX, maxY;
+
+	/**
+	 * creates a new box, it is empty if a minimum is greater than the maximum
+	 * @param minX
+	 * @param minY
+	 * @param maxX
+	 * @param maxY
+	 */
+	public Aabb(float minX, float minY, float maxX, float maxY) {
+		this.minX = minX;
+		this.minY = minY;
+		this.maxX = maxX;
+		this.maxY = maxY;
+	}
+
+	/**
+	 * @param xy packed coordinates
+	 * @return the smallest box containing all points
+	 */
+	public static Aabb of(float[] xy) {
+		if(xy.length < 2) {
+			return EMPTY;
+		}
+		float[] bounds = new float[4];
+		CoordinateKernels.DEFAULT.bounds(xy, xy.length / 2, bounds);
+		return new Aabb(bounds[0], bounds[1], bounds[2], bounds[3]);
+	}
+
+	/**
+	 * @param vectors
+	 * @return the smallest box containing all vectors
+	 */
+	public static Aabb of(Vector... vectors) {
+		float x0 = Float.POSITIVE_INFINITY, y0 = Float.POSITIVE_INFINITY;
+		float x1 = Float.NEGATIVE_INFINITY, y1 = Float.NEGATIVE_INFINITY;
+		for(Vector vector : vectors) {
+			if(vector.x < x0) x0 = vector.x;
+			if(vector.x > x1) x1 = vector.x;
+			if(vector.y < y0) y0 = vector.y;
+			if(vector.y > y1) y1 = vector.y;
+		}
+		return new Aabb(x0, y0, x1, y1);
+	}
+
+	/**
+	 * @return true if the box doesn't contain any point
+	 */
+	public boolean isEmpty() {
+		return !(minX <= maxX && minY <= maxY);
+	}
+
+	/**
+	 * @return extent in x direction
+	 */
+	public float width() {
+		return this.isEmpty() ? 0 : maxX - minX;
+	}
+
+	/**
+	 * @return extent in y direction
+	 */
+	public float height() {
+		return this.isEmpty() ? 0 : maxY - minY;
+	}
+
+	/**
+	 * @return the area of the box
+	 */
+	public float area() {
+		return this.width() * this.height();
+	}
+
+	/**
+	 * @return the center of the box
+	 */
+	public Vector center() {
+		return new Vector((minX + maxX) / 2, (minY + maxY) / 2);
+	}
+
+	/**
+	 * @param x
+	 * @param y
+	 * @return true if the point is inside or on the border of the box
+	 */
+	public boolean contains(float x, float y) {
+		return x >= minX && x <= maxX && y >= minY && y <= maxY;
+	}
+
+	/**
+	 * @param vector
+	 * @return true if the vector is inside or on the border of the box
+	 */
+	public boolean contains(Vector vector) {
+		return this.contains(vector.x, vector.y);
+	}
+
+	/**
+	 * @param other
+	 * @return true if the other box is completely inside of this box
+	 */
+	public boolean contains(Aabb other) {
+		return other.minX >= minX && other.maxX <= maxX && other.minY >= minY && other.maxY <= maxY;
+	}
+
+	/**
+	 * @param other
+	 * @return true if both boxes share at least one point
+	 */
+	public boolean overlaps(Aabb other) {
+		return other.minX <= maxX && other.maxX >= minX && other.minY <= maxY && other.maxY >= minY;
+	}
+
+	/**
+	 * @param other
+	 * @return the smallest box containing both boxes
+	 */
+	public Aabb union(Aabb other) {
+		return new Aabb(Math.min(minX, other.minX), Math.min(minY, other.minY), Math.max(maxX, other.maxX), Math.max(maxY, other.maxY));
+	}
+
+	/**
+	 * @param other
+	 * @return the box which is covered by both boxes, or {@link #EMPTY} if they don't overlap
+	 */
+	public Aabb intersection(Aabb other) {
+		if(!this.overlaps(other)) {
+			return EMPTY;
+		}
+		return new Aabb(Math.max(minX, other.minX), Math.max(minY, other.minY), Math.min(maxX, other.maxX), Math.min(maxY, other.maxY));
+	}
+
+	/**
+	 * @param margin distance by which each side is moved outwards (if negative the box gets smaller)
+	 * @return the expanded box
+	 */
+	public Aabb expand(float margin) {
+		return new Aabb(minX - margin, minY - margin, maxX + margin, maxY + margin);
+	}
+
+	/**
+	 * @param x
+	 * @param y
+	 * @return the smallest box containing this box and the point
+	 */
+	public Aabb include(float x, float y) {
+		return new Aabb(Math.min(minX, x), Math.min(minY, y), Math.max(maxX, x), Math.max(maxY, y));
+	}
+
+	/**
+	 * @param transformation vector
+	 * @return the moved box
+	 */
+	public Aabb move(Vector transformation) {
+		return new Aabb(minX + transformation.x, minY + transformation.y, maxX + transformation.x, maxY + transformation.y);
+	}
+
+	/**
+	 * @return the box as polygon
+	 */
+	public Rectangle rectangle() {
+		return new Rectangle(new Vector(minX, minY), this.width(), this.height());
+	}
+
+	/**
+	 * @param boxes packed box array
+	 * @param index of the box in the array
+	 * @return the box at the given index
+	 */
+	public static Aabb get(float[] boxes, int index) {
+		return new Aabb(boxes[4*index], boxes[4*index+1], boxes[4*index+2], boxes[4*index+3]);
+	}
+
+	/**
+	 * @param boxes packed box array
+	 * @param index of the box in the array
+	 * @param box which is stored at the given index
+	 */
+	public static void set(float[] boxes, int index, Aabb box) {
+		boxes[4*index] = box.minX;
+		boxes[4*index+1] = box.minY;
+		boxes[4*index+2] = box.maxX;
+		boxes[4*index+3] = box.maxY;
+	}
+
+	/**
+	 * @param shapes
+	 * @return packed array of the boxes of the shapes
+	 */
+	public static float[] pack(IShape... shapes) {
+		float[] boxes = new float[4 * shapes.length];
+		for(int i = 0; i < shapes.length; i++) {
+			set(boxes, i, shapes[i].aabb());
+		}
+		return boxes;
+	}
+
+	/**
+	 * @param boxes packed box array
+	 * @param query
+	 * @param out receives the indices of the overlapping boxes, needs space for all boxes in the worst case
+	 * @return number of overlapping boxes
+	 */
+	public static int overlapping(float[] boxes, Aabb query, int[] out) {
+		int count = 0;
+		for(int i = 0, n = boxes.length / 4; i < n; i++) {
+			int o = 4 * i;
+			if(boxes[o] <= query.maxX && boxes[o+2] >= query.minX && boxes[o+1] <= query.maxY && boxes[o+3] >= query.minY) {
+				out[count++] = i;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * tests the boxes pairwise
+	 * @param a packed box array
+	 * @param b packed box array with the same number of boxes
+	 * @param out receives for every pair if both boxes overlap
+	 */
+	public static void overlaps(float[] a, float[] b, boolean[] out) {
+		if(a.length != b.length) throw new IllegalArgumentException("Both arrays must contain the same number of boxes");
+		for(int i = 0, n = a.length / 4; i < n; i++) {
+			int o = 4 * i;
+			out[i] = b[o] <= a[o+2] && b[o+2] >= a[o] && b[o+1] <= a[o+3] && b[o+3] >= a[o+1];
+		}
+	}
+
+	/**
+	 * @param boxes packed box array
+	 * @return the smallest box containing all boxes
+	 */
+	public static Aabb union(float[] boxes) {
+		float x0 = Float.POSITIVE_INFINITY, y0 = Float.POSITIVE_INFINITY;
+		float x1 = Float.NEGATIVE_INFINITY, y1 = Float.NEGATIVE_INFINITY;
+		for(int o = 0; o + 3 < boxes.length; o += 4) {
+			x0 = Math.min(x0, boxes[o]);
+			y0 = Math.min(y0, boxes[o+1]);
+			x1 = Math.max(x1, boxes[o+2]);
+			y1 = Math.max(y1, boxes[o+3]);
+		}
+		return new Aabb(x0, y0, x1, y1);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if(!(obj instanceof Aabb)) {
+			return false;
+		}
+		Aabb other = (Aabb) obj;
+		if(this.isEmpty() || other.isEmpty()) {
+			return this.isEmpty() && other.isEmpty();
+		}
+		return other.minX == minX && other.minY == minY && other.maxX == maxX && other.maxY == maxY;
+	}
+
+	@Override
+	public int hashCode() {
+		if(this.isEmpty()) {
+			return 0;
+		}
+		return ((Float.hashCode(minX + 0.0f) * 31 + Float.hashCode(minY + 0.0f)) * 31 + Float.hashCode(maxX + 0.0f)) * 31 + Float.hashCode(maxY + 0.0f);
+	}
+
+	@Override
+	public String toString() {
+		return "[" + minX + ", " + minY + " - " + maxX + ", " + maxY + "]";
+	}
+
+}
@@ -0,0 +1,156 @@
+package io.github.voidc.vectometry;
+
+import java.util.Arrays;
+
+import io.github.voidc.vectometry.util.Angle;
+import io.github.voidc.vectometry.util.Coordinates;
+import io.github.voidc.vectometry.util.PointConsumer;
+import io.github.voidc.vectometry.util.Polynomial;
+
+public class Arc implements ICurve {
+	private static final double EPSILON = 1e-6;
+
+	public final Vector center;
+	public final float radius;
+	public final Angle start, sweep;
+
+	/**
+	 * creates a new circular arc
+	 * @param center of the circle
+	 * @param radius of the circle
+	 * @param start angle of the start point
+	 * @param sweep angle from the start to the end point, counter clockwise if positive
+	 */
+	public Arc(Vector center, float radius, Angle start, Angle sweep) {
+		this.center = center;
+		this.radius = radius;
+		this.start = start;
+		this.sweep = sweep;
+	}
+
+	/**
+	 * @param circle
+	 * @param start angle of the start point
+	 * @param sweep angle from the start to the end point, counter clockwise if positive
+	 */
+	public Arc(Circle circle, Angle start, Angle sweep) {
+		this(circle.center, circle.radius, start, sweep);
+	}
+
+	@Override
+	public Vector start() {
+		return this.point(0);
+	}
+
+	@Override
+	public Vector end() {
+		return this.point(1);
+	}
+
+	@Override
+	public Vector point(float t) {
+		double angle = start.rad() + t * sweep.rad();
+		return new Vector(center.x + (float) (radius * Math.cos(angle)), center.y + (float) (radius * Math.sin(angle)));
+	}
+
+	/**
+	 * @return length of the arc
+	 */
+	public float length() {
+		return (float) Math.abs(radius * sweep.rad());
+	}
+
+	/**
+	 * rotates the radius by a constant angle per step instead of evaluating sine and cosine for every vertex
+	 */
+	@Override
+	public void flatten(float tolerance, PointConsumer consumer) {
+		if(!(tolerance > 0)) throw new IllegalArgumentException("The tolerance must be positive");
+		double angle = sweep.rad();
+		int n = Circle.segments(radius, tolerance, Math.abs(angle));
+		double step = angle / n;
+		double cos = Math.cos(step), sin = Math.sin(step);
+		double x = radius * Math.cos(start.rad()), y = radius * Math.sin(start.rad());
+		for(int i = 1; i < n; i++) {
+			double rotated = x * cos - y * sin;
+			y = x * sin + y * cos;
+			x = rotated;
+			consumer.accept((float) (center.x + x), (float) (center.y + y));
+		}
+		Vector end = this.end();
+		consumer.accept(end.x, end.y);
+	}
+
+	@Override
+	public Arc move(Vector transformation) {
+		return new Arc(center.add(transformation), radius, start, sweep);
+	}
+
+	/**
+	 * includes the points at multiples of 90 degrees which are on the arc
+	 */
+	@Override
+	public Rectangle bounds() {
+		double[] xs = new double[6], ys = new double[6];
+		Vector a = this.start(), b = this.end();
+		xs[0] = a.x;
+		ys[0] = a.y;
+		xs[1] = b.x;
+		ys[1] = b.y;
+		int count = 2;
+		for(int quadrant = 0; quadrant < 4; quadrant++) {
+			double angle = quadrant * Math.PI / 2;
+			if(this.covers(angle)) {
+				xs[count] = center.x + radius * Math.cos(angle);
+				ys[count++] = center.y + radius * Math.sin(angle);
+			}
+		}
+		return Curves.bounds(xs, ys, count);
+	}
+
+	/**
+	 * @param angle in radians
+	 * @return true if a ray from the center in the given direction crosses the arc
+	 */
+	private boolean covers(double angle) {
+		double s = sweep.rad();
+		if(Math.abs(s) >= 2 * Math.PI) return true;
+		double delta = (angle - start.rad()) * Math.signum(s);
+		delta -= 2 * Math.PI * Math.floor(delta / (2 * Math.PI));
+		return delta <= Math.abs(s) + EPSILON;
+	}
+
+	@Override
+	public Vector[] intersections(Line line) {
+		double px = line.point.x - center.x, py = line.point.y - center.y;
+		double ux = line.direction.x, uy = line.direction.y;
+		double[] roots = new double[2];
+		int count = Polynomial.solveQuadratic(ux * ux + uy * uy, 2 * (px * ux + py * uy), px * px + py * py - (double) radius * radius, roots);
+		Vector[] points = new Vector[count];
+		int found = 0;
+		for(int i = 0; i < count; i++) {
+			double s = roots[i];
+			if(line instanceof Segment && (s < -EPSILON || s > 1 + EPSILON)) continue;
+			double x = px + s * ux, y = py + s * uy;
+			if(this.covers(Math.atan2(y, x))) {
+				points[found++] = new Vector((float) (center.x + x), (float) (center.y + y));
+			}
+		}
+		return Arrays.copyOf(points, found);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if(!(obj instanceof Arc)) {
+			return false;
+		}
+		Arc other = (Arc) obj;
+		return other.center.equals(this.center) && Coordinates.equal(other.radius, this.radius) && other.start.equals(this.start) && other.sweep.equals(this.sweep);
+	}
+
+	@Override
+	public int hashCode() {
+		return ((31 * this.center.hashCode() + Coordinates.hash(this.radius)) * 31 + this.start.hashCode()) * 31 + this.sweep.hashCode();
+	}
+
+}
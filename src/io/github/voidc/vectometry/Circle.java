@@ -4,6 +4,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import io.github.voidc.vectometry.metrics.Metrics;
+import io.github.voidc.vectometry.metrics.Operation;
+import io.github.voidc.vectometry.util.Coordinates;
+
 public class Circle implements IShape {
 	public final Vector center;
 	public final float radius;
@@ -25,7 +29,10 @@ public class Circle implements IShape {
 	
 	@Override
 	public float area() {
-		return (float) (Math.pow(radius, 2) * Math.PI);
+		long start = Metrics.ENABLED ? System.nanoTime() : 0;
+		float area = (float) (Math.pow(radius, 2) * Math.PI);
+		if(Metrics.ENABLED) Metrics.record(Operation.AREA, start, 1, 0);
+		return area;
 	}
 
     /**
@@ -33,6 +40,7 @@ public class Circle implements IShape {
      * @return all intersections with the given polygon
      */
     public Vector[] intersections(Polygon poly) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
         List<Vector> intersections = new ArrayList<Vector>();
         for(Segment seg : poly.segments()) {
         	Vector[] segIsecs = seg.intersections(this);
@@ -40,7 +48,9 @@ public class Circle implements IShape {
         		intersections.addAll(Arrays.asList(segIsecs));
         	}
         }
-        return intersections.toArray(new Vector[intersections.size()]);
+        Vector[] result = intersections.toArray(new Vector[intersections.size()]);
+        if(Metrics.ENABLED) Metrics.record(Operation.INTERSECTIONS, start, poly.n() + 1, result.length);
+        return result;
     }
 	
 	/**
@@ -61,10 +71,40 @@ public class Circle implements IShape {
         }
 	}
 	
+	/**
+	 * @param tolerance maximum distance between the circle and the edges of the polygon
+	 * @return regular polygon approximating this circle
+	 */
+	public Polygon polygon(float tolerance) {
+		int n = Circle.segments(this.radius, tolerance, 2 * Math.PI);
+		Vector[] vtc = new Vector[n];
+		for(int v = 0; v < n; v++) {
+			double angle = 2 * Math.PI * v / n;
+			vtc[v] = new Vector(this.center.x + (float) (this.radius * Math.cos(angle)), this.center.y + (float) (this.radius * Math.sin(angle)));
+		}
+		return new Polygon(vtc);
+	}
+	
+	/**
+	 * @param radius
+	 * @param tolerance maximum distance between the arc and its chords
+	 * @param angle of the arc in radians
+	 * @return number of chords (at least 3 for a full circle) needed to approximate an arc within the tolerance
+	 */
+	public static int segments(float radius, float tolerance, double angle) {
+		double r = Math.abs(radius);
+		double step = tolerance >= r ? Math.PI : 2 * Math.acos(1 - tolerance / r);
+		int n = (int) Math.ceil(Math.abs(angle) / step);
+		return Math.max(n, angle >= 2 * Math.PI ? 3 : 1);
+	}
+	
 	@Override
 	public boolean contains(Vector vector) {
+		long start = Metrics.ENABLED ? System.nanoTime() : 0;
 		float distance = vector.distance(this.center);
-		return distance <= this.radius && distance >= 0;
+		boolean inside = distance <= this.radius && distance >= 0;
+		if(Metrics.ENABLED) Metrics.record(Operation.CONTAINS, start, 1, 0);
+		return inside;
 	}
 	
 	/**
@@ -72,12 +112,18 @@ public class Circle implements IShape {
 	 * @return new sector with the same center and scaled radius
 	 */
 	public Circle scale(float scalar) {
-		return new Circle(this.center, this.radius * scalar);
+		long start = Metrics.ENABLED ? System.nanoTime() : 0;
+		Circle scaled = new Circle(this.center, this.radius * scalar);
+		if(Metrics.ENABLED) Metrics.record(Operation.TRANSFORM, start, 1, 0);
+		return scaled;
 	}
 
 	@Override
 	public Circle move(Vector transformation) {
-		return new Circle(this.center.add(transformation), this.radius);
+		long start = Metrics.ENABLED ? System.nanoTime() : 0;
+		Circle moved = new Circle(this.center.add(transformation), this.radius);
+		if(Metrics.ENABLED) Metrics.record(Operation.TRANSFORM, start, 1, 1);
+		return moved;
 	}
 
 	@Override
@@ -85,6 +131,11 @@ public class Circle implements IShape {
 		return new Rectangle(this.center.subtract(new Vector(this.radius, this.radius)), 2 * this.radius, 2 * this.radius);
 	}
 
+	@Override
+	public Aabb aabb() {
+		return new Aabb(center.x - radius, center.y - radius, center.x + radius, center.y + radius);
+	}
+
 	@Override
 	public Vector centroid() {
 		return this. center;
@@ -96,7 +147,12 @@ public class Circle implements IShape {
 			return false;
 		}
 		Circle other = (Circle) obj;
-		return other.center.equals(this.center) && other.radius == this.radius;
+		return other.center.equals(this.center) && Coordinates.equal(other.radius, this.radius);
+	}
+	
+	@Override
+	public int hashCode() {
+		return 31 * this.center.hashCode() + Coordinates.hash(this.radius);
 	}
 
 }
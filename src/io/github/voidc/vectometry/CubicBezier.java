@@ -0,0 +1,131 @@
+package io.github.voidc.vectometry;
+
+import io.github.voidc.vectometry.util.PointConsumer;
+import io.github.voidc.vectometry.util.Polynomial;
+
+public class CubicBezier implements ICurve {
+	public final Vector pointA, controlA, controlB, pointB;
+
+	/**
+	 * creates a new cubic bezier curve
+	 * @param pointA start
+	 * @param controlA control point which gives the direction at the start
+	 * @param controlB control point which gives the direction at the end
+	 * @param pointB end
+	 */
+	public CubicBezier(Vector pointA, Vector controlA, Vector controlB, Vector pointB) {
+		this.pointA = pointA;
+		this.controlA = controlA;
+		this.controlB = controlB;
+		this.pointB = pointB;
+	}
+
+	@Override
+	public Vector start() {
+		return pointA;
+	}
+
+	@Override
+	public Vector end() {
+		return pointB;
+	}
+
+	@Override
+	public Vector point(float t) {
+		float s = 1 - t;
+		float a = s * s * s, b = 3 * s * s * t, c = 3 * s * t * t, d = t * t * t;
+		return new Vector(a * pointA.x + b * controlA.x + c * controlB.x + d * pointB.x,
+				a * pointA.y + b * controlA.y + c * controlB.y + d * pointB.y);
+	}
+
+	/**
+	 * evaluates the curve at equidistant parameters by forward differencing
+	 */
+	@Override
+	public void flatten(float tolerance, PointConsumer consumer) {
+		double[] c = this.coefficients();
+		// the second derivative is a linear blend of 6 * (p0 - 2p1 + p2) and 6 * (p1 - 2p2 + p3)
+		double m = 6 * Math.max(Math.hypot(pointA.x - 2 * controlA.x + controlB.x, pointA.y - 2 * controlA.y + controlB.y),
+				Math.hypot(controlA.x - 2 * controlB.x + pointB.x, controlA.y - 2 * controlB.y + pointB.y));
+		int n = Curves.steps(m, tolerance);
+		double h = 1.0 / n, h2 = h * h, h3 = h2 * h;
+		double x = pointA.x, y = pointA.y;
+		double dx = c[0] * h3 + c[2] * h2 + c[4] * h, dy = c[1] * h3 + c[3] * h2 + c[5] * h;
+		double ddx = 6 * c[0] * h3 + 2 * c[2] * h2, ddy = 6 * c[1] * h3 + 2 * c[3] * h2;
+		double dddx = 6 * c[0] * h3, dddy = 6 * c[1] * h3;
+		for(int i = 1; i < n; i++) {
+			x += dx;
+			y += dy;
+			dx += ddx;
+			dy += ddy;
+			ddx += dddx;
+			ddy += dddy;
+			consumer.accept((float) x, (float) y);
+		}
+		consumer.accept(pointB.x, pointB.y);
+	}
+
+	/**
+	 * @return {ax, ay, bx, by, cx, cy} of the power form a*t^3 + b*t^2 + c*t + pointA
+	 */
+	private double[] coefficients() {
+		return new double[] {
+				-pointA.x + 3.0 * controlA.x - 3.0 * controlB.x + pointB.x, -pointA.y + 3.0 * controlA.y - 3.0 * controlB.y + pointB.y,
+				3.0 * pointA.x - 6.0 * controlA.x + 3.0 * controlB.x, 3.0 * pointA.y - 6.0 * controlA.y + 3.0 * controlB.y,
+				3.0 * (controlA.x - pointA.x), 3.0 * (controlA.y - pointA.y)
+		};
+	}
+
+	@Override
+	public CubicBezier move(Vector transformation) {
+		return new CubicBezier(pointA.add(transformation), controlA.add(transformation), controlB.add(transformation), pointB.add(transformation));
+	}
+
+	/**
+	 * includes the extrema of each axis where the derivative is zero
+	 */
+	@Override
+	public Rectangle bounds() {
+		double[] c = this.coefficients();
+		double[] xs = new double[6], ys = new double[6];
+		xs[0] = pointA.x;
+		ys[0] = pointA.y;
+		xs[1] = pointB.x;
+		ys[1] = pointB.y;
+		int count = 2;
+		double[] roots = new double[2];
+		for(int axis = 0; axis < 2; axis++) {
+			int found = Polynomial.solveQuadratic(3 * c[axis], 2 * c[axis + 2], c[axis + 4], roots);
+			for(int i = 0; i < found; i++) {
+				if(roots[i] > 0 && roots[i] < 1) {
+					Vector p = this.point((float) roots[i]);
+					xs[count] = p.x;
+					ys[count++] = p.y;
+				}
+			}
+		}
+		return Curves.bounds(xs, ys, count);
+	}
+
+	@Override
+	public Vector[] intersections(Line line) {
+		double[] c = this.coefficients();
+		return Curves.intersections(line, c[0], c[1], c[2], c[3], c[4], c[5], pointA.x, pointA.y);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if(!(obj instanceof CubicBezier)) {
+			return false;
+		}
+		CubicBezier other = (CubicBezier) obj;
+		return other.pointA.equals(this.pointA) && other.controlA.equals(this.controlA)
+				&& other.controlB.equals(this.controlB) && other.pointB.equals(this.pointB);
+	}
+
+	@Override
+	public int hashCode() {
+		return ((31 * this.pointA.hashCode() + this.controlA.hashCode()) * 31 + this.controlB.hashCode()) * 31 + this.pointB.hashCode();
+	}
+
+}
@@ -0,0 +1,69 @@
+package io.github.voidc.vectometry;
+
+import java.util.Arrays;
+
+import io.github.voidc.vectometry.util.Polynomial;
+
+/**
+ * shared math of the polynomial curves, which are given in power form a*t^3 + b*t^2 + c*t + d
+ */
+final class Curves {
+	private static final double EPSILON = 1e-6;
+
+	private Curves() {}
+
+	/**
+	 * @return the number of segments of a polyline whose distance to a curve is at most the tolerance
+	 * @param maxSecondDerivative upper bound for the length of the second derivative of the curve
+	 */
+	static int steps(double maxSecondDerivative, float tolerance) {
+		if(!(tolerance > 0)) throw new IllegalArgumentException("The tolerance must be positive");
+		// the chord of a parameter interval of length h deviates at most h^2 * M / 8 from the curve
+		double n = Math.ceil(Math.sqrt(maxSecondDerivative / (8 * tolerance)));
+		return (int) Math.max(1, Math.min(n, 1 << 16));
+	}
+
+	/**
+	 * @return the points of the polynomial curve which lie on the line (or the segment)
+	 */
+	static Vector[] intersections(Line line, double ax, double ay, double bx, double by, double cx, double cy, double dx, double dy) {
+		double px = line.point.x, py = line.point.y;
+		double ux = line.direction.x, uy = line.direction.y;
+		// signed distance of the curve from the line times the length of the direction
+		double nx = -uy, ny = ux;
+		double[] roots = new double[3];
+		int count = Polynomial.solveCubic(nx * ax + ny * ay, nx * bx + ny * by, nx * cx + ny * cy, nx * (dx - px) + ny * (dy - py), roots);
+		Vector[] points = new Vector[count];
+		int found = 0;
+		double lengthSq = ux * ux + uy * uy;
+		for(int i = 0; i < count; i++) {
+			double t = roots[i];
+			if(t < -EPSILON || t > 1 + EPSILON) continue;
+			t = Math.max(0, Math.min(1, t));
+			double x = ((ax * t + bx) * t + cx) * t + dx;
+			double y = ((ay * t + by) * t + cy) * t + dy;
+			if(line instanceof Segment) {
+				double s = ((x - px) * ux + (y - py) * uy) / lengthSq;
+				if(s < -EPSILON || s > 1 + EPSILON) continue;
+			}
+			points[found++] = new Vector((float) x, (float) y);
+		}
+		return Arrays.copyOf(points, found);
+	}
+
+	/**
+	 * @return the bounding rectangle of the given coordinates
+	 */
+	static Rectangle bounds(double[] xs, double[] ys, int count) {
+		double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+		for(int i = 0; i < count; i++) {
+			minX = Math.min(minX, xs[i]);
+			maxX = Math.max(maxX, xs[i]);
+			minY = Math.min(minY, ys[i]);
+			maxY = Math.max(maxY, ys[i]);
+		}
+		return new Rectangle(new Vector((float) minX, (float) minY), (float) (maxX - minX), (float) (maxY - minY));
+	}
+
+}
@@ -0,0 +1,48 @@
+package io.github.voidc.vectometry;
+
+import io.github.voidc.vectometry.util.PointConsumer;
+
+public interface ICurve {
+
+	/**
+	 * @return the point where the curve starts
+	 */
+	public Vector start();
+
+	/**
+	 * @return the point where the curve ends
+	 */
+	public Vector end();
+
+	/**
+	 * @param t parameter from 0 (start) to 1 (end)
+	 * @return the point on the curve at the given parameter
+	 */
+	public Vector point(float t);
+
+	/**
+	 * passes the vertices of a polyline which approximates the curve to the consumer, the start point is omitted
+	 * so curves of a path can be flattened one after another
+	 * @param tolerance maximum distance between the curve and the polyline
+	 * @param consumer
+	 */
+	public void flatten(float tolerance, PointConsumer consumer);
+
+	/**
+	 * @param transformation vector
+	 * @return move this curve by the given vector
+	 */
+	public ICurve move(Vector transformation);
+
+	/**
+	 * @return the tight bounding rectangle of the curve
+	 */
+	public Rectangle bounds();
+
+	/**
+	 * @param line
+	 * @return all intersections with the given line, a segment only intersects between its end points
+	 */
+	public Vector[] intersections(Line line);
+
+}
@@ -29,6 +29,14 @@ public interface IShape {
 	 */
 	public Rectangle bounds();
 	
+	/**
+	 * @return the axis aligned bounding box of this shape, which is cheaper than {@link #bounds()}
+	 */
+	public default Aabb aabb() {
+		Rectangle bounds = this.bounds();
+		return Aabb.of(bounds.vertices);
+	}
+	
 	/**
 	 * @return the centroid of this shape
 	 */
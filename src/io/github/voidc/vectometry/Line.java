@@ -152,5 +152,10 @@ public class Line {
 		Line other = (Line) obj;
 		return this.axisIntersections().equals(other.axisIntersections());
 	}
+	
+	@Override
+	public int hashCode() {
+		return this.axisIntersections().hashCode();
+	}
 
 }
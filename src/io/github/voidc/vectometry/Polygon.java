@@ -6,7 +6,18 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import io.github.voidc.vectometry.algorithm.Calipers;
+import io.github.voidc.vectometry.algorithm.Decomposition;
+import io.github.voidc.vectometry.algorithm.Offset;
+import io.github.voidc.vectometry.algorithm.ShapeSignature;
+import io.github.voidc.vectometry.algorithm.Simplifier;
+import io.github.voidc.vectometry.metrics.GeometryEvent;
+import io.github.voidc.vectometry.metrics.Metrics;
+import io.github.voidc.vectometry.metrics.Operation;
 import io.github.voidc.vectometry.util.Angle;
+import io.github.voidc.vectometry.util.CoordinateKernels;
+import io.github.voidc.vectometry.util.Coordinates;
+import io.github.voidc.vectometry.util.FloatList;
 
 public class Polygon implements IShape {
 	public final Vector[] vertices;
@@ -38,6 +49,27 @@ public class Polygon implements IShape {
 		return new Polygon(vtc);
 	}
 
+	/**
+	 * creates a polygon from a closed path of curves
+	 * @param tolerance maximum distance between the curves and the edges of the polygon
+	 * @param path curves where each one starts at the end of the previous one
+	 * @return polygon whose vertices approximate the path
+	 */
+	public static Polygon flatten(float tolerance, ICurve... path) {
+		if(path.length == 0) throw new InvalidParameterException("The path must contain at least one curve");
+		FloatList xy = new FloatList();
+		Vector start = path[0].start();
+		xy.add(start.x, start.y);
+		for(ICurve curve : path) {
+			curve.flatten(tolerance, xy::add);
+		}
+		int n = xy.size() / 2;
+		if(n > 1 && xy.get(0) == xy.get(2*n-2) && xy.get(1) == xy.get(2*n-1)) {
+			n--; // the path is closed by the edge from the last to the first vertex
+		}
+		return new Polygon(Coordinates.toVectors(xy.toArray(), n));
+	}
+
 	/**
 	 * @return an array of all segments between the vertices
 	 */
@@ -52,22 +84,15 @@ public class Polygon implements IShape {
 	/**
 	 * @return all diagonals of this polygons
 	 * the polygon must have more than three vertices or else the returned array will be empty
+	 * @see Decomposition#diagonalIndices(int)
 	 */
 	public Segment[] diagonals() {
-		if(this.vertices.length <= 3) {
-			return new Segment[0];
+		int[] pairs = Decomposition.diagonalIndices(this.n());
+		Segment[] diagonals = new Segment[pairs.length / 2];
+		for(int d = 0; d < diagonals.length; d++) {
+			diagonals[d] = new Segment(this.vertices[pairs[2*d]], this.vertices[pairs[2*d+1]]);
 		}
-		int newN = (this.n() * (this.n() - 3)) / 2;
-		List<Segment> diagonals = new ArrayList<Segment>();
-		for(int x = 0; diagonals.size() < newN; x++) {
-			for(int v = 0; v < this.n(); v++) {
-				Vector v2 = this.vertices[v == this.vertices.length - x ? 0 : v + x];
-				Segment seg = new Segment(this.vertices[v], v2);
-				if(!diagonals.contains(seg)) diagonals.add(seg);
-			}
-		}
-		return diagonals.toArray(new Segment[newN]);
-		
+		return diagonals;
 	}
 	
 	/**
@@ -83,16 +108,37 @@ public class Polygon implements IShape {
 		return angles;
 	}
 
+	/**
+	 * @return true if all interior angles of this polygon are at most 180 degrees
+	 */
+	public boolean isConvex() {
+		int sign = 0;
+		for(int v = 0; v < vertices.length; v++) {
+			Vector a = vertices[v];
+			Vector b = vertices[v + 1 < vertices.length ? v + 1 : 0];
+			Vector c = vertices[v + 2 < vertices.length ? v + 2 : v + 2 - vertices.length];
+			float cross = (b.x - a.x) * (c.y - b.y) - (b.y - a.y) * (c.x - b.x);
+			if(cross != 0) {
+				if(sign != 0 && (cross > 0 ? 1 : -1) != sign) {
+					return false;
+				}
+				sign = cross > 0 ? 1 : -1;
+			}
+		}
+		return true;
+	}
+	
 	/**
 	 * @param other polygon
 	 * @return all intersects with the given polygon
 	 */
 	public Vector[] intersections(Polygon other) {
-		List<Vector> intersects = new ArrayList<Vector>();
-		for(Segment seg : this.segments()) {
-			intersects.addAll(Arrays.asList(seg.intersection(seg)));
-		}
-		return intersects.toArray(new Vector[0]);
+		long start = Metrics.ENABLED ? System.nanoTime() : 0;
+		GeometryEvent event = GeometryEvent.start(Operation.INTERSECTIONS, vertices.length + other.vertices.length);
+		Vector[] result = this.crossings(other);
+		GeometryEvent.finish(event, result.length);
+		if(Metrics.ENABLED) Metrics.record(Operation.INTERSECTIONS, start, vertices.length + other.vertices.length, result.length);
+		return result;
 	}
 	
 //	/**
@@ -107,6 +153,17 @@ public class Polygon implements IShape {
 //		} else return null;
 //	}
 
+	/**
+	 * {@link #intersections(Polygon)} without metrics, for operations which record themselves
+	 */
+	private Vector[] crossings(Polygon other) {
+		List<Vector> intersects = new ArrayList<Vector>();
+		for(Segment seg : this.segments()) {
+			intersects.addAll(Arrays.asList(seg.intersection(seg)));
+		}
+		return intersects.toArray(new Vector[0]);
+	}
+
 	@Override
 	public float perimeter() {
 		float sum = 0;
@@ -118,22 +175,55 @@ public class Polygon implements IShape {
 	
 	@Override
 	public float area() {
+		long start = Metrics.ENABLED ? System.nanoTime() : 0;
 		float sum = 0;
 		for(int v = 0; v < vertices.length; v++) {
 			sum += vertices[v].cross( vertices[v + 1 < vertices.length ? v + 1 : 0]);
 		}
+		if(Metrics.ENABLED) Metrics.record(Operation.AREA, start, vertices.length, 0);
 		return Math.abs(sum/2);
 	}
 	
 	@Override
 	public boolean contains(Vector point) {
-		Rectangle bounds = this.bounds();
-		if(!bounds.contains(point)) {
-			return false;
+		long start = Metrics.ENABLED ? System.nanoTime() : 0;
+		GeometryEvent event = GeometryEvent.start(Operation.CONTAINS, vertices.length);
+		boolean inside = this.inside(point);
+		GeometryEvent.finish(event, inside ? 1 : 0);
+		if(Metrics.ENABLED) Metrics.record(Operation.CONTAINS, start, vertices.length, 0);
+		return inside;
+	}
+
+	/**
+	 * {@link #contains(Vector)} without metrics: crossing number of a horizontal ray, every edge counts for the half open
+	 * range of its y coordinates
+	 */
+	private boolean inside(Vector point) {
+		boolean inside = false;
+		for(int v = 0, w = vertices.length - 1; v < vertices.length; w = v++) {
+			Vector a = vertices[v], b = vertices[w];
+			if((a.y > point.y) != (b.y > point.y) && point.x < a.x + (point.y - a.y) / (b.y - a.y) * (b.x - a.x)) {
+				inside = !inside;
+			}
 		}
-		Segment ray = new Segment(new Vector(bounds.origin().x - bounds.width() / 100, point.y), point);
-		int intersections = ray.intersections(this).length;
-		return intersections % 2 != 0;
+		return inside;
+	}
+	
+	/**
+	 * tests many points at once with the {@link CoordinateKernels}, points on the border may be classified differently than by {@link #contains(Vector)}
+	 * @param xy packed coordinates of the points
+	 * @param n number of points
+	 * @param out receives for each point whether it is inside of this polygon
+	 * @return number of points inside of this polygon
+	 */
+	public int contains(float[] xy, int n, boolean[] out) {
+		long start = Metrics.ENABLED ? System.nanoTime() : 0;
+		GeometryEvent event = GeometryEvent.start(Operation.CONTAINS_BATCH, vertices.length + n);
+		int count = CoordinateKernels.DEFAULT.inPolygon(this.coordinates(), vertices.length, xy, n, out);
+		GeometryEvent.finish(event, count);
+		// the packed coordinates of the vertices are allocated for the kernel
+		if(Metrics.ENABLED) Metrics.record(Operation.CONTAINS_BATCH, start, vertices.length + n, vertices.length);
+		return count;
 	}
 	
 	/**
@@ -142,11 +232,13 @@ public class Polygon implements IShape {
 	 * @return polygon which is scaled starting from the given center point
 	 */
 	public Polygon scale(float scalar, Vector center) {
+		long start = Metrics.ENABLED ? System.nanoTime() : 0;
 		Vector[] vtc = new Vector[this.vertices.length];
 		for(int v = 0; v < this.vertices.length; v++) {
 			Vector difference = this.vertices[v].subtract(center);
 			vtc[v] = center.add(difference.scale(scalar));
 		}
+		if(Metrics.ENABLED) Metrics.record(Operation.TRANSFORM, start, vertices.length, vertices.length);
 		return new Polygon(vtc);
 	}
 	
@@ -157,11 +249,13 @@ public class Polygon implements IShape {
 	 * @return polygon which is scaled starting from the given center point
 	 */
 	public Polygon scale(float scalarX, float scalarY, Vector center) {
+		long start = Metrics.ENABLED ? System.nanoTime() : 0;
 		Vector[] vtc = new Vector[this.vertices.length];
 		for(int v = 0; v < this.vertices.length; v++) {
 			Vector difference = this.vertices[v].subtract(center);
 			vtc[v] = center.add(difference.multiply(new Vector(scalarX, scalarY)));
 		}
+		if(Metrics.ENABLED) Metrics.record(Operation.TRANSFORM, start, vertices.length, vertices.length);
 		return new Polygon(vtc);
 	}
 	
@@ -184,10 +278,12 @@ public class Polygon implements IShape {
 	
 	@Override
 	public Polygon move(Vector tranformation) {
+		long start = Metrics.ENABLED ? System.nanoTime() : 0;
 		Vector[] vtc = new Vector[this.vertices.length];
 		for(int v = 0; v < this.vertices.length; v++) {
 			vtc[v] = this.vertices[v].add(tranformation);
 		}
+		if(Metrics.ENABLED) Metrics.record(Operation.TRANSFORM, start, vertices.length, vertices.length);
 		return new Polygon(vtc);
 	}
 	
@@ -197,10 +293,12 @@ public class Polygon implements IShape {
 	 * @return polygon which is rotated by the angle around the center
 	 */
 	public Polygon rotate(Angle angle, Vector center) {
+		long start = Metrics.ENABLED ? System.nanoTime() : 0;
 		Vector[] vtc = new Vector[this.vertices.length];
 		for(int v = 0; v < this.vertices.length; v++) {
 			vtc[v] = this.vertices[v].rotate(angle, center);
 		}
+		if(Metrics.ENABLED) Metrics.record(Operation.TRANSFORM, start, vertices.length, vertices.length);
 		return new Polygon(vtc);
 	}
 	
@@ -209,26 +307,32 @@ public class Polygon implements IShape {
 	 * @return polygon which is rotated by the angle around the center
 	 */
 	public Polygon rotate(Angle angle) {
-		Vector[] vtc = new Vector[this.vertices.length];
-		for(int v = 0; v < this.vertices.length; v++) {
-			vtc[v] = this.vertices[v].rotate(angle, this.centroid());
-		}
-		return new Polygon(vtc);
+		return this.rotate(angle, this.centroid());
+	}
+	
+	/**
+	 * @return lazy view of this polygon which combines chained transformations into one
+	 */
+	public PolygonView view() {
+		return PolygonView.of(this);
 	}
 	
 	@Override
 	public Rectangle bounds() {
-		float xMin = vertices[0].x;
-		float xMax = vertices[0].x;
-		float yMin = vertices[0].y;
-		float yMax = vertices[0].y;
-		for(Vector vertex : vertices) {
-			if(vertex.x > xMax) xMax = vertex.x;
-			if(vertex.x < xMax) xMin = vertex.x;
-			if(vertex.y > xMax) yMax = vertex.y;
-			if(vertex.y < xMax) yMin = vertex.y;
-		}
-		return new Rectangle(new Vector(xMin, yMin), xMax - xMin, yMax - yMin);
+		return this.aabb().rectangle();
+	}
+	
+	@Override
+	public Aabb aabb() {
+		return Aabb.of(vertices);
+	}
+	
+	/**
+	 * @return the oriented rectangle with the smallest area which contains this polygon
+	 * @see Calipers#overlaps(Rectangle, Rectangle)
+	 */
+	public Rectangle orientedBounds() {
+		return Calipers.minimumAreaRectangle(this.coordinates());
 	}
 	
 	/**
@@ -239,19 +343,23 @@ public class Polygon implements IShape {
 	}
 	
 	/**
-	 * @return the centroid of this polygon
+	 * @return the centroid of this polygon, the average of the vertices if the polygon has no area
 	 */
 	public Vector centroid() {
-		float  scalar = 1 / 6 * this.area();
-		Vector centroid  = Vector.ZERO;
-		
+		double area = 0, cx = 0, cy = 0;
 		for(int v = 0; v < vertices.length; v++) {
 			Vector v1 = vertices[v];
 			Vector v2 = vertices[v + 1 < vertices.length ? v + 1 : 0];
-			centroid = centroid.add(v1.add(v2).scale(v1.cross(v2)));
+			double cross = (double) v1.x * v2.y - (double) v2.x * v1.y;
+			area += cross;
+			cx += (v1.x + v2.x) * cross;
+			cy += (v1.y + v2.y) * cross;
 		}
-		
-		return centroid.scale(scalar);
+		if(area == 0) {
+			return vertices[0].average(Arrays.copyOfRange(vertices, 1, vertices.length));
+		}
+		// area is twice the signed area, so this divides by six times the area
+		return new Vector((float) (cx / (3 * area)), (float) (cy / (3 * area)));
 	}
 	
 	/** 
@@ -259,17 +367,62 @@ public class Polygon implements IShape {
 	 * @return the point on this polygon which is nearest to the given polygon
 	 */
 	public Vector nearestPoint(Vector other) {
-		Vector min = vertices[0];
-		for(Segment seg : segments()) {
-			Vector proj = seg.projection(other);
-			if(proj == null){
-				continue;
-			}
-			if(other.distance(proj) < other.distance(min)) {
-				min = proj;
+		int nearest = 0;
+		float min = Float.POSITIVE_INFINITY;
+		for(int v = 0; v < vertices.length; v++) {
+			Vector a = vertices[v];
+			Vector b = vertices[v + 1 < vertices.length ? v + 1 : 0];
+			float distance = Coordinates.segmentDistanceSquared(other.x, other.y, a.x, a.y, b.x, b.y);
+			if(distance < min) {
+				min = distance;
+				nearest = v;
 			}
 		}
-		return min;
+		Vector a = vertices[nearest];
+		Vector b = vertices[nearest + 1 < vertices.length ? nearest + 1 : 0];
+		float t = Coordinates.segmentParameter(other.x, other.y, a.x, a.y, b.x, b.y);
+		return new Vector(a.x + t * (b.x - a.x), a.y + t * (b.y - a.y));
+	}
+	
+	/**
+	 * @param point
+	 * @return the distance between the given point and the outline of this polygon
+	 * @see io.github.voidc.vectometry.index.EdgeTree
+	 */
+	public float distance(Vector point) {
+		float min = Float.POSITIVE_INFINITY;
+		for(int v = 0; v < vertices.length; v++) {
+			Vector a = vertices[v];
+			Vector b = vertices[v + 1 < vertices.length ? v + 1 : 0];
+			min = Math.min(min, Coordinates.segmentDistanceSquared(point.x, point.y, a.x, a.y, b.x, b.y));
+		}
+		return (float) Math.sqrt(min);
+	}
+	
+	/**
+	 * @return the x and y coordinates of all vertices as packed array {x0, y0, x1, y1, ...}
+	 */
+	public float[] coordinates() {
+		return Coordinates.of(this.vertices);
+	}
+	
+	/**
+	 * @param tolerance maximum distance between the original and the simplified outline
+	 * @return simple polygon with fewer vertices
+	 * @see Simplifier#simplify(Polygon, float)
+	 */
+	public Polygon simplify(float tolerance) {
+		return Simplifier.simplify(this, tolerance);
+	}
+	
+	/**
+	 * @param delta distance by which the outline is moved outwards (inwards if negative)
+	 * @param join shape of the outline at convex corners
+	 * @return the offset polygons (holes are clockwise)
+	 * @see Offset#polygon(Polygon, float, Offset.Join)
+	 */
+	public List<Polygon> offset(float delta, Offset.Join join) {
+		return Offset.polygon(this, delta, join);
 	}
 	
 	/**
@@ -277,51 +430,49 @@ public class Polygon implements IShape {
 	 * @return unified polygon which consists of this polygon and the other polygon
 	 */
 	public Polygon merge(Polygon other) {
+		long start = Metrics.ENABLED ? System.nanoTime() : 0;
+		GeometryEvent event = GeometryEvent.start(Operation.MERGE, vertices.length + other.vertices.length);
 		List<Vector> newVertices = new ArrayList<Vector>();
+		// the helpers don't record, so the tests are only measured as part of the merge
 		for(Vector vertex : this.vertices) {
-			if(!other.contains(vertex)) {
+			if(!other.inside(vertex)) {
 				newVertices.add(vertex);
 			}
 		}
 		for(Vector vertex : other.vertices) {
-			if(!this.contains(vertex)) {
+			if(!this.inside(vertex)) {
 				newVertices.add(vertex);
 			}
 		}
-		newVertices.addAll(Arrays.asList(this.intersections(other)));
+		newVertices.addAll(Arrays.asList(this.crossings(other)));
 		Collections.sort(newVertices);
-		return new Polygon(newVertices.toArray(new Vector[0]));
-		
+		Polygon merged = new Polygon(newVertices.toArray(new Vector[0]));
+		GeometryEvent.finish(event, merged.vertices.length);
+		if(Metrics.ENABLED) Metrics.record(Operation.MERGE, start, vertices.length + other.vertices.length, merged.vertices.length);
+		return merged;
 	}
 	
 	/**
+	 * compares the signatures of both polygons in linear time, the tolerance is relative to the larger perimeter
 	 * @param other polygon
 	 * @return true if the other polygon is congruent with this polygon (all segment lengths and angles match)
 	 */
 	public boolean isCongruent(Polygon other) {
+		float tolerance = Math.max(this.perimeter(), other.perimeter()) * 1e-5f;
+		return this.isCongruent(other, Math.max(tolerance, Float.MIN_NORMAL));
+	}
+
+	/**
+	 * @param other polygon
+	 * @param tolerance by which the segment lengths may differ
+	 * @return true if the other polygon can be moved and rotated onto this polygon
+	 * @see ShapeSignature#matches(ShapeSignature)
+	 */
+	public boolean isCongruent(Polygon other, float tolerance) {
 		if(other.vertices.length != this.vertices.length) {
 			return false;
 		}
-		theseSegments:
-		for(Segment seg : this.segments()) {
-			for(Segment otherSeg : other.segments()) {
-				if(otherSeg.equals(seg)) {
-					continue theseSegments;
-				}
-			}
-			return false;
-		}
-	
-		theseAngles:
-		for(Angle ang : this.angles()) {
-			for(Angle otherAng : other.angles()) {
-				if(otherAng.equals(ang)) {
-					continue theseAngles;
-				}
-			}
-			return false;
-		}
-		return true;
+		return ShapeSignature.of(this, tolerance).matches(ShapeSignature.of(other, tolerance));
 	}
 	
 	@Override
@@ -330,12 +481,12 @@ public class Polygon implements IShape {
 			return false;
 		}
 		Polygon poly = (Polygon) obj;
-		for(int vtx = 0; vtx < this.vertices.length; vtx++) {
-			if(!(vtx < poly.vertices.length && this.vertices[vtx].equals(poly.vertices[vtx]))) {
-				return false;
-			}
-		}
-		return true;
+		return Arrays.equals(this.vertices, poly.vertices);
+	}
+	
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(this.vertices);
 	}
 	
 	@Override
@@ -0,0 +1,213 @@
+package io.github.voidc.vectometry;
+
+import io.github.voidc.vectometry.metrics.Metrics;
+import io.github.voidc.vectometry.metrics.Operation;
+import io.github.voidc.vectometry.util.Affine;
+import io.github.voidc.vectometry.util.Angle;
+import io.github.voidc.vectometry.util.Coordinates;
+
+/**
+ * immutable lazy view of a polygon with a chain of transformations
+ * <p>
+ * every operation only multiplies its transformation into the matrix of the view, so a chain like
+ * {@code poly.view().move(a).rotate(angle, c).scale(s)} doesn't touch any vertex. the vertices are transformed in a
+ * single pass when they are read by {@link #polygon()} or {@link #coordinates()}. area and centroid are derived from
+ * the base polygon in constant time, views of the same base share these values
+ * @see ShapeHandle for a mutable handle with listeners
+ */
+public final class PolygonView implements IShape {
+
+	/**
+	 * geometry of the untransformed polygon which is shared by all views derived from it
+	 */
+	private static final class Base {
+		final Polygon polygon;
+		final float[] xy;
+		final double signedArea;
+		final Vector centroid;
+
+		Base(Polygon polygon) {
+			this.polygon = polygon;
+			this.xy = polygon.coordinates();
+			this.signedArea = Coordinates.signedArea(xy, xy.length / 2);
+			this.centroid = polygon.centroid();
+		}
+	}
+
+	private final Base base;
+	private final Affine transform;
+	private volatile Polygon polygon;
+
+	private PolygonView(Base base, Affine transform) {
+		this.base = base;
+		this.transform = transform;
+	}
+
+	/**
+	 * @param base polygon which isn't transformed
+	 * @return view of the polygon with the identity transformation
+	 */
+	public static PolygonView of(Polygon base) {
+		PolygonView view = new PolygonView(new Base(base), Affine.IDENTITY);
+		view.polygon = base;
+		return view;
+	}
+
+	/**
+	 * @return the polygon without the transformations
+	 */
+	public Polygon base() {
+		return base.polygon;
+	}
+
+	/**
+	 * @return the combined transformation of the chain
+	 */
+	public Affine transform() {
+		return transform;
+	}
+
+	/**
+	 * @param transform which is applied after the current transformations
+	 * @return new view with the combined transformation
+	 */
+	public PolygonView transform(Affine transform) {
+		return new PolygonView(base, this.transform.then(transform));
+	}
+
+	@Override
+	public PolygonView move(Vector transformation) {
+		return this.transform(Affine.translation(transformation));
+	}
+
+	/**
+	 * @param angle
+	 * @param center
+	 * @return view which is rotated by the angle around the center
+	 */
+	public PolygonView rotate(Angle angle, Vector center) {
+		return this.transform(Affine.rotation(angle, center));
+	}
+
+	/**
+	 * @param angle
+	 * @return view which is rotated by the angle around its centroid
+	 */
+	public PolygonView rotate(Angle angle) {
+		return this.rotate(angle, this.centroid());
+	}
+
+	/**
+	 * @param scalar
+	 * @param center
+	 * @return view which is scaled starting from the center
+	 */
+	public PolygonView scale(float scalar, Vector center) {
+		return this.transform(Affine.scaling(scalar, scalar, center));
+	}
+
+	/**
+	 * @param scalarX factor in the x direction
+	 * @param scalarY factor in the y direction
+	 * @param center
+	 * @return view which is scaled starting from the center
+	 */
+	public PolygonView scale(float scalarX, float scalarY, Vector center) {
+		return this.transform(Affine.scaling(scalarX, scalarY, center));
+	}
+
+	/**
+	 * @param scalar
+	 * @return view which is scaled starting from its centroid
+	 */
+	public PolygonView scale(float scalar) {
+		return this.scale(scalar, this.centroid());
+	}
+
+	@Override
+	public float area() {
+		return (float) Math.abs(base.signedArea * transform.determinant());
+	}
+
+	@Override
+	public float perimeter() {
+		float[] xy = base.xy;
+		int n = xy.length / 2;
+		double length = 0;
+		for(int v = 0; v < n; v++) {
+			int w = v + 1 < n ? v + 1 : 0;
+			double dx = xy[2*w] - xy[2*v], dy = xy[2*w+1] - xy[2*v+1];
+			length += Math.hypot(transform.a * dx + transform.c * dy, transform.b * dx + transform.d * dy);
+		}
+		return (float) length;
+	}
+
+	/**
+	 * maps the point back into the space of the base polygon, so no vertex is transformed
+	 */
+	@Override
+	public boolean contains(Vector vector) {
+		return base.polygon.contains(transform.inverse().apply(vector));
+	}
+
+	@Override
+	public Vector centroid() {
+		return transform.apply(base.centroid);
+	}
+
+	@Override
+	public Rectangle bounds() {
+		return this.aabb().rectangle();
+	}
+
+	/**
+	 * transforms the vertices on the fly without storing them
+	 */
+	@Override
+	public Aabb aabb() {
+		Polygon materialized = polygon;
+		if(materialized != null) {
+			return materialized.aabb();
+		}
+		float[] xy = base.xy;
+		double x0 = Double.POSITIVE_INFINITY, y0 = Double.POSITIVE_INFINITY;
+		double x1 = Double.NEGATIVE_INFINITY, y1 = Double.NEGATIVE_INFINITY;
+		for(int i = 0; i < xy.length; i += 2) {
+			double x = transform.x(xy[i], xy[i+1]), y = transform.y(xy[i], xy[i+1]);
+			x0 = Math.min(x0, x);
+			x1 = Math.max(x1, x);
+			y0 = Math.min(y0, y);
+			y1 = Math.max(y1, y);
+		}
+		return new Aabb((float) x0, (float) y0, (float) x1, (float) y1);
+	}
+
+	/**
+	 * @return the transformed packed coordinates
+	 */
+	public float[] coordinates() {
+		float[] transformed = new float[base.xy.length];
+		transform.apply(base.xy, transformed);
+		return transformed;
+	}
+
+	/**
+	 * @return the transformed polygon, created in a single pass on the first call
+	 */
+	public Polygon polygon() {
+		Polygon materialized = polygon;
+		if(materialized == null) {
+			long start = Metrics.ENABLED ? System.nanoTime() : 0;
+			materialized = new Polygon(Coordinates.toVectors(this.coordinates()));
+			polygon = materialized;
+			if(Metrics.ENABLED) Metrics.record(Operation.TRANSFORM, start, base.xy.length / 2, base.xy.length / 2);
+		}
+		return materialized;
+	}
+
+	@Override
+	public String toString() {
+		return "PolygonView" + transform;
+	}
+
+}
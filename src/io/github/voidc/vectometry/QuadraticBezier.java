@@ -0,0 +1,115 @@
+package io.github.voidc.vectometry;
+
+import io.github.voidc.vectometry.util.PointConsumer;
+
+public class QuadraticBezier implements ICurve {
+	public final Vector pointA, control, pointB;
+
+	/**
+	 * creates a new quadratic bezier curve
+	 * @param pointA start
+	 * @param control point which attracts the curve
+	 * @param pointB end
+	 */
+	public QuadraticBezier(Vector pointA, Vector control, Vector pointB) {
+		this.pointA = pointA;
+		this.control = control;
+		this.pointB = pointB;
+	}
+
+	@Override
+	public Vector start() {
+		return pointA;
+	}
+
+	@Override
+	public Vector end() {
+		return pointB;
+	}
+
+	@Override
+	public Vector point(float t) {
+		float s = 1 - t;
+		return new Vector(s * s * pointA.x + 2 * s * t * control.x + t * t * pointB.x,
+				s * s * pointA.y + 2 * s * t * control.y + t * t * pointB.y);
+	}
+
+	/**
+	 * evaluates the curve at equidistant parameters by forward differencing
+	 */
+	@Override
+	public void flatten(float tolerance, PointConsumer consumer) {
+		double ax = pointA.x - 2 * control.x + pointB.x, ay = pointA.y - 2 * control.y + pointB.y;
+		double bx = 2 * (control.x - pointA.x), by = 2 * (control.y - pointA.y);
+		int n = Curves.steps(2 * Math.hypot(ax, ay), tolerance);
+		double h = 1.0 / n;
+		double x = pointA.x, y = pointA.y;
+		double dx = ax * h * h + bx * h, dy = ay * h * h + by * h;
+		double ddx = 2 * ax * h * h, ddy = 2 * ay * h * h;
+		for(int i = 1; i < n; i++) {
+			x += dx;
+			y += dy;
+			dx += ddx;
+			dy += ddy;
+			consumer.accept((float) x, (float) y);
+		}
+		consumer.accept(pointB.x, pointB.y);
+	}
+
+	@Override
+	public QuadraticBezier move(Vector transformation) {
+		return new QuadraticBezier(pointA.add(transformation), control.add(transformation), pointB.add(transformation));
+	}
+
+	/**
+	 * includes the extremum of each axis where the derivative is zero
+	 */
+	@Override
+	public Rectangle bounds() {
+		double[] xs = {pointA.x, pointB.x, 0, 0}, ys = {pointA.y, pointB.y, 0, 0};
+		int count = 2;
+		double ax = pointA.x - 2 * control.x + pointB.x, ay = pointA.y - 2 * control.y + pointB.y;
+		double tx = ax != 0 ? (pointA.x - control.x) / ax : -1;
+		double ty = ay != 0 ? (pointA.y - control.y) / ay : -1;
+		for(double t : new double[] {tx, ty}) {
+			if(t > 0 && t < 1) {
+				Vector p = this.point((float) t);
+				xs[count] = p.x;
+				ys[count++] = p.y;
+			}
+		}
+		return Curves.bounds(xs, ys, count);
+	}
+
+	@Override
+	public Vector[] intersections(Line line) {
+		return Curves.intersections(line, 0, 0,
+				pointA.x - 2 * control.x + pointB.x, pointA.y - 2 * control.y + pointB.y,
+				2 * (control.x - pointA.x), 2 * (control.y - pointA.y),
+				pointA.x, pointA.y);
+	}
+
+	/**
+	 * @return the cubic bezier curve with the same shape
+	 */
+	public CubicBezier cubic() {
+		Vector controlA = new Vector(pointA.x + 2f / 3 * (control.x - pointA.x), pointA.y + 2f / 3 * (control.y - pointA.y));
+		Vector controlB = new Vector(pointB.x + 2f / 3 * (control.x - pointB.x), pointB.y + 2f / 3 * (control.y - pointB.y));
+		return new CubicBezier(pointA, controlA, controlB, pointB);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if(!(obj instanceof QuadraticBezier)) {
+			return false;
+		}
+		QuadraticBezier other = (QuadraticBezier) obj;
+		return other.pointA.equals(this.pointA) && other.control.equals(this.control) && other.pointB.equals(this.pointB);
+	}
+
+	@Override
+	public int hashCode() {
+		return (31 * this.pointA.hashCode() + this.control.hashCode()) * 31 + this.pointB.hashCode();
+	}
+
+}
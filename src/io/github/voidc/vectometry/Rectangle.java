@@ -1,6 +1,8 @@
 package io.github.voidc.vectometry;
 
 /**
+ * rectangle which is axis aligned or rotated (e.g. {@link Polygon#orientedBounds()})
+ * <p>
  * vertex indexing:
  * <pre>
  * 3------2
@@ -66,17 +68,46 @@ public class Rectangle extends Polygon {
 	 * @return new rectangle with the specified padding to this polygon
 	 */
 	public Rectangle padding(float padding) {
-		return new Rectangle(this.origin().add(new Vector(padding, padding)), this.width() - 2 * padding, this.height() - 2 * padding);
+		if(this.isAxisAligned()) {
+			return new Rectangle(this.origin().add(new Vector(padding, padding)), this.width() - 2 * padding, this.height() - 2 * padding);
+		}
+		Vector side1 = vertices[1].subtract(vertices[0]), side2 = vertices[3].subtract(vertices[0]);
+		float width = this.width(), height = this.height();
+		Vector inset1 = side1.scale(padding / width), inset2 = side2.scale(padding / height);
+		return new Rectangle(this.origin().add(inset1).add(inset2),
+				side1.scale(1 - 2 * padding / width), side2.scale(1 - 2 * padding / height));
 	}
 	
+	/**
+	 * @return true if the sides of this rectangle are parallel to the axes
+	 */
+	public boolean isAxisAligned() {
+		return vertices[0].y == vertices[1].y && vertices[0].x == vertices[3].x;
+	}
+	
+	/**
+	 * projects the point onto both sides, so rotated rectangles are tested as well
+	 */
 	@Override
 	public boolean contains(Vector point) {
-		return point.x >= vertices[0].x && point.y >= vertices[0].y && point.x <= vertices[2].x && point.y <= vertices[2].y;
+		Vector origin = vertices[0];
+		if(this.isAxisAligned()) {
+			return point.x >= Math.min(origin.x, vertices[2].x) && point.x <= Math.max(origin.x, vertices[2].x)
+					&& point.y >= Math.min(origin.y, vertices[2].y) && point.y <= Math.max(origin.y, vertices[2].y);
+		}
+		double dx = (double) point.x - origin.x, dy = (double) point.y - origin.y;
+		double ux = (double) vertices[1].x - origin.x, uy = (double) vertices[1].y - origin.y;
+		double vx = (double) vertices[3].x - origin.x, vy = (double) vertices[3].y - origin.y;
+		double u = dx * ux + dy * uy, v = dx * vx + dy * vy;
+		return u >= 0 && u <= ux * ux + uy * uy && v >= 0 && v <= vx * vx + vy * vy;
 	}
 	
+	/**
+	 * @return this rectangle if it is axis aligned, otherwise the axis aligned rectangle around it
+	 */
 	@Override
 	public Rectangle bounds() {
-		return this;
+		return this.isAxisAligned() ? this : this.aabb().rectangle();
 	}
 	
 	@Override
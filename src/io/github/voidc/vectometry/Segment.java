@@ -1,9 +1,12 @@
 package io.github.voidc.vectometry;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
-public class Segment extends Line {
+import io.github.voidc.vectometry.util.PointConsumer;
+
+public class Segment extends Line implements ICurve {
 
 	/**
 	 * creates a new segment with the given start and end point
@@ -37,6 +40,46 @@ public class Segment extends Line {
 		return point.add(direction);
 	}
 	
+	@Override
+	public Vector start() {
+		return this.pointA();
+	}
+	
+	@Override
+	public Vector end() {
+		return this.pointB();
+	}
+	
+	@Override
+	public Vector point(float t) {
+		return new Vector(point.x + t * direction.x, point.y + t * direction.y);
+	}
+	
+	/**
+	 * a segment is already straight, so only the end point is passed to the consumer
+	 */
+	@Override
+	public void flatten(float tolerance, PointConsumer consumer) {
+		Vector end = this.pointB();
+		consumer.accept(end.x, end.y);
+	}
+	
+	@Override
+	public Segment move(Vector transformation) {
+		return new Segment(this.pointA().add(transformation), this.pointB().add(transformation));
+	}
+	
+	@Override
+	public Rectangle bounds() {
+		Vector a = this.pointA(), b = this.pointB();
+		return new Rectangle(new Vector(Math.min(a.x, b.x), Math.min(a.y, b.y)), Math.abs(b.x - a.x), Math.abs(b.y - a.y));
+	}
+	
+	@Override
+	public Vector[] intersections(Line line) {
+		return Curves.intersections(line, 0, 0, 0, 0, direction.x, direction.y, point.x, point.y);
+	}
+	
 	/**
 	 * @return length of the segment
 	 */
@@ -63,23 +106,15 @@ public class Segment extends Line {
 	
 	@Override
 	public Vector[] intersections(Circle circle) {
-		List<Vector> intersections = Arrays.asList(super.intersections(circle));
-		for(Vector is : intersections) {
-			if(!this.contains(is)) {
-				intersections.remove(is);
-			}
-		}
+		List<Vector> intersections = new ArrayList<Vector>(Arrays.asList(super.intersections(circle)));
+		intersections.removeIf(is -> !this.contains(is));
 		return intersections.toArray(new Vector[intersections.size()]);
 	}
 	
 	@Override
 	public Vector[] intersections(Polygon poly) {
-		List<Vector> intersections = Arrays.asList(super.intersections(poly));
-		for(Vector is : intersections) {
-			if(!this.contains(is)) {
-				intersections.remove(is);
-			}
-		}
+		List<Vector> intersections = new ArrayList<Vector>(Arrays.asList(super.intersections(poly)));
+		intersections.removeIf(is -> !this.contains(is));
 		return intersections.toArray(new Vector[intersections.size()]);
 	}
 	
@@ -89,8 +124,15 @@ public class Segment extends Line {
 			return false;
 		}
 		Segment other = (Segment) obj;
-		return (this.pointA().equals(other.pointA()) && this.pointB().equals(other.pointB()))
-			|| (this.pointA().equals(other.pointB()) && this.pointB().equals(other.pointA()));
+		Vector a = this.pointA(), b = this.pointB();
+		Vector otherA = other.pointA(), otherB = other.pointB();
+		return (a.equals(otherA) && b.equals(otherB)) || (a.equals(otherB) && b.equals(otherA));
+	}
+	
+	@Override
+	public int hashCode() {
+		// symmetric because the direction of a segment doesn't matter for equality
+		return this.pointA().hashCode() + this.pointB().hashCode();
 	}
 
 }
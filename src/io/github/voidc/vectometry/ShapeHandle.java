@@ -0,0 +1,288 @@
+package io.github.voidc.vectometry;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.github.voidc.vectometry.algorithm.ConvexHull;
+import io.github.voidc.vectometry.metrics.Metrics;
+import io.github.voidc.vectometry.metrics.Operation;
+import io.github.voidc.vectometry.util.Affine;
+import io.github.voidc.vectometry.util.Angle;
+import io.github.voidc.vectometry.util.Coordinates;
+
+/**
+ * mutable handle of a polygon whose base geometry stays fixed while an affine transformation is applied lazily
+ * <p>
+ * area and centroid are derived from the transformation in constant time, the bounds only scan the convex hull of the base polygon
+ * (or nothing at all if the transformation keeps the axes aligned). the transformed polygon is only created when it is requested.
+ * the handle isn't thread safe
+ */
+public class ShapeHandle implements IShape {
+
+	/**
+	 * is notified after the transformation of a handle has changed
+	 */
+	@FunctionalInterface
+	public interface Listener {
+		/**
+		 * @param handle whose transformation has changed
+		 * @param previous transformation before the change
+		 */
+		public void transformed(ShapeHandle handle, Affine previous);
+	}
+
+	private final Polygon base;
+	private final float[] xy;
+	private final double signedArea, perimeter;
+	private final Vector centroid;
+	private final float minX, minY, maxX, maxY;
+	private float[] hull;
+	private final List<Listener> listeners = new CopyOnWriteArrayList<Listener>();
+
+	private Affine transform = Affine.IDENTITY;
+	private Aabb aabb;
+	private Polygon polygon;
+
+	/**
+	 * scans the base polygon once
+	 * @param base polygon which isn't transformed
+	 */
+	public ShapeHandle(Polygon base) {
+		this.base = base;
+		this.xy = base.coordinates();
+		int n = xy.length / 2;
+		this.signedArea = Coordinates.signedArea(xy, n);
+		this.centroid = base.centroid();
+		float x0 = Float.POSITIVE_INFINITY, y0 = Float.POSITIVE_INFINITY;
+		float x1 = Float.NEGATIVE_INFINITY, y1 = Float.NEGATIVE_INFINITY;
+		double length = 0;
+		for(int v = 0; v < n; v++) {
+			float x = xy[2*v], y = xy[2*v+1];
+			x0 = Math.min(x0, x);
+			x1 = Math.max(x1, x);
+			y0 = Math.min(y0, y);
+			y1 = Math.max(y1, y);
+			int w = v + 1 < n ? v + 1 : 0;
+			length += Math.hypot(xy[2*w] - x, xy[2*w+1] - y);
+		}
+		this.minX = x0;
+		this.minY = y0;
+		this.maxX = x1;
+		this.maxY = y1;
+		this.perimeter = length;
+	}
+
+	/**
+	 * @return the polygon without the transformation
+	 */
+	public Polygon base() {
+		return base;
+	}
+
+	/**
+	 * @return the current transformation
+	 */
+	public Affine transform() {
+		return transform;
+	}
+
+	/**
+	 * replaces the transformation and notifies the listeners
+	 * @param transform
+	 * @return this handle
+	 */
+	public ShapeHandle setTransform(Affine transform) {
+		long start = Metrics.ENABLED ? System.nanoTime() : 0;
+		Affine previous = this.transform;
+		if(previous.equals(transform)) {
+			return this;
+		}
+		this.transform = transform;
+		this.aabb = null;
+		this.polygon = null;
+		for(Listener listener : listeners) {
+			listener.transformed(this, previous);
+		}
+		if(Metrics.ENABLED) Metrics.record(Operation.TRANSFORM, start, xy.length / 2, 0);
+		return this;
+	}
+
+	/**
+	 * @param transform which is applied after the current transformation
+	 * @return this handle
+	 */
+	public ShapeHandle transform(Affine transform) {
+		return this.setTransform(this.transform.then(transform));
+	}
+
+	/**
+	 * @param transformation vector
+	 * @return this handle after it has been moved
+	 */
+	@Override
+	public ShapeHandle move(Vector transformation) {
+		return this.transform(Affine.translation(transformation));
+	}
+
+	/**
+	 * @param angle
+	 * @param center
+	 * @return this handle after it has been rotated around the center
+	 */
+	public ShapeHandle rotate(Angle angle, Vector center) {
+		return this.transform(Affine.rotation(angle, center));
+	}
+
+	/**
+	 * @param angle
+	 * @return this handle after it has been rotated around its centroid
+	 */
+	public ShapeHandle rotate(Angle angle) {
+		return this.rotate(angle, this.centroid());
+	}
+
+	/**
+	 * @param scalar
+	 * @param center
+	 * @return this handle after it has been scaled from the center
+	 */
+	public ShapeHandle scale(float scalar, Vector center) {
+		return this.transform(Affine.scaling(scalar, scalar, center));
+	}
+
+	/**
+	 * @param scalar
+	 * @return this handle after it has been scaled from its centroid
+	 */
+	public ShapeHandle scale(float scalar) {
+		return this.scale(scalar, this.centroid());
+	}
+
+	/**
+	 * @param listener which is notified after every change of the transformation
+	 */
+	public void addListener(Listener listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * @param listener
+	 */
+	public void removeListener(Listener listener) {
+		listeners.remove(listener);
+	}
+
+	@Override
+	public float area() {
+		return (float) Math.abs(signedArea * transform.determinant());
+	}
+
+	/**
+	 * constant time for similarity transformations, otherwise all edges are transformed
+	 */
+	@Override
+	public float perimeter() {
+		if(transform.isSimilarity()) {
+			return (float) (perimeter * Math.sqrt(Math.abs(transform.determinant())));
+		}
+		int n = xy.length / 2;
+		double length = 0;
+		for(int v = 0; v < n; v++) {
+			int w = v + 1 < n ? v + 1 : 0;
+			double dx = xy[2*w] - xy[2*v], dy = xy[2*w+1] - xy[2*v+1];
+			length += Math.hypot(transform.a * dx + transform.c * dy, transform.b * dx + transform.d * dy);
+		}
+		return (float) length;
+	}
+
+	/**
+	 * transforms the point back into the space of the base polygon, so the polygon isn't transformed
+	 */
+	@Override
+	public boolean contains(Vector vector) {
+		Vector local = transform.isTranslation()
+				? new Vector((float) (vector.x - transform.tx), (float) (vector.y - transform.ty))
+				: transform.inverse().apply(vector);
+		float px = local.x, py = local.y;
+		if(px < minX || px > maxX || py < minY || py > maxY) {
+			return false;
+		}
+		boolean inside = false;
+		int n = xy.length / 2;
+		for(int v = 0, w = n - 1; v < n; w = v++) {
+			float ay = xy[2*v+1], by = xy[2*w+1];
+			if((ay > py) != (by > py)) {
+				float ax = xy[2*v], bx = xy[2*w];
+				if(px < ax + (py - ay) / (by - ay) * (bx - ax)) {
+					inside = !inside;
+				}
+			}
+		}
+		return inside;
+	}
+
+	@Override
+	public Rectangle bounds() {
+		return this.aabb().rectangle();
+	}
+
+	@Override
+	public Aabb aabb() {
+		if(aabb == null) {
+			aabb = transform.isAxisAligned() ? this.boxBounds() : this.hullBounds();
+		}
+		return aabb;
+	}
+
+	/**
+	 * the transformed corners of the base bounds are exact if the axes stay aligned
+	 */
+	private Aabb boxBounds() {
+		double x0 = transform.x(minX, minY), y0 = transform.y(minX, minY);
+		double x1 = transform.x(maxX, maxY), y1 = transform.y(maxX, maxY);
+		return box(Math.min(x0, x1), Math.min(y0, y1), Math.max(x0, x1), Math.max(y0, y1));
+	}
+
+	private Aabb hullBounds() {
+		if(hull == null) {
+			int[] indices = ConvexHull.indices(xy);
+			hull = new float[indices.length * 2];
+			for(int i = 0; i < indices.length; i++) {
+				hull[2*i] = xy[2*indices[i]];
+				hull[2*i+1] = xy[2*indices[i]+1];
+			}
+		}
+		double x0 = Double.POSITIVE_INFINITY, y0 = Double.POSITIVE_INFINITY;
+		double x1 = Double.NEGATIVE_INFINITY, y1 = Double.NEGATIVE_INFINITY;
+		for(int i = 0; i < hull.length; i += 2) {
+			double x = transform.x(hull[i], hull[i+1]), y = transform.y(hull[i], hull[i+1]);
+			x0 = Math.min(x0, x);
+			x1 = Math.max(x1, x);
+			y0 = Math.min(y0, y);
+			y1 = Math.max(y1, y);
+		}
+		return box(x0, y0, x1, y1);
+	}
+
+	private static Aabb box(double x0, double y0, double x1, double y1) {
+		return new Aabb((float) x0, (float) y0, (float) x1, (float) y1);
+	}
+
+	@Override
+	public Vector centroid() {
+		return transform.apply(centroid);
+	}
+
+	/**
+	 * @return the transformed polygon, which is cached until the transformation changes
+	 */
+	public Polygon polygon() {
+		if(polygon == null) {
+			float[] transformed = new float[xy.length];
+			transform.apply(xy, transformed);
+			polygon = new Polygon(Coordinates.toVectors(transformed));
+		}
+		return polygon;
+	}
+
+}
@@ -1,6 +1,7 @@
 package io.github.voidc.vectometry;
 
 import io.github.voidc.vectometry.util.Angle;
+import io.github.voidc.vectometry.util.Coordinates;
 import io.github.voidc.vectometry.util.Matrix;
 
 public class Vector implements Comparable<Vector> {
@@ -91,7 +92,7 @@ public class Vector implements Comparable<Vector> {
 		for(int v = 0; v < others.length; v++) {
 			result = result.add(others[v]);
 		}
-		return result.scale(1f / others.length);
+		return result.scale(1f / (others.length + 1));
 	}
 	
 	/**
@@ -294,7 +295,12 @@ public class Vector implements Comparable<Vector> {
 	public boolean equals(Object obj) {
 		if(obj == null || !(obj instanceof Vector)) return false;
 		Vector vec = (Vector) obj;
-		return vec.x == this.x && vec.y == this.y;
+		return Coordinates.equal(vec.x, this.x) && Coordinates.equal(vec.y, this.y);
+	}
+	
+	@Override
+	public int hashCode() {
+		return 31 * Coordinates.hash(this.x) + Coordinates.hash(this.y);
 	}
 	
 	@Override
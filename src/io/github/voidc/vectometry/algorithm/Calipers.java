@@ -0,0 +1,234 @@
+package io.github.voidc.vectometry.algorithm;
+
+import io.github.voidc.vectometry.Polygon;
+import io.github.voidc.vectometry.Rectangle;
+import io.github.voidc.vectometry.Vector;
+
+/**
+ * rotating calipers over the convex hull of a point set
+ * <p>
+ * after the hull has been computed (linear for convex polygons, otherwise O(n log n)) every measure is found in
+ * a single turn around the hull without creating any rotated polygons
+ */
+public final class Calipers {
+
+	private Calipers() {}
+
+	/**
+	 * @param poly
+	 * @return the oriented rectangle with the smallest area which contains the polygon
+	 */
+	public static Rectangle minimumAreaRectangle(Polygon poly) {
+		return minimumAreaRectangle(poly.coordinates());
+	}
+
+	/**
+	 * one side of the optimal rectangle is collinear with a hull edge (Freeman and Shapira)
+	 * @param xy packed coordinates
+	 * @return the oriented rectangle with the smallest area which contains all points
+	 */
+	public static Rectangle minimumAreaRectangle(float[] xy) {
+		return rectangle(xy, false);
+	}
+
+	/**
+	 * @param poly
+	 * @return the oriented rectangle with the smallest perimeter which contains the polygon
+	 */
+	public static Rectangle minimumPerimeterRectangle(Polygon poly) {
+		return minimumPerimeterRectangle(poly.coordinates());
+	}
+
+	/**
+	 * @param xy packed coordinates
+	 * @return the oriented rectangle with the smallest perimeter which contains all points
+	 */
+	public static Rectangle minimumPerimeterRectangle(float[] xy) {
+		return rectangle(xy, true);
+	}
+
+	private static Rectangle rectangle(float[] xy, boolean perimeter) {
+		if(xy.length < 2) throw new IllegalArgumentException("At least one point is required");
+		float[] hull = ConvexHull.coordinates(xy);
+		int m = hull.length / 2;
+		if(m < 3) {
+			Vector a = new Vector(hull[0], hull[1]), b = new Vector(hull[2*m-2], hull[2*m-1]);
+			return new Rectangle(a, b.subtract(a), Vector.ZERO);
+		}
+		double best = Double.POSITIVE_INFINITY;
+		double bestUx = 1, bestUy = 0, bestMin = 0, bestMax = 0, bestHeight = 0;
+		int bestEdge = 0;
+		int right = 0, top = 0, left = 0;
+		for(int i = 0; i < m; i++) {
+			int j = next(i, m);
+			double ox = hull[2*i], oy = hull[2*i+1];
+			double ux = hull[2*j] - ox, uy = hull[2*j+1] - oy;
+			double length = Math.hypot(ux, uy);
+			ux /= length;
+			uy /= length;
+			// the normal (-uy, ux) points into the hull because it is counter clockwise
+			if(i == 0) right = j;
+			while(project(hull, next(right, m), ox, oy, ux, uy) > project(hull, right, ox, oy, ux, uy)) right = next(right, m);
+			if(i == 0) top = right;
+			while(project(hull, next(top, m), ox, oy, -uy, ux) > project(hull, top, ox, oy, -uy, ux)) top = next(top, m);
+			if(i == 0) left = top;
+			while(project(hull, next(left, m), ox, oy, ux, uy) < project(hull, left, ox, oy, ux, uy)) left = next(left, m);
+
+			double max = project(hull, right, ox, oy, ux, uy);
+			double min = project(hull, left, ox, oy, ux, uy);
+			double height = project(hull, top, ox, oy, -uy, ux);
+			double measure = perimeter ? (max - min) + height : (max - min) * height;
+			if(measure < best) {
+				best = measure;
+				bestEdge = i;
+				bestUx = ux;
+				bestUy = uy;
+				bestMin = min;
+				bestMax = max;
+				bestHeight = height;
+			}
+		}
+		double ox = hull[2*bestEdge] + bestUx * bestMin, oy = hull[2*bestEdge+1] + bestUy * bestMin;
+		double width = bestMax - bestMin;
+		return new Rectangle(new Vector((float) ox, (float) oy),
+				new Vector((float) (bestUx * width), (float) (bestUy * width)),
+				new Vector((float) (-bestUy * bestHeight), (float) (bestUx * bestHeight)));
+	}
+
+	/**
+	 * @param poly
+	 * @return the largest distance between two vertices of the polygon
+	 */
+	public static float diameter(Polygon poly) {
+		return diameter(poly.coordinates());
+	}
+
+	/**
+	 * @param xy packed coordinates
+	 * @return the largest distance between two points
+	 */
+	public static float diameter(float[] xy) {
+		if(xy.length < 2) throw new IllegalArgumentException("At least one point is required");
+		float[] hull = ConvexHull.coordinates(xy);
+		int[] pair = antipodal(hull, null);
+		return (float) Math.hypot(hull[2*pair[0]] - hull[2*pair[1]], hull[2*pair[0]+1] - hull[2*pair[1]+1]);
+	}
+
+	/**
+	 * @param xy packed coordinates
+	 * @return the indices of the two points with the largest distance
+	 */
+	public static int[] farthestPair(float[] xy) {
+		if(xy.length < 2) throw new IllegalArgumentException("At least one point is required");
+		int[] indices = ConvexHull.indices(xy);
+		float[] hull = new float[2 * indices.length];
+		for(int i = 0; i < indices.length; i++) {
+			hull[2*i] = xy[2*indices[i]];
+			hull[2*i+1] = xy[2*indices[i]+1];
+		}
+		int[] pair = antipodal(hull, null);
+		return new int[] {indices[pair[0]], indices[pair[1]]};
+	}
+
+	/**
+	 * @param poly
+	 * @return the smallest distance between two parallel lines which enclose the polygon
+	 */
+	public static float width(Polygon poly) {
+		return width(poly.coordinates());
+	}
+
+	/**
+	 * @param xy packed coordinates
+	 * @return the smallest distance between two parallel lines which enclose all points
+	 */
+	public static float width(float[] xy) {
+		if(xy.length < 2) throw new IllegalArgumentException("At least one point is required");
+		float[] hull = ConvexHull.coordinates(xy);
+		double[] width = {Double.POSITIVE_INFINITY};
+		antipodal(hull, width);
+		return hull.length < 6 ? 0 : (float) width[0];
+	}
+
+	/**
+	 * visits every edge with its farthest vertex
+	 * @param hull packed counter clockwise hull coordinates
+	 * @param width receives the smallest edge to vertex distance if not null
+	 * @return hull indices of the farthest pair
+	 */
+	private static int[] antipodal(float[] hull, double[] width) {
+		int m = hull.length / 2;
+		if(m < 3) {
+			return new int[] {0, m - 1};
+		}
+		int[] pair = {0, 0};
+		double farthest = -1;
+		int k = 1;
+		for(int i = 0; i < m; i++) {
+			int j = next(i, m);
+			while(area(hull, i, j, next(k, m)) > area(hull, i, j, k)) k = next(k, m);
+			for(int p : new int[] {i, j}) {
+				double dx = (double) hull[2*p] - hull[2*k], dy = (double) hull[2*p+1] - hull[2*k+1];
+				double distance = dx * dx + dy * dy;
+				if(distance > farthest) {
+					farthest = distance;
+					pair[0] = p;
+					pair[1] = k;
+				}
+			}
+			if(width != null) {
+				double length = Math.hypot((double) hull[2*j] - hull[2*i], (double) hull[2*j+1] - hull[2*i+1]);
+				width[0] = Math.min(width[0], area(hull, i, j, k) / length);
+			}
+		}
+		return pair;
+	}
+
+	/**
+	 * separating axis test with the edge normals of both rectangles
+	 * @param a oriented rectangle
+	 * @param b oriented rectangle
+	 * @return true if both rectangles overlap or touch
+	 */
+	public static boolean overlaps(Rectangle a, Rectangle b) {
+		return !separates(a, a, b) && !separates(b, a, b);
+	}
+
+	private static boolean separates(Rectangle axes, Rectangle a, Rectangle b) {
+		for(int e = 0; e < 2; e++) {
+			Vector from = axes.vertices[e], to = axes.vertices[e + 1];
+			double nx = from.y - to.y, ny = to.x - from.x;
+			double minA = Double.POSITIVE_INFINITY, maxA = Double.NEGATIVE_INFINITY;
+			double minB = Double.POSITIVE_INFINITY, maxB = Double.NEGATIVE_INFINITY;
+			for(int v = 0; v < 4; v++) {
+				double pa = nx * a.vertices[v].x + ny * a.vertices[v].y;
+				double pb = nx * b.vertices[v].x + ny * b.vertices[v].y;
+				minA = Math.min(minA, pa);
+				maxA = Math.max(maxA, pa);
+				minB = Math.min(minB, pb);
+				maxB = Math.max(maxB, pb);
+			}
+			if(maxA < minB || maxB < minA) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static int next(int i, int m) {
+		return i + 1 < m ? i + 1 : 0;
+	}
+
+	private static double project(float[] hull, int p, double ox, double oy, double ux, double uy) {
+		return (hull[2*p] - ox) * ux + (hull[2*p+1] - oy) * uy;
+	}
+
+	/**
+	 * @return twice the area of the triangle, positive if counter clockwise
+	 */
+	private static double area(float[] hull, int a, int b, int c) {
+		return ((double) hull[2*b] - hull[2*a]) * ((double) hull[2*c+1] - hull[2*a+1])
+				- ((double) hull[2*b+1] - hull[2*a+1]) * ((double) hull[2*c] - hull[2*a]);
+	}
+
+}
@@ -0,0 +1,753 @@
+package io.github.voidc.vectometry.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import io.github.voidc.vectometry.Polygon;
+import io.github.voidc.vectometry.metrics.GeometryEvent;
+import io.github.voidc.vectometry.metrics.Operation;
+import io.github.voidc.vectometry.util.Coordinates;
+import io.github.voidc.vectometry.util.FloatList;
+
+/**
+ * resolves sets of possibly self intersecting rings into simple rings
+ * <p>
+ * a first Bentley-Ottmann sweep splits the edges at all their intersections, coinciding edges are merged into one edge
+ * which stores the sum of their windings. a second sweep over the split edges passes the winding number from every edge to
+ * the edge above it, so each edge knows the winding numbers on both of its sides. the edges which separate inside from
+ * outside are linked to rings again. both sweeps run in O((n + k) log n) for n edges with k intersections and only use
+ * primitive arrays. outer rings of the result are counter clockwise, holes are clockwise
+ * <p>
+ * the first sweep only splits edges at intersections which are exactly representable as floats. it stops at the first
+ * crossing which isn't, then the edges are snap rounded ({@link SnapRounding}) and swept again, until the sweep is exact
+ */
+public final class Clipper {
+	private static final int MAX_PASSES = 8;
+
+	private Clipper() {}
+
+	/**
+	 * @param rings packed coordinates of the input rings
+	 * @param rule
+	 * @return packed coordinates of the simple rings which enclose all points that are inside according to the fill rule
+	 * @throws IllegalArgumentException if a coordinate isn't finite
+	 * @throws ArithmeticException if the snap rounding doesn't converge or a boundary ring can't be closed
+	 */
+	public static List<float[]> union(List<float[]> rings, FillRule rule) {
+		int vertices = 0;
+		for(float[] ring : rings) {
+			vertices += ring.length / 2;
+		}
+		GeometryEvent event = GeometryEvent.start(Operation.UNION, vertices);
+		float[] segments = new float[4 * vertices];
+		int s = 0;
+		for(float[] ring : rings) {
+			int n = ring.length / 2;
+			for(int v = 0; v < n; v++) {
+				int w = v + 1 < n ? v + 1 : 0;
+				if(!Float.isFinite(ring[2*v]) || !Float.isFinite(ring[2*v+1])) {
+					throw new IllegalArgumentException("The coordinates must be finite");
+				}
+				segments[s++] = ring[2*v] + 0f;
+				segments[s++] = ring[2*v+1] + 0f;
+				segments[s++] = ring[2*w] + 0f;
+				segments[s++] = ring[2*w+1] + 0f;
+			}
+		}
+		Sweep sweep = sweep(segments);
+		// rounding can move a segment into a pixel which hasn't been hot before, which the next pass takes care of
+		for(int pass = 1; sweep.run(true); pass++) {
+			if(pass == MAX_PASSES) throw new ArithmeticException("The snap rounding did not converge after " + MAX_PASSES + " passes");
+			segments = SnapRounding.round(segments);
+			sweep = sweep(segments);
+		}
+		sweep = sweep.copy();
+		sweep.run(false);
+		List<float[]> result = sweep.rings(rule);
+		GeometryEvent.finish(event, result.size());
+		return result;
+	}
+
+	/**
+	 * @param polygons
+	 * @param rule
+	 * @return the simple polygons which enclose all points that are inside according to the fill rule (holes are clockwise)
+	 * @throws ArithmeticException if the snap rounding doesn't converge or a boundary ring can't be closed
+	 */
+	public static List<Polygon> union(Polygon[] polygons, FillRule rule) {
+		List<float[]> rings = new ArrayList<float[]>(polygons.length);
+		for(Polygon poly : polygons) {
+			rings.add(poly.coordinates());
+		}
+		return toPolygons(union(rings, rule));
+	}
+
+	/**
+	 * @param segments packed end points of the edges (x0, y0, x1, y1)
+	 * @return sweep over the edges
+	 */
+	private static Sweep sweep(float[] segments) {
+		Sweep sweep = new Sweep(segments.length / 4);
+		for(int i = 0; i < segments.length; i += 4) {
+			sweep.add(segments[i], segments[i+1], segments[i+2], segments[i+3]);
+		}
+		return sweep;
+	}
+
+	/**
+	 * @param rings packed coordinates
+	 * @return polygons with the given coordinates
+	 */
+	static List<Polygon> toPolygons(List<float[]> rings) {
+		List<Polygon> polygons = new ArrayList<Polygon>(rings.size());
+		for(float[] ring : rings) {
+			polygons.add(new Polygon(Coordinates.toVectors(ring)));
+		}
+		return polygons;
+	}
+
+	static double orientation(double ax, double ay, double bx, double by, double cx, double cy) {
+		return (bx - ax) * (cy - ay) - (by - ay) * (cx - ax);
+	}
+
+	/**
+	 * @return true if the point a comes before the point b in the sweep order (by x, then by y)
+	 */
+	private static boolean before(float ax, float ay, float bx, float by) {
+		return ax < bx || (ax == bx && ay < by);
+	}
+
+	/**
+	 * sweep line from left to right over a set of edges
+	 * <p>
+	 * every edge is stored from its left to its right end point (by x, then by y) together with its winding: +1 if the
+	 * ring runs from left to right, -1 otherwise. the winding number above an edge is the winding number below it plus
+	 * its winding, "above" a vertical edge is its left side. the status line is a treap over the active edges which are
+	 * ordered bottom to top, the event queue is an indexed binary heap of the end points, event 2e is the left and
+	 * 2e + 1 the right end point of edge e
+	 */
+	private static final class Sweep {
+		private float[] x0, y0, x1, y1;
+		private int[] source; // input edge which the edge is a part of
+		private float[] lines; // end points of the input edges
+		private int sources;
+		private int[] winding;
+		private int[] below; // winding number below the edge, only computed by the second sweep
+		private boolean[] dead;
+		private int count;
+
+		private int[] left, right, parent; // treap links by edge
+		private int root = -1;
+
+		private int[] heap, position; // position of each event in the heap, -1 if it isn't queued
+		private int queued;
+
+		private float qx, qy; // current event point
+		private boolean inexact;
+
+		Sweep(int capacity) {
+			this.allocate(Math.max(capacity, 4));
+			this.lines = new float[4 * Math.max(capacity, 4)];
+		}
+
+		private void allocate(int capacity) {
+			int old = x0 == null ? 0 : x0.length;
+			x0 = grow(x0, capacity);
+			y0 = grow(y0, capacity);
+			x1 = grow(x1, capacity);
+			y1 = grow(y1, capacity);
+			source = grow(source, capacity);
+			winding = grow(winding, capacity);
+			below = grow(below, capacity);
+			dead = dead == null ? new boolean[capacity] : Arrays.copyOf(dead, capacity);
+			left = grow(left, capacity);
+			right = grow(right, capacity);
+			parent = grow(parent, capacity);
+			heap = grow(heap, 2 * capacity);
+			position = grow(position, 2 * capacity);
+			Arrays.fill(position, 2 * old, 2 * capacity, -1);
+		}
+
+		private static float[] grow(float[] values, int capacity) {
+			return values == null ? new float[capacity] : Arrays.copyOf(values, capacity);
+		}
+
+		private static int[] grow(int[] values, int capacity) {
+			return values == null ? new int[capacity] : Arrays.copyOf(values, capacity);
+		}
+
+		/**
+		 * adds the edge from a to b, edges without length are ignored
+		 */
+		void add(float ax, float ay, float bx, float by) {
+			int w = before(ax, ay, bx, by) ? 1 : before(bx, by, ax, ay) ? -1 : 0;
+			if(w == 0) {
+				return;
+			}
+			if(4 * sources == lines.length) {
+				lines = Arrays.copyOf(lines, 2 * lines.length);
+			}
+			if(w < 0) {
+				float x = ax, y = ay;
+				ax = bx;
+				ay = by;
+				bx = x;
+				by = y;
+			}
+			lines[4*sources] = ax;
+			lines[4*sources+1] = ay;
+			lines[4*sources+2] = bx;
+			lines[4*sources+3] = by;
+			this.edge(ax, ay, bx, by, w, sources++);
+		}
+
+		private int edge(float ax, float ay, float bx, float by, int w, int line) {
+			if(count == x0.length) {
+				this.allocate(2 * count);
+			}
+			int e = count++;
+			x0[e] = ax;
+			y0[e] = ay;
+			x1[e] = bx;
+			y1[e] = by;
+			winding[e] = w;
+			source[e] = line;
+			left[e] = right[e] = parent[e] = -1;
+			this.push(2 * e);
+			this.push(2 * e + 1);
+			return e;
+		}
+
+		/**
+		 * @return new sweep over the remaining edges of this sweep
+		 */
+		Sweep copy() {
+			Sweep copy = new Sweep(count);
+			copy.lines = lines;
+			copy.sources = sources;
+			for(int e = 0; e < count; e++) {
+				if(!dead[e] && winding[e] != 0) {
+					copy.edge(x0[e], y0[e], x1[e], y1[e], winding[e], source[e]);
+				}
+			}
+			return copy;
+		}
+
+		/**
+		 * processes all events
+		 * @param split true to split the edges at their intersections, false to compute the winding numbers
+		 * @return true if the sweep has stopped at an intersection which isn't exactly representable
+		 */
+		boolean run(boolean split) {
+			while(queued > 0 && !inexact) {
+				int event = this.pop();
+				int e = event >> 1;
+				if((event & 1) == 1) {
+					qx = x1[e];
+					qy = y1[e];
+					int p = this.predecessor(e), s = this.successor(e);
+					this.remove(e);
+					if(split) {
+						// the shortened neighbours may pass exactly through the end point
+						if(p >= 0) this.splitThrough(p);
+						if(s >= 0) this.splitThrough(s);
+						if(p >= 0 && s >= 0) {
+							this.intersect(p, s);
+						}
+					}
+					continue;
+				}
+				qx = x0[e];
+				qy = y0[e];
+				int same = this.insert(e);
+				while(same >= 0 && before(x0[same], y0[same], qx, qy)) {
+					// collinear with an edge which started earlier, which is split here so that both start at this point
+					this.split(same, qx, qy);
+					same = this.insert(e);
+				}
+				if(same >= 0) {
+					this.merge(e, same);
+				} else if(split) {
+					int p = this.predecessor(e);
+					if(p >= 0) {
+						this.intersect(p, e);
+					}
+					int s = this.successor(e);
+					if(s >= 0) {
+						this.intersect(e, s);
+					}
+				} else {
+					int p = this.predecessor(e);
+					below[e] = p < 0 ? 0 : below[p] + winding[p];
+				}
+			}
+			return inexact;
+		}
+
+		/**
+		 * merges the edge e into the active collinear edge which starts at the same point,
+		 * the longer of both is split at the end of the shorter one
+		 */
+		private void merge(int e, int same) {
+			if(before(x1[e], y1[e], x1[same], y1[same])) {
+				this.split(same, x1[e], y1[e]);
+			} else if(before(x1[same], y1[same], x1[e], y1[e])) {
+				this.split(e, x1[same], y1[same]);
+			}
+			winding[same] += winding[e];
+			dead[e] = true;
+			this.unqueue(2 * e + 1);
+		}
+
+		/**
+		 * splits the edge at the point, the part on the right becomes a new edge
+		 */
+		private void split(int e, float x, float y) {
+			this.edge(x, y, x1[e], y1[e], winding[e], source[e]);
+			x1[e] = x;
+			y1[e] = y;
+			this.siftUp(position[2 * e + 1]);
+		}
+
+		/**
+		 * splits two neighbouring edges at the points where they cross or touch
+		 */
+		private void intersect(int a, int b) {
+			if(this.sameLine(a, b)) {
+				this.splitAt(a, x0[b], y0[b]);
+				this.splitAt(a, x1[b], y1[b]);
+				this.splitAt(b, x0[a], y0[a]);
+				this.splitAt(b, x1[a], y1[a]);
+				return;
+			}
+			double o1 = Predicates.orient(x0[a], y0[a], x1[a], y1[a], x0[b], y0[b]);
+			double o2 = Predicates.orient(x0[a], y0[a], x1[a], y1[a], x1[b], y1[b]);
+			double o3 = Predicates.orient(x0[b], y0[b], x1[b], y1[b], x0[a], y0[a]);
+			double o4 = Predicates.orient(x0[b], y0[b], x1[b], y1[b], x1[a], y1[a]);
+			if(o1 * o2 < 0 && o3 * o4 < 0) {
+				float[] point = intersection(lines, 4 * source[a], lines, 4 * source[b]);
+				if(point == null || !this.exact(a, point[0], point[1]) || !this.exact(b, point[0], point[1])) {
+					inexact = true; // a bent edge could cross edges which have already been passed
+					return;
+				}
+				this.split(a, point[0], point[1]);
+				this.split(b, point[0], point[1]);
+				return;
+			}
+			if(o1 == 0) this.splitAt(a, x0[b], y0[b]);
+			if(o2 == 0) this.splitAt(a, x1[b], y1[b]);
+			if(o3 == 0) this.splitAt(b, x0[a], y0[a]);
+			if(o4 == 0) this.splitAt(b, x1[a], y1[a]);
+		}
+
+		/**
+		 * @return the intersection of the lines through the packed segments, null if they are parallel
+		 */
+		private static float[] intersection(float[] a, int i, float[] b, int j) {
+			double px = a[i], py = a[i+1], rx = a[i+2] - px, ry = a[i+3] - py;
+			double sx = b[j], sy = b[j+1], ux = b[j+2] - sx, uy = b[j+3] - sy;
+			double denominator = rx * uy - ry * ux;
+			if(denominator == 0) {
+				return null;
+			}
+			double t = ((sx - px) * uy - (sy - py) * ux) / denominator;
+			return new float[] {(float) (px + t * rx), (float) (py + t * ry)};
+		}
+
+		/**
+		 * @return true if the point lies exactly on the edge between its end points and not before the sweep line
+		 */
+		private boolean exact(int e, float x, float y) {
+			return this.inside(e, x, y) && !before(x, y, qx, qy) && Predicates.orient(x0[e], y0[e], x1[e], y1[e], x, y) == 0;
+		}
+
+		/**
+		 * splits the edge at a point on its line if the point lies between its end points
+		 */
+		private void splitAt(int e, float x, float y) {
+			if(!this.inside(e, x, y)) {
+				return;
+			}
+			if(before(x, y, qx, qy)) {
+				inexact = true; // can only be missed if the input has already been rounded
+				return;
+			}
+			this.split(e, x, y);
+		}
+
+		/**
+		 * splits the edge at the current event point if it passes exactly through it
+		 */
+		private void splitThrough(int e) {
+			if(this.inside(e, qx, qy) && Predicates.orient(x0[e], y0[e], x1[e], y1[e], qx, qy) == 0) {
+				this.split(e, qx, qy);
+			}
+		}
+
+		private boolean inside(int e, float x, float y) {
+			return before(x0[e], y0[e], x, y) && before(x, y, x1[e], y1[e]);
+		}
+
+		/**
+		 * @return the order of the edge e which starts at the current event point and the active edge f,
+		 * 0 if they are collinear and overlap
+		 */
+		private int compare(int e, int f) {
+			if(this.sameLine(e, f)) {
+				return before(qx, qy, x1[f], y1[f]) ? 0 : e < f ? -1 : 1;
+			}
+			if(x0[f] != qx || y0[f] != qy) {
+				double o = Predicates.orient(x0[f], y0[f], x1[f], y1[f], qx, qy);
+				if(o != 0) {
+					return o > 0 ? 1 : -1;
+				}
+			}
+			int turn = this.turn(e, f);
+			return turn != 0 ? turn : e < f ? -1 : 1;
+		}
+
+		/**
+		 * the directions and collinearity of edges are decided by the input edges which they are part of
+		 * @return 1 if the direction of e is counter clockwise from the direction of f, -1 if it is clockwise, 0 if they are parallel
+		 */
+		private int turn(int e, int f) {
+			int i = 4 * source[e], j = 4 * source[f];
+			double o = Predicates.orient(0, 0, lines[j+2] - lines[j], lines[j+3] - lines[j+1],
+					lines[i+2] - lines[i], lines[i+3] - lines[i+1]);
+			return o > 0 ? 1 : o < 0 ? -1 : 0;
+		}
+
+		/**
+		 * @return true if both edges are part of input edges on the same line
+		 */
+		private boolean sameLine(int e, int f) {
+			if(source[e] == source[f]) {
+				return true;
+			}
+			int j = 4 * source[f];
+			return this.turn(e, f) == 0
+					&& Predicates.orient(lines[j], lines[j+1], lines[j+2], lines[j+3], lines[4*source[e]], lines[4*source[e]+1]) == 0;
+		}
+
+		/**
+		 * @return true if the event a is processed before the event b: by point, right end points before left end points,
+		 * left end points from bottom to top
+		 */
+		private boolean precedes(int a, int b) {
+			int ea = a >> 1, eb = b >> 1;
+			boolean rightA = (a & 1) == 1, rightB = (b & 1) == 1;
+			float ax = rightA ? x1[ea] : x0[ea], ay = rightA ? y1[ea] : y0[ea];
+			float bx = rightB ? x1[eb] : x0[eb], by = rightB ? y1[eb] : y0[eb];
+			if(ax != bx) return ax < bx;
+			if(ay != by) return ay < by;
+			if(rightA != rightB) return rightA;
+			if(!rightA) {
+				int turn = this.turn(ea, eb);
+				if(turn != 0) return turn < 0;
+			}
+			return ea < eb;
+		}
+
+		// event queue
+
+		private void push(int event) {
+			heap[queued] = event;
+			position[event] = queued;
+			this.siftUp(queued++);
+		}
+
+		private int pop() {
+			int event = heap[0];
+			this.unqueue(event);
+			return event;
+		}
+
+		private void unqueue(int event) {
+			int i = position[event];
+			if(i < 0) {
+				return;
+			}
+			position[event] = -1;
+			int last = heap[--queued];
+			if(i == queued) {
+				return;
+			}
+			heap[i] = last;
+			position[last] = i;
+			this.siftDown(i);
+			this.siftUp(position[last]);
+		}
+
+		private void siftUp(int i) {
+			int event = heap[i];
+			while(i > 0) {
+				int up = (i - 1) >> 1;
+				if(!this.precedes(event, heap[up])) break;
+				heap[i] = heap[up];
+				position[heap[i]] = i;
+				i = up;
+			}
+			heap[i] = event;
+			position[event] = i;
+		}
+
+		private void siftDown(int i) {
+			int event = heap[i];
+			while(true) {
+				int child = 2 * i + 1;
+				if(child >= queued) break;
+				if(child + 1 < queued && this.precedes(heap[child + 1], heap[child])) child++;
+				if(!this.precedes(heap[child], event)) break;
+				heap[i] = heap[child];
+				position[heap[i]] = i;
+				i = child;
+			}
+			heap[i] = event;
+			position[event] = i;
+		}
+
+		// status line
+
+		/**
+		 * inserts the edge which starts at the current event point
+		 * @return the collinear active edge which overlaps the given one instead of inserting it, -1 if it has been inserted
+		 */
+		private int insert(int e) {
+			left[e] = right[e] = parent[e] = -1;
+			if(root < 0) {
+				root = e;
+				return -1;
+			}
+			int node = root;
+			while(true) {
+				int order = this.compare(e, node);
+				if(order == 0) {
+					return node;
+				}
+				int next = order < 0 ? left[node] : right[node];
+				if(next < 0) {
+					if(order < 0) left[node] = e;
+					else right[node] = e;
+					parent[e] = node;
+					break;
+				}
+				node = next;
+			}
+			while(parent[e] >= 0 && priority(parent[e]) < priority(e)) {
+				this.rotateUp(e);
+			}
+			return -1;
+		}
+
+		private void remove(int e) {
+			while(left[e] >= 0 || right[e] >= 0) {
+				int child = left[e] < 0 ? right[e] : right[e] < 0 ? left[e]
+						: priority(left[e]) > priority(right[e]) ? left[e] : right[e];
+				this.rotateUp(child);
+			}
+			int p = parent[e];
+			if(p < 0) {
+				root = -1;
+			} else if(left[p] == e) {
+				left[p] = -1;
+			} else {
+				right[p] = -1;
+			}
+			parent[e] = -1;
+		}
+
+		private void rotateUp(int x) {
+			int p = parent[x], g = parent[p];
+			if(left[p] == x) {
+				left[p] = right[x];
+				if(right[x] >= 0) parent[right[x]] = p;
+				right[x] = p;
+			} else {
+				right[p] = left[x];
+				if(left[x] >= 0) parent[left[x]] = p;
+				left[x] = p;
+			}
+			parent[p] = x;
+			parent[x] = g;
+			if(g < 0) root = x;
+			else if(left[g] == p) left[g] = x;
+			else right[g] = x;
+		}
+
+		private int predecessor(int e) {
+			if(left[e] >= 0) {
+				int node = left[e];
+				while(right[node] >= 0) node = right[node];
+				return node;
+			}
+			int node = e;
+			while(parent[node] >= 0 && left[parent[node]] == node) node = parent[node];
+			return parent[node];
+		}
+
+		private int successor(int e) {
+			if(right[e] >= 0) {
+				int node = right[e];
+				while(left[node] >= 0) node = left[node];
+				return node;
+			}
+			int node = e;
+			while(parent[node] >= 0 && right[parent[node]] == node) node = parent[node];
+			return parent[node];
+		}
+
+		/**
+		 * @return pseudo random treap priority of the edge
+		 */
+		private static int priority(int e) {
+			int h = e * 0x9e3779b9;
+			return h ^ (h >>> 16);
+		}
+
+		// result
+
+		/**
+		 * links the edges which separate inside from outside to rings, keeping the inside on the left
+		 */
+		List<float[]> rings(FillRule rule) {
+			int[] from = new int[count], to = new int[count];
+			long[] keys = new long[2 * count];
+			int m = 0;
+			for(int e = 0; e < count; e++) {
+				if(dead[e] || winding[e] == 0) continue;
+				boolean inBelow = rule.isInside(below[e]), inAbove = rule.isInside(below[e] + winding[e]);
+				if(inBelow == inAbove) continue;
+				keys[2*m] = key(x0[e], y0[e]);
+				keys[2*m+1] = key(x1[e], y1[e]);
+				from[m] = inAbove ? 2*m : 2*m+1;
+				to[m] = inAbove ? 2*m+1 : 2*m;
+				m++;
+			}
+			// node ids by sorting the end points
+			long[] nodes = Arrays.copyOf(keys, 2 * m);
+			Arrays.sort(nodes);
+			int nodeCount = 0;
+			for(int i = 0; i < nodes.length; i++) {
+				if(i == 0 || nodes[i] != nodes[i - 1]) nodes[nodeCount++] = nodes[i];
+			}
+			float[] xy = new float[2 * nodeCount];
+			for(int v = 0; v < nodeCount; v++) {
+				xy[2*v] = coordinate((int) (nodes[v] >> 32));
+				xy[2*v+1] = coordinate((int) nodes[v] ^ Integer.MIN_VALUE);
+			}
+			for(int g = 0; g < m; g++) {
+				from[g] = Arrays.binarySearch(nodes, 0, nodeCount, keys[from[g]]);
+				to[g] = Arrays.binarySearch(nodes, 0, nodeCount, keys[to[g]]);
+			}
+			return link(xy, nodeCount, from, to, m);
+		}
+
+		/**
+		 * @return key whose signed order is the sweep order of the points
+		 */
+		private static long key(float x, float y) {
+			return ((long) sortable(x) << 32) | ((sortable(y) ^ Integer.MIN_VALUE) & 0xffffffffL);
+		}
+
+		/**
+		 * @return int whose signed order matches the order of the floats, the mapping is its own inverse
+		 */
+		private static int sortable(float value) {
+			int bits = Float.floatToIntBits(value);
+			return bits ^ ((bits >> 31) & 0x7fffffff);
+		}
+
+		private static float coordinate(int sortable) {
+			return Float.intBitsToFloat(sortable ^ ((sortable >> 31) & 0x7fffffff));
+		}
+	}
+
+	/**
+	 * links the directed boundary edges to rings, keeping the inside on the left
+	 * @throws ArithmeticException if a ring doesn't close, which means that the edges haven't been split at all intersections
+	 */
+	private static List<float[]> link(float[] nodes, int nodeCount, int[] from, int[] to, int m) {
+		int[] start = new int[nodeCount + 1];
+		for(int e = 0; e < m; e++) {
+			start[from[e] + 1]++;
+		}
+		for(int v = 0; v < nodeCount; v++) {
+			start[v + 1] += start[v];
+		}
+		int[] outgoing = new int[m];
+		int[] fill = Arrays.copyOf(start, nodeCount);
+		for(int e = 0; e < m; e++) {
+			outgoing[fill[from[e]]++] = e;
+		}
+
+		boolean[] used = new boolean[m];
+		List<float[]> rings = new ArrayList<float[]>();
+		FloatList ring = new FloatList();
+		for(int first = 0; first < m; first++) {
+			if(used[first]) continue;
+			ring.clear();
+			int e = first;
+			boolean closed = false;
+			while(true) {
+				used[e] = true;
+				ring.add(nodes[2*from[e]], nodes[2*from[e]+1]);
+				int next = nextEdge(nodes, e, from, to, start, outgoing, used, first);
+				if(next < 0) break;
+				if(next == first) {
+					closed = true;
+					break;
+				}
+				e = next;
+			}
+			if(!closed) {
+				throw new ArithmeticException("A boundary ring could not be closed at (" + nodes[2*to[e]] + ", " + nodes[2*to[e]+1] + ")");
+			}
+			float[] cleaned = removeCollinear(ring.toArray());
+			if(cleaned.length >= 6 && Coordinates.signedArea(cleaned, cleaned.length / 2) != 0) { // rings without area enclose nothing
+				rings.add(cleaned);
+			}
+		}
+		return rings;
+	}
+
+	/**
+	 * @return the unused outgoing edge with the smallest clockwise angle to the reversed edge e
+	 */
+	private static int nextEdge(float[] nodes, int e, int[] from, int[] to, int[] start, int[] outgoing, boolean[] used, int first) {
+		int v = to[e];
+		double vx = nodes[2*v], vy = nodes[2*v+1];
+		double bx = nodes[2*from[e]] - vx, by = nodes[2*from[e]+1] - vy;
+		int best = -1;
+		double bestAngle = Double.POSITIVE_INFINITY;
+		for(int i = start[v]; i < start[v + 1]; i++) {
+			int f = outgoing[i];
+			if(used[f] && f != first) continue;
+			double ox = nodes[2*to[f]] - vx, oy = nodes[2*to[f]+1] - vy;
+			double angle = Math.atan2(ox * by - oy * bx, ox * bx + oy * by);
+			if(angle <= 0) angle += 2 * Math.PI;
+			if(angle < bestAngle) {
+				bestAngle = angle;
+				best = f;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * @param ring packed coordinates
+	 * @return ring without points that lie on the straight line between their neighbours
+	 */
+	static float[] removeCollinear(float[] ring) {
+		int n = ring.length / 2;
+		FloatList result = new FloatList(ring.length);
+		for(int v = 0; v < n; v++) {
+			int p = v > 0 ? v - 1 : n - 1, q = v + 1 < n ? v + 1 : 0;
+			if(orientation(ring[2*p], ring[2*p+1], ring[2*v], ring[2*v+1], ring[2*q], ring[2*q+1]) != 0) {
+				result.add(ring[2*v], ring[2*v+1]);
+			}
+		}
+		return result.toArray();
+	}
+
+}
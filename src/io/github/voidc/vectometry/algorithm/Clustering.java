@@ -0,0 +1,448 @@
+package io.github.voidc.vectometry.algorithm;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+import io.github.voidc.vectometry.Polygon;
+import io.github.voidc.vectometry.util.Coordinates;
+
+/**
+ * clustering of point sets given as packed coordinates
+ * <p>
+ * the results are cluster ids per point, starting at 0, with {@link #NOISE} for points which don't belong to any cluster
+ */
+public final class Clustering {
+	public static final int NOISE = -1;
+
+	private static final int CHUNK_SIZE = 1 << 14;
+
+	private Clustering() {}
+
+	/**
+	 * DBSCAN on a hashed grid with cells of radius / sqrt(2), so all points in one cell are neighbours and every
+	 * neighbourhood query only visits the 5x5 cells around the point. all steps run in parallel: cells with at least
+	 * minPoints points only consist of core points, the core points of one cell are joined without distance tests and
+	 * the clusters of neighbouring cells are joined by a lock free union find which links every root to the smaller one,
+	 * so the result doesn't depend on the order of the threads
+	 * @param xy packed coordinates
+	 * @param radius maximum distance between two neighbours
+	 * @param minPoints number of neighbours (including the point itself) which makes a point a core point
+	 * @return cluster id of every point, {@link #NOISE} for points which aren't reachable from a core point
+	 * @throws IllegalArgumentException if a point isn't finite or the radius is too small for the extent of the points
+	 */
+	public static int[] dbscan(float[] xy, float radius, int minPoints) {
+		if(!(radius > 0)) throw new IllegalArgumentException("The radius must be positive");
+		int n = xy.length / 2;
+		// slightly smaller than radius / sqrt(2), so rounding can't make the diagonal of a cell longer than the radius
+		Grid grid = new Grid(xy, (float) (radius / Math.sqrt(2) * (1 - 1e-6)));
+		float radiusSq = radius * radius;
+		int cells = grid.cells();
+
+		boolean[] core = new boolean[n];
+		IntStream.range(0, cells).parallel().forEach(c -> {
+			boolean full = grid.start[c + 1] - grid.start[c] >= minPoints;
+			for(int i = grid.start[c]; i < grid.start[c + 1]; i++) {
+				int p = grid.items[i];
+				core[p] = full || grid.count(xy, p, radiusSq, minPoints) >= minPoints;
+			}
+		});
+		// moves the core points to the front of their cells
+		int[] coreCount = new int[cells];
+		IntStream.range(0, cells).parallel().forEach(c -> {
+			int first = grid.start[c], count = 0;
+			for(int i = first; i < grid.start[c + 1]; i++) {
+				int p = grid.items[i];
+				if(core[p]) {
+					grid.items[i] = grid.items[first + count];
+					grid.items[first + count++] = p;
+				}
+			}
+			coreCount[c] = count;
+		});
+
+		AtomicIntegerArray parent = new AtomicIntegerArray(n);
+		for(int p = 0; p < n; p++) {
+			parent.set(p, p);
+		}
+		IntStream.range(0, cells).parallel().forEach(c -> {
+			int first = grid.start[c];
+			for(int i = first + 1; i < first + coreCount[c]; i++) {
+				union(parent, grid.items[first], grid.items[i]);
+			}
+		});
+		// every pair of neighbouring cells is visited once, from the cell with the smaller (row, column)
+		IntStream.range(0, cells).parallel().forEach(c -> {
+			if(coreCount[c] == 0) return;
+			int a = grid.start[c];
+			for(int dy = 0; dy <= Grid.REACH; dy++) {
+				for(int dx = -Grid.REACH; dx <= Grid.REACH; dx++) {
+					if(dy == 0 && dx <= 0) continue;
+					int d = grid.find(grid.columns[c] + dx, grid.rows[c] + dy);
+					if(d < 0 || coreCount[d] == 0) continue;
+					int b = grid.start[d];
+					if(find(parent, grid.items[a]) == find(parent, grid.items[b])) continue;
+					search:
+					for(int i = a; i < a + coreCount[c]; i++) {
+						for(int k = b; k < b + coreCount[d]; k++) {
+							if(distanceSquared(xy, grid.items[i], grid.items[k]) <= radiusSq) {
+								union(parent, grid.items[i], grid.items[k]);
+								break search;
+							}
+						}
+					}
+				}
+			}
+		});
+
+		// the root of every cluster is its smallest point
+		int[] ids = new int[n];
+		int[] roots = new int[n];
+		Arrays.fill(roots, NOISE);
+		int clusters = 0;
+		for(int p = 0; p < n; p++) {
+			if(core[p] && parent.get(p) == p) {
+				roots[p] = clusters++;
+			}
+		}
+		// border points join the cluster of any core neighbour
+		IntStream.range(0, n).parallel().forEach(p -> {
+			ids[p] = core[p] ? roots[find(parent, p)] : NOISE;
+			if(core[p]) return;
+			long cx = grid.column(xy[2*p]), cy = grid.row(xy[2*p+1]);
+			for(int dy = -Grid.REACH; dy <= Grid.REACH; dy++) {
+				for(int dx = -Grid.REACH; dx <= Grid.REACH; dx++) {
+					int cell = grid.find(cx + dx, cy + dy);
+					if(cell < 0) continue;
+					for(int i = grid.start[cell]; i < grid.start[cell] + coreCount[cell]; i++) {
+						int q = grid.items[i];
+						if(distanceSquared(xy, p, q) <= radiusSq) {
+							ids[p] = roots[find(parent, q)];
+							return;
+						}
+					}
+				}
+			}
+		});
+		return ids;
+	}
+
+	/**
+	 * finds the root with path halving, the shortcuts are only written if no other thread has changed the link
+	 */
+	private static int find(AtomicIntegerArray parent, int p) {
+		while(true) {
+			int up = parent.get(p);
+			if(up == p) {
+				return p;
+			}
+			int next = parent.get(up);
+			if(next != up) {
+				parent.compareAndSet(p, up, next);
+			}
+			p = next;
+		}
+	}
+
+	/**
+	 * links the larger root to the smaller one, retries if another thread has linked the root in between
+	 */
+	private static void union(AtomicIntegerArray parent, int p, int q) {
+		while(true) {
+			int a = find(parent, p), b = find(parent, q);
+			if(a == b) {
+				return;
+			}
+			if(parent.compareAndSet(Math.max(a, b), Math.max(a, b), Math.min(a, b))) {
+				return;
+			}
+		}
+	}
+
+	private static float distanceSquared(float[] xy, int p, int q) {
+		float dx = xy[2*p] - xy[2*q], dy = xy[2*p+1] - xy[2*q+1];
+		return dx * dx + dy * dy;
+	}
+
+	/**
+	 * k-means++ seeding: every further center is chosen with a probability proportional to the squared distance to the nearest chosen one
+	 * @param xy packed coordinates
+	 * @param k number of centers
+	 * @param random
+	 * @return packed coordinates of the initial centers
+	 */
+	public static float[] seeds(float[] xy, int k, Random random) {
+		int n = xy.length / 2;
+		if(k <= 0 || k > n) throw new IllegalArgumentException("The number of centers must be between 1 and the number of points");
+		float[] centers = new float[2 * k];
+		double[] nearest = new double[n];
+		Arrays.fill(nearest, Double.POSITIVE_INFINITY);
+		int chosen = random.nextInt(n);
+		for(int c = 0; c < k; c++) {
+			centers[2*c] = xy[2*chosen];
+			centers[2*c+1] = xy[2*chosen+1];
+			if(c + 1 == k) break;
+			double total = 0;
+			for(int p = 0; p < n; p++) {
+				double dx = xy[2*p] - centers[2*c], dy = xy[2*p+1] - centers[2*c+1];
+				nearest[p] = Math.min(nearest[p], dx * dx + dy * dy);
+				total += nearest[p];
+			}
+			double target = random.nextDouble() * total;
+			chosen = n - 1;
+			for(int p = 0; p < n; p++) {
+				target -= nearest[p];
+				if(target < 0) {
+					chosen = p;
+					break;
+				}
+			}
+		}
+		return centers;
+	}
+
+	/**
+	 * Lloyd's algorithm, the points are assigned in parallel and the new centers are summed up in parallel chunks
+	 * @param xy packed coordinates
+	 * @param centers packed coordinates of the initial centers, receives the final centers
+	 * @param maxIterations upper limit of the iterations if the assignment doesn't converge earlier
+	 * @return index of the nearest final center for every point
+	 */
+	public static int[] kMeans(float[] xy, float[] centers, int maxIterations) {
+		int n = xy.length / 2, k = centers.length / 2;
+		if(k == 0) throw new IllegalArgumentException("At least one center is required");
+		int[] ids = new int[n];
+		Arrays.fill(ids, NOISE);
+		int chunks = (n + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		for(int iteration = 0; iteration < maxIterations; iteration++) {
+			if(assign(xy, centers, ids) == 0) {
+				return ids;
+			}
+			// x sum, y sum and count of every cluster
+			double[] sums = IntStream.range(0, chunks).parallel().mapToObj(chunk -> {
+				double[] partial = new double[3 * k];
+				for(int p = chunk * CHUNK_SIZE, end = Math.min(p + CHUNK_SIZE, n); p < end; p++) {
+					partial[3*ids[p]] += xy[2*p];
+					partial[3*ids[p]+1] += xy[2*p+1];
+					partial[3*ids[p]+2]++;
+				}
+				return partial;
+			}).reduce(new double[3 * k], (a, b) -> {
+				double[] sum = new double[3 * k];
+				for(int i = 0; i < sum.length; i++) sum[i] = a[i] + b[i];
+				return sum;
+			});
+			for(int c = 0; c < k; c++) {
+				if(sums[3*c+2] > 0) { // an empty cluster keeps its center
+					centers[2*c] = (float) (sums[3*c] / sums[3*c+2]);
+					centers[2*c+1] = (float) (sums[3*c+1] / sums[3*c+2]);
+				}
+			}
+		}
+		// the iterations ran out after the centers had moved, so the points are assigned to the final centers
+		assign(xy, centers, ids);
+		return ids;
+	}
+
+	/**
+	 * assigns every point to its nearest center in parallel
+	 * @return number of points whose center has changed
+	 */
+	private static int assign(float[] xy, float[] centers, int[] ids) {
+		int k = centers.length / 2;
+		return IntStream.range(0, ids.length).parallel().map(p -> {
+			int nearest = nearestCenter(xy[2*p], xy[2*p+1], centers, k);
+			if(nearest == ids[p]) return 0;
+			ids[p] = nearest;
+			return 1;
+		}).sum();
+	}
+
+	/**
+	 * @param xy packed coordinates
+	 * @param k number of clusters
+	 * @param maxIterations upper limit of the iterations
+	 * @param random for the k-means++ seeding
+	 * @return index of the cluster of every point
+	 */
+	public static int[] kMeans(float[] xy, int k, int maxIterations, Random random) {
+		return kMeans(xy, seeds(xy, k, random), maxIterations);
+	}
+
+	private static int nearestCenter(float x, float y, float[] centers, int k) {
+		int nearest = 0;
+		float best = Float.POSITIVE_INFINITY;
+		for(int c = 0; c < k; c++) {
+			float dx = centers[2*c] - x, dy = centers[2*c+1] - y;
+			float distance = dx * dx + dy * dy;
+			if(distance < best) {
+				best = distance;
+				nearest = c;
+			}
+		}
+		return nearest;
+	}
+
+	/**
+	 * @param xy packed coordinates
+	 * @param ids cluster id of every point
+	 * @return convex hull of every cluster by id, null for clusters whose points are collinear
+	 */
+	public static Polygon[] hulls(float[] xy, int[] ids) {
+		int clusters = 0;
+		for(int id : ids) {
+			clusters = Math.max(clusters, id + 1);
+		}
+		int[] start = new int[clusters + 1];
+		for(int id : ids) {
+			if(id >= 0) start[id + 1]++;
+		}
+		for(int c = 0; c < clusters; c++) {
+			start[c + 1] += start[c];
+		}
+		float[] grouped = new float[2 * start[clusters]];
+		int[] next = start.clone();
+		for(int p = 0; p < ids.length; p++) {
+			if(ids[p] < 0) continue;
+			int i = next[ids[p]]++;
+			grouped[2*i] = xy[2*p];
+			grouped[2*i+1] = xy[2*p+1];
+		}
+		Polygon[] hulls = new Polygon[clusters];
+		IntStream.range(0, clusters).parallel().forEach(c -> {
+			float[] hull = ConvexHull.coordinates(Arrays.copyOfRange(grouped, 2 * start[c], 2 * start[c + 1]));
+			if(hull.length >= 6) {
+				hulls[c] = new Polygon(Coordinates.toVectors(hull));
+			}
+		});
+		return hulls;
+	}
+
+	/**
+	 * points bucketed by square cells, the occupied cells are found by open addressing on their coordinates
+	 */
+	private static final class Grid {
+		static final int REACH = 2; // cells of radius / sqrt(2) around a point which can contain neighbours
+
+		private static final double MAX_CELLS = 0x1p62; // per axis, so the neighbour offsets can't overflow
+
+		private final float originX, originY, size;
+		private final long[] keyColumns, keyRows;
+		private final int[] slots; // cell of each hash slot, -1 if the slot is free
+		final int[] start, items;
+		final long[] columns, rows; // grid coordinates of each cell
+
+		/**
+		 * @throws IllegalArgumentException if a point isn't finite or there would be too many cells
+		 */
+		Grid(float[] xy, float size) {
+			int n = xy.length / 2;
+			float x0 = Float.POSITIVE_INFINITY, y0 = Float.POSITIVE_INFINITY;
+			float x1 = Float.NEGATIVE_INFINITY, y1 = Float.NEGATIVE_INFINITY;
+			for(int p = 0; p < n; p++) {
+				float x = xy[2*p], y = xy[2*p+1];
+				if(!Float.isFinite(x) || !Float.isFinite(y)) throw new IllegalArgumentException("The points must be finite");
+				x0 = Math.min(x0, x);
+				x1 = Math.max(x1, x);
+				y0 = Math.min(y0, y);
+				y1 = Math.max(y1, y);
+			}
+			if(((double) x1 - x0) / size >= MAX_CELLS || ((double) y1 - y0) / size >= MAX_CELLS) {
+				throw new IllegalArgumentException("The radius is too small for the extent of the points");
+			}
+			this.originX = x0;
+			this.originY = y0;
+			this.size = size;
+			int capacity = Integer.highestOneBit(Math.max(2 * n, 2)) << 1;
+			this.keyColumns = new long[capacity];
+			this.keyRows = new long[capacity];
+			this.slots = new int[capacity];
+			Arrays.fill(slots, -1);
+
+			int[] cellOf = new int[n];
+			int[] counts = new int[n + 1];
+			long[] columns = new long[n], rows = new long[n];
+			int cells = 0;
+			for(int p = 0; p < n; p++) {
+				long column = this.column(xy[2*p]), row = this.row(xy[2*p+1]);
+				int slot = this.slot(column, row);
+				if(slots[slot] < 0) {
+					keyColumns[slot] = column;
+					keyRows[slot] = row;
+					columns[cells] = column;
+					rows[cells] = row;
+					slots[slot] = cells++;
+				}
+				cellOf[p] = slots[slot];
+				counts[cellOf[p] + 1]++;
+			}
+			for(int c = 0; c < cells; c++) {
+				counts[c + 1] += counts[c];
+			}
+			this.start = Arrays.copyOf(counts, cells + 1);
+			this.columns = Arrays.copyOf(columns, cells);
+			this.rows = Arrays.copyOf(rows, cells);
+			this.items = new int[n];
+			for(int p = 0; p < n; p++) {
+				items[counts[cellOf[p]]++] = p;
+			}
+		}
+
+		long column(float x) {
+			return (long) Math.floor(((double) x - originX) / size);
+		}
+
+		long row(float y) {
+			return (long) Math.floor(((double) y - originY) / size);
+		}
+
+		/**
+		 * @return the slot of the cell or the free slot where it would be inserted
+		 */
+		private int slot(long column, long row) {
+			long hash = (column * 0x9E3779B97F4A7C15L + row) * 0xC2B2AE3D27D4EB4FL;
+			int mask = slots.length - 1;
+			int slot = (int) (hash >>> 32) & mask;
+			while(slots[slot] >= 0 && (keyColumns[slot] != column || keyRows[slot] != row)) {
+				slot = (slot + 1) & mask;
+			}
+			return slot;
+		}
+
+		/**
+		 * @return the cell at the given grid coordinates, -1 if it is empty
+		 */
+		int find(long column, long row) {
+			return slots[this.slot(column, row)];
+		}
+
+		/**
+		 * @return number of occupied cells
+		 */
+		int cells() {
+			return columns.length;
+		}
+
+		/**
+		 * @return number of points within the radius, counting stops at the limit
+		 */
+		int count(float[] xy, int p, float radiusSq, int limit) {
+			long cx = this.column(xy[2*p]), cy = this.row(xy[2*p+1]);
+			int count = 0;
+			for(int dy = -REACH; dy <= REACH; dy++) {
+				for(int dx = -REACH; dx <= REACH; dx++) {
+					int cell = this.find(cx + dx, cy + dy);
+					if(cell < 0) continue;
+					for(int i = start[cell]; i < start[cell + 1]; i++) {
+						if(distanceSquared(xy, p, items[i]) <= radiusSq && ++count >= limit) {
+							return count;
+						}
+					}
+				}
+			}
+			return count;
+		}
+	}
+
+}
@@ -0,0 +1,102 @@
+package io.github.voidc.vectometry.algorithm;
+
+import java.util.Arrays;
+
+import io.github.voidc.vectometry.Polygon;
+import io.github.voidc.vectometry.util.Coordinates;
+
+/**
+ * convex hull of point sets
+ */
+public final class ConvexHull {
+
+	private ConvexHull() {}
+
+	/**
+	 * Andrew's monotone chain algorithm, collinear points on the hull are omitted
+	 * @param xy packed coordinates
+	 * @return indices of the hull vertices in counter clockwise order
+	 */
+	public static int[] indices(float[] xy) {
+		int n = xy.length / 2;
+		Integer[] sorted = new Integer[n];
+		for(int i = 0; i < n; i++) {
+			sorted[i] = i;
+		}
+		Arrays.sort(sorted, (p, q) -> {
+			int cmp = Float.compare(xy[2*p], xy[2*q]);
+			return cmp != 0 ? cmp : Float.compare(xy[2*p+1], xy[2*q+1]);
+		});
+		if(n < 3) {
+			int[] hull = new int[n];
+			for(int i = 0; i < n; i++) hull[i] = sorted[i];
+			return n == 2 && xy[2*hull[0]] == xy[2*hull[1]] && xy[2*hull[0]+1] == xy[2*hull[1]+1] ? new int[] {hull[0]} : hull;
+		}
+		int[] hull = new int[2 * n];
+		int k = 0;
+		for(int i = 0; i < n; i++) { // lower hull
+			int p = sorted[i];
+			while(k >= 2 && Triangulation.orientation(xy, hull[k-2], hull[k-1], p) <= 0) k--;
+			hull[k++] = p;
+		}
+		for(int i = n - 2, lower = k + 1; i >= 0; i--) { // upper hull
+			int p = sorted[i];
+			while(k >= lower && Triangulation.orientation(xy, hull[k-2], hull[k-1], p) <= 0) k--;
+			hull[k++] = p;
+		}
+		return Arrays.copyOf(hull, Math.max(k - 1, 1));
+	}
+
+	/**
+	 * returns a copy of the ring in linear time if it is already strictly convex
+	 * @param xy packed coordinates
+	 * @return packed coordinates of the hull vertices in counter clockwise order
+	 */
+	public static float[] coordinates(float[] xy) {
+		int n = xy.length / 2;
+		int turn = n >= 3 ? convexity(xy, n) : 0;
+		if(turn > 0) {
+			return Arrays.copyOf(xy, 2 * n);
+		}
+		if(turn < 0) {
+			return Coordinates.reverse(Arrays.copyOf(xy, 2 * n));
+		}
+		int[] indices = indices(xy);
+		float[] hull = new float[2 * indices.length];
+		for(int i = 0; i < indices.length; i++) {
+			hull[2*i] = xy[2*indices[i]];
+			hull[2*i+1] = xy[2*indices[i]+1];
+		}
+		return hull;
+	}
+
+	/**
+	 * @param poly
+	 * @return the convex hull of the polygon
+	 */
+	public static Polygon of(Polygon poly) {
+		return new Polygon(Coordinates.toVectors(coordinates(poly.coordinates())));
+	}
+
+	/**
+	 * @return 1 if the ring is strictly convex and counter clockwise, -1 if it is strictly convex and clockwise, otherwise 0
+	 */
+	private static int convexity(float[] xy, int n) {
+		int sign = 0;
+		double turning = 0;
+		for(int a = n - 2, b = n - 1, c = 0; c < n; a = b, b = c++) {
+			double orientation = Triangulation.orientation(xy, a, b, c);
+			int s = orientation > 0 ? 1 : orientation < 0 ? -1 : 0;
+			if(s == 0 || (sign != 0 && s != sign)) {
+				return 0;
+			}
+			sign = s;
+			double ux = (double) xy[2*b] - xy[2*a], uy = (double) xy[2*b+1] - xy[2*a+1];
+			double vx = (double) xy[2*c] - xy[2*b], vy = (double) xy[2*c+1] - xy[2*b+1];
+			turning += Math.atan2(ux * vy - uy * vx, ux * vx + uy * vy);
+		}
+		// a star polygon turns in the same direction at every vertex, but more than once around
+		return Math.abs(turning) < 3 * Math.PI ? sign : 0;
+	}
+
+}
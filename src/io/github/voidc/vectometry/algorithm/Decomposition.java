@@ -0,0 +1,173 @@
+package io.github.voidc.vectometry.algorithm;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import io.github.voidc.vectometry.Polygon;
+import io.github.voidc.vectometry.Vector;
+import io.github.voidc.vectometry.util.Coordinates;
+
+/**
+ * diagonals and convex decomposition of polygons
+ */
+public final class Decomposition {
+
+	private Decomposition() {}
+
+	/**
+	 * @param n number of vertices
+	 * @return all pairs of non adjacent vertex indices packed as {i0, j0, i1, j1, ...} with i &lt; j
+	 */
+	public static int[] diagonalIndices(int n) {
+		if(n <= 3) {
+			return new int[0];
+		}
+		int[] pairs = new int[n * (n - 3)];
+		int k = 0;
+		for(int i = 0; i < n; i++) {
+			for(int j = i + 2; j < n; j++) {
+				if(i == 0 && j == n - 1) continue;
+				pairs[k++] = i;
+				pairs[k++] = j;
+			}
+		}
+		return pairs;
+	}
+
+	/**
+	 * Hertel-Mehlhorn decomposition: triangulates the polygon and removes every diagonal which isn't needed for convexity
+	 * the result has at most four times as many parts as the optimal convex decomposition
+	 * @param xy packed coordinates of a simple ring
+	 * @return the vertex indices of each counter clockwise convex part
+	 */
+	public static List<int[]> convexPartIndices(float[] xy) {
+		int n = xy.length / 2;
+		List<int[]> parts = new ArrayList<int[]>();
+		boolean ccw = Coordinates.signedArea(xy, n) >= 0;
+		if(isConvex(xy)) {
+			int[] all = new int[n];
+			for(int v = 0; v < n; v++) {
+				all[v] = ccw ? v : n - 1 - v;
+			}
+			parts.add(all);
+			return parts;
+		}
+
+		int[] triangles = Triangulation.earClipping(xy);
+		int count = triangles.length / 3;
+		int[][] pieces = new int[count][];
+		int[] parent = new int[count];
+		HashMap<Long, int[]> edges = new HashMap<Long, int[]>();
+		List<Long> diagonals = new ArrayList<Long>();
+		for(int t = 0; t < count; t++) {
+			pieces[t] = new int[] {triangles[3*t], triangles[3*t+1], triangles[3*t+2]};
+			parent[t] = t;
+			for(int c = 0; c < 3; c++) {
+				int a = triangles[3*t + c], b = triangles[3*t + (c + 1) % 3];
+				long key = a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+				int[] adjacent = edges.get(key);
+				if(adjacent == null) {
+					edges.put(key, new int[] {t, -1});
+				} else {
+					adjacent[1] = t;
+					diagonals.add(key);
+				}
+			}
+		}
+
+		for(long key : diagonals) {
+			int[] adjacent = edges.get(key);
+			int p = find(parent, adjacent[0]), q = find(parent, adjacent[1]);
+			int[] merged = merge(xy, pieces[p], pieces[q], (int) (key >>> 32), (int) key);
+			if(merged != null) {
+				pieces[p] = merged;
+				pieces[q] = null;
+				parent[q] = p;
+			}
+		}
+		for(int[] piece : pieces) {
+			if(piece != null) parts.add(piece);
+		}
+		return parts;
+	}
+
+	/**
+	 * @return the united piece if it is convex at both ends of the shared diagonal, otherwise null
+	 */
+	private static int[] merge(float[] xy, int[] a, int[] b, int u, int v) {
+		int posA = indexOf(a, u);
+		int i = u, j = v;
+		if(a[(posA + 1) % a.length] != v) { // the piece a runs from v to u
+			i = v;
+			j = u;
+			posA = indexOf(a, i);
+		}
+		// a contains i -> j, b contains j -> i
+		int posB = indexOf(b, i);
+		int[] merged = new int[a.length + b.length - 2];
+		int k = 0;
+		int posJ = (posA + 1) % a.length;
+		for(int s = 0; s < a.length; s++) {
+			merged[k++] = a[(posJ + s) % a.length];
+		}
+		for(int s = 1; s < b.length - 1; s++) {
+			merged[k++] = b[(posB + s) % b.length];
+		}
+		// merged = j ... i, b-path; i sits at index a.length - 1, j at index 0
+		int m = merged.length;
+		int at = a.length - 1;
+		if(Triangulation.orientation(xy, merged[at - 1], merged[at], merged[(at + 1) % m]) < 0
+				|| Triangulation.orientation(xy, merged[m - 1], merged[0], merged[1]) < 0) {
+			return null;
+		}
+		return merged;
+	}
+
+	private static int indexOf(int[] piece, int vertex) {
+		for(int i = 0; i < piece.length; i++) {
+			if(piece[i] == vertex) return i;
+		}
+		return -1;
+	}
+
+	private static int find(int[] parent, int i) {
+		while(parent[i] != i) {
+			parent[i] = parent[parent[i]];
+			i = parent[i];
+		}
+		return i;
+	}
+
+	private static boolean isConvex(float[] xy) {
+		int n = xy.length / 2;
+		int sign = 0;
+		for(int v = 0; v < n; v++) {
+			double o = Triangulation.orientation(xy, v, (v + 1) % n, (v + 2) % n);
+			if(o != 0) {
+				if(sign != 0 && (o > 0 ? 1 : -1) != sign) return false;
+				sign = o > 0 ? 1 : -1;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param poly simple polygon
+	 * @return counter clockwise convex polygons which cover the polygon without overlapping
+	 * @see #convexPartIndices(float[])
+	 */
+	public static List<Polygon> convexParts(Polygon poly) {
+		List<int[]> indices = convexPartIndices(poly.coordinates());
+		List<Polygon> parts = new ArrayList<Polygon>(indices.size());
+		for(int[] part : indices) {
+			Vector[] vtc = new Vector[part.length];
+			for(int i = 0; i < part.length; i++) {
+				vtc[i] = poly.vertices[part[i]];
+			}
+			parts.add(new Polygon(vtc));
+		}
+		return parts;
+	}
+
+}
@@ -0,0 +1,510 @@
+package io.github.voidc.vectometry.algorithm;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import io.github.voidc.vectometry.Polygon;
+import io.github.voidc.vectometry.Rectangle;
+import io.github.voidc.vectometry.Vector;
+import io.github.voidc.vectometry.util.Coordinates;
+import io.github.voidc.vectometry.util.FloatList;
+
+/**
+ * Delaunay triangulation of a point set built incrementally with the Bowyer-Watson algorithm
+ * <p>
+ * the points are inserted in the order of a Hilbert curve, so that locating the triangle of the next point only walks a few steps.
+ * all decisions are made with the robust {@link Predicates}. the vertices of the super triangle lie at infinity and are
+ * handled symbolically, so the triangles cover the whole convex hull. duplicate points are skipped and have no triangles.
+ * if all points lie on one line there are no triangles, then each point is connected to its neighbours along the line,
+ * so nearest point queries still work and the Voronoi cells become slabs
+ */
+public class Delaunay {
+	private static final int HILBERT_ORDER = 16;
+	// the vertex n + i of the super triangle is the point (cx, cy) + M * (SUPER_X[i], SUPER_Y[i]) for an infinitely large M
+	private static final int[] SUPER_X = {-2, 2, 0}, SUPER_Y = {-1, -1, 1};
+
+	private final double[] xy;
+	private final int n;
+	private final double cx, cy; // finite part of the super vertices, only matters for ties
+	private int[] tv; // the vertices of each triangle in counter clockwise order
+	private int[] tn; // the neighbour across the edge from vertex k to vertex k+1, -1 if there is none
+	private int triangleCount;
+	private int[] free = new int[16];
+	private int freeCount;
+	private int last;
+	private int[] triangles;
+	private int[] neighborStart, neighbors;
+	private final boolean[] duplicate;
+
+	private Delaunay(float[] points) {
+		this.n = points.length / 2;
+		this.xy = new double[n * 2];
+		this.duplicate = new boolean[n];
+		double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+		for(int i = 0; i < n * 2; i += 2) {
+			xy[i] = points[i];
+			xy[i+1] = points[i+1];
+			minX = Math.min(minX, points[i]);
+			maxX = Math.max(maxX, points[i]);
+			minY = Math.min(minY, points[i+1]);
+			maxY = Math.max(maxY, points[i+1]);
+		}
+		if(n == 0) {
+			minX = minY = maxX = maxY = 0;
+		}
+		double size = Math.max(Math.max(maxX - minX, maxY - minY), 1);
+		// off the center, so that the super vertices are unlikely to be collinear with two points of a grid
+		this.cx = minX + 0.4142135 * size;
+		this.cy = minY + 0.7320508 * size;
+
+		int capacity = 2 * n + 16;
+		tv = new int[capacity * 3];
+		tn = new int[capacity * 3];
+		int t = newTriangle();
+		set(t, n, n + 1, n + 2, -1, -1, -1);
+		last = t;
+
+		int[] order = hilbertOrder(minX, minY, size);
+		int[] startOf = new int[n + 3];
+		Arrays.fill(startOf, -1);
+		int[] cavity = new int[64];
+		int[] edges = new int[64 * 3];
+		for(int p : order) {
+			this.insert(p, startOf, cavity, edges);
+		}
+		this.collect();
+	}
+
+	/**
+	 * @param points packed coordinates
+	 * @return the Delaunay triangulation of the points
+	 */
+	public static Delaunay triangulate(float[] points) {
+		return new Delaunay(points);
+	}
+
+	/**
+	 * @param points
+	 * @return the Delaunay triangulation of the points
+	 */
+	public static Delaunay triangulate(Vector[] points) {
+		return new Delaunay(Coordinates.of(points));
+	}
+
+	private int[] hilbertOrder(double minX, double minY, double size) {
+		long[] keys = new long[n];
+		double scale = ((1 << HILBERT_ORDER) - 1) / size;
+		for(int i = 0; i < n; i++) {
+			int hx = (int) ((xy[2*i] - minX) * scale);
+			int hy = (int) ((xy[2*i+1] - minY) * scale);
+			keys[i] = ((long) hilbert(hx, hy) << 32) | i;
+		}
+		Arrays.sort(keys);
+		int[] order = new int[n];
+		for(int i = 0; i < n; i++) {
+			order[i] = (int) keys[i];
+		}
+		return order;
+	}
+
+	/**
+	 * @return position of the grid cell on the Hilbert curve
+	 */
+	private static int hilbert(int x, int y) {
+		int d = 0;
+		for(int s = 1 << (HILBERT_ORDER - 1); s > 0; s >>= 1) {
+			int rx = (x & s) > 0 ? 1 : 0;
+			int ry = (y & s) > 0 ? 1 : 0;
+			d += s * s * ((3 * rx) ^ ry);
+			if(ry == 0) {
+				if(rx == 1) {
+					x = s - 1 - x;
+					y = s - 1 - y;
+				}
+				int tmp = x;
+				x = y;
+				y = tmp;
+			}
+		}
+		return d;
+	}
+
+	private int newTriangle() {
+		if(freeCount > 0) {
+			return free[--freeCount];
+		}
+		if((triangleCount + 1) * 3 > tv.length) {
+			tv = Arrays.copyOf(tv, tv.length * 2);
+			tn = Arrays.copyOf(tn, tn.length * 2);
+		}
+		return triangleCount++;
+	}
+
+	private void set(int t, int a, int b, int c, int na, int nb, int nc) {
+		tv[3*t] = a;
+		tv[3*t+1] = b;
+		tv[3*t+2] = c;
+		tn[3*t] = na;
+		tn[3*t+1] = nb;
+		tn[3*t+2] = nc;
+	}
+
+	private double orient(int a, int b, double px, double py) {
+		if(a < n && b < n) {
+			return Predicates.orient(xy[2*a], xy[2*a+1], xy[2*b], xy[2*b+1], px, py);
+		} else if(a >= n && b >= n) { // the edge of the super triangle has every point on its inner side
+			return SUPER_X[a-n] * SUPER_Y[b-n] - SUPER_Y[a-n] * SUPER_X[b-n];
+		}
+		// the term which grows with M only depends on the direction of the super vertex
+		double sign = a >= n
+				? -Predicates.side(SUPER_X[a-n], SUPER_Y[a-n], xy[2*b], xy[2*b+1], px, py)
+				: Predicates.side(SUPER_X[b-n], SUPER_Y[b-n], xy[2*a], xy[2*a+1], px, py);
+		return sign != 0 ? sign : Predicates.orientAtInfinity(this.symbolic(a, b, -1, px, py));
+	}
+
+	private boolean inCircle(int t, double px, double py) {
+		int a = tv[3*t], b = tv[3*t+1], c = tv[3*t+2];
+		int infinite = (a >= n ? 1 : 0) + (b >= n ? 1 : 0) + (c >= n ? 1 : 0);
+		if(infinite == 0) {
+			return Predicates.inCircle(xy[2*a], xy[2*a+1], xy[2*b], xy[2*b+1], xy[2*c], xy[2*c+1], px, py) > 0;
+		} else if(infinite == 3) {
+			return true;
+		}
+		// rotate the corners, so that c is infinite and a is finite
+		while(c < n || a >= n) {
+			int tmp = a;
+			a = b;
+			b = c;
+			c = tmp;
+		}
+		double sign;
+		if(infinite == 1) { // the circle becomes the half plane to the left of a b
+			sign = Predicates.orient(xy[2*a], xy[2*a+1], xy[2*b], xy[2*b+1], px, py);
+		} else { // the circle becomes the half plane through a which is normal to g
+			double bx = SUPER_X[b-n], by = SUPER_Y[b-n], dx = SUPER_X[c-n], dy = SUPER_Y[c-n];
+			double gx = by * (dx * dx + dy * dy) - dy * (bx * bx + by * by);
+			double gy = dx * (bx * bx + by * by) - bx * (dx * dx + dy * dy);
+			sign = Predicates.side(gy, -gx, px, py, xy[2*a], xy[2*a+1]);
+		}
+		return sign != 0 ? sign > 0 : Predicates.inCircleAtInfinity(this.symbolic(a, b, c, px, py)) > 0;
+	}
+
+	/**
+	 * @param c -1 if there are only two vertices
+	 * @return the vertices followed by the point as x, y, dx, dy for {@link Predicates#orientAtInfinity}
+	 */
+	private double[] symbolic(int a, int b, int c, double px, double py) {
+		int[] vertices = c < 0 ? new int[] {a, b} : new int[] {a, b, c};
+		double[] points = new double[4 * vertices.length + 4];
+		for(int i = 0; i < vertices.length; i++) {
+			int v = vertices[i];
+			points[4*i] = v < n ? xy[2*v] : cx;
+			points[4*i+1] = v < n ? xy[2*v+1] : cy;
+			points[4*i+2] = v < n ? 0 : SUPER_X[v-n];
+			points[4*i+3] = v < n ? 0 : SUPER_Y[v-n];
+		}
+		points[4*vertices.length] = px;
+		points[4*vertices.length+1] = py;
+		return points;
+	}
+
+	/**
+	 * walks from the last created triangle towards the point
+	 * @return the triangle which contains the point
+	 */
+	private int locate(double px, double py) {
+		int t = last;
+		int rotation = 0;
+		walk:
+		while(true) {
+			rotation = (rotation + 1) % 3;
+			for(int i = 0; i < 3; i++) {
+				int k = (i + rotation) % 3;
+				if(orient(tv[3*t+k], tv[3*t+(k+1)%3], px, py) < 0) {
+					t = tn[3*t+k];
+					continue walk;
+				}
+			}
+			return t;
+		}
+	}
+
+	private void insert(int p, int[] startOf, int[] cavity, int[] edges) {
+		double px = xy[2*p], py = xy[2*p+1];
+		int t = locate(px, py);
+		for(int k = 0; k < 3; k++) {
+			int v = tv[3*t+k];
+			if(v < n && xy[2*v] == px && xy[2*v+1] == py) {
+				duplicate[p] = true;
+				return;
+			}
+		}
+
+		// collect the triangles whose circumcircle contains the point
+		int size = 0;
+		cavity[size++] = t;
+		tv[3*t] = ~tv[3*t]; // marks the triangle as part of the cavity
+		int edgeCount = 0;
+		for(int i = 0; i < size; i++) {
+			int c = cavity[i];
+			for(int k = 0; k < 3; k++) {
+				int o = tn[3*c+k];
+				if(o >= 0 && tv[3*o] < 0) continue;
+				if(o >= 0 && inCircle(o, px, py)) {
+					if(size == cavity.length) cavity = Arrays.copyOf(cavity, size * 2);
+					cavity[size++] = o;
+					tv[3*o] = ~tv[3*o];
+				} else {
+					if((edgeCount + 1) * 3 > edges.length) edges = Arrays.copyOf(edges, edges.length * 2);
+					edges[3*edgeCount] = vertex(c, k);
+					edges[3*edgeCount+1] = vertex(c, (k + 1) % 3);
+					edges[3*edgeCount+2] = o;
+					edgeCount++;
+				}
+			}
+		}
+		for(int i = 0; i < size; i++) {
+			if(freeCount == free.length) free = Arrays.copyOf(free, freeCount * 2);
+			free[freeCount++] = cavity[i];
+		}
+
+		// connect the point to every edge on the border of the cavity
+		int first = -1;
+		for(int e = 0; e < edgeCount; e++) {
+			int a = edges[3*e], b = edges[3*e+1], o = edges[3*e+2];
+			int nt = newTriangle();
+			set(nt, a, b, p, o, -1, -1);
+			startOf[a] = nt;
+			if(o >= 0) {
+				for(int k = 0; k < 3; k++) {
+					if(tv[3*o+k] == b && tv[3*o+(k+1)%3] == a) {
+						tn[3*o+k] = nt;
+						break;
+					}
+				}
+			}
+			if(first < 0) first = nt;
+		}
+		for(int e = 0; e < edgeCount; e++) {
+			int a = edges[3*e], b = edges[3*e+1];
+			int nt = startOf[a];
+			tn[3*nt+1] = startOf[b];
+			tn[3*startOf[b]+2] = nt;
+		}
+		last = first;
+	}
+
+	private int vertex(int t, int k) {
+		int v = tv[3*t+k];
+		return v < 0 ? ~v : v;
+	}
+
+	/**
+	 * removes the free triangles and all triangles which touch the super triangle and builds the neighbour lists of the points
+	 */
+	private void collect() {
+		boolean[] kept = new boolean[triangleCount];
+		Arrays.fill(kept, true);
+		for(int f = 0; f < freeCount; f++) {
+			kept[free[f]] = false;
+		}
+		int count = 0;
+		for(int t = 0; t < triangleCount; t++) {
+			if(tv[3*t] >= n || tv[3*t+1] >= n || tv[3*t+2] >= n) kept[t] = false;
+			if(kept[t]) count++;
+		}
+		if(count == 0) {
+			this.collectLine();
+			return;
+		}
+		triangles = new int[count * 3];
+		neighborStart = new int[n + 1];
+		int i = 0;
+		for(int t = 0; t < triangleCount; t++) {
+			if(!kept[t]) continue;
+			for(int k = 0; k < 3; k++) {
+				triangles[i++] = tv[3*t+k];
+				if(isFirstSide(kept, t, k)) {
+					neighborStart[tv[3*t+k] + 1]++;
+					neighborStart[tv[3*t+(k+1)%3] + 1]++;
+				}
+			}
+		}
+		for(int v = 0; v < n; v++) {
+			neighborStart[v + 1] += neighborStart[v];
+		}
+		neighbors = new int[neighborStart[n]];
+		int[] fill = Arrays.copyOf(neighborStart, n);
+		for(int t = 0; t < triangleCount; t++) {
+			if(!kept[t]) continue;
+			for(int k = 0; k < 3; k++) {
+				if(isFirstSide(kept, t, k)) {
+					int a = tv[3*t+k], b = tv[3*t+(k+1)%3];
+					neighbors[fill[a]++] = b;
+					neighbors[fill[b]++] = a;
+				}
+			}
+		}
+		this.tv = null;
+		this.tn = null;
+		this.free = null;
+	}
+
+	/**
+	 * without triangles all distinct points are collinear, they are sorted along the line (by x or by y if the line is
+	 * vertical) and each one is connected to the points before and after it
+	 */
+	private void collectLine() {
+		this.tv = null;
+		this.tn = null;
+		this.free = null;
+		triangles = new int[0];
+		long[] keys = new long[n];
+		int count = 0;
+		boolean vertical = true;
+		for(int i = 0; i < n; i++) {
+			if(duplicate[i]) continue;
+			keys[count++] = i;
+			vertical &= xy[2*i] == xy[0];
+		}
+		int axis = vertical ? 1 : 0;
+		for(int i = 0; i < count; i++) {
+			int p = (int) keys[i];
+			keys[i] = ((long) sortable((float) xy[2*p+axis]) << 32) | p;
+		}
+		Arrays.sort(keys, 0, count);
+		neighborStart = new int[n + 1];
+		for(int i = 0; i < count; i++) {
+			neighborStart[(int) keys[i] + 1] = (i > 0 ? 1 : 0) + (i + 1 < count ? 1 : 0);
+		}
+		for(int v = 0; v < n; v++) {
+			neighborStart[v + 1] += neighborStart[v];
+		}
+		neighbors = new int[neighborStart[n]];
+		for(int i = 0; i < count; i++) {
+			int p = (int) keys[i], fill = neighborStart[p];
+			if(i > 0) neighbors[fill++] = (int) keys[i - 1];
+			if(i + 1 < count) neighbors[fill] = (int) keys[i + 1];
+		}
+	}
+
+	/**
+	 * @return int whose signed order matches the order of the floats
+	 */
+	private static int sortable(float value) {
+		int bits = Float.floatToIntBits(value);
+		return bits ^ ((bits >> 31) & 0x7fffffff);
+	}
+
+	/**
+	 * @return true if the edge is only stored by this triangle or the other triangle has the larger index
+	 */
+	private boolean isFirstSide(boolean[] kept, int t, int k) {
+		int o = tn[3*t+k];
+		return o < 0 || !kept[o] || t < o;
+	}
+
+	/**
+	 * @return indices of the triangle corners, three per triangle in counter clockwise order
+	 */
+	public int[] triangles() {
+		return triangles.clone();
+	}
+
+	/**
+	 * @return number of triangles
+	 */
+	public int size() {
+		return triangles.length / 3;
+	}
+
+	/**
+	 * @param point index
+	 * @return the indices of all points which are connected to the given point by a Delaunay edge
+	 */
+	public int[] neighbors(int point) {
+		return Arrays.copyOfRange(neighbors, neighborStart[point], neighborStart[point + 1]);
+	}
+
+	/**
+	 * walks greedily along the Delaunay edges towards the given point, which always ends at the nearest site
+	 * @param x
+	 * @param y
+	 * @param start index of a point which isn't a duplicate where the walk starts, e.g. the result of the previous query
+	 * @return index of the point which is nearest to the given point
+	 */
+	public int nearest(float x, float y, int start) {
+		int current = start;
+		double best = distanceSquared(current, x, y);
+		boolean moved = true;
+		while(moved) {
+			moved = false;
+			for(int i = neighborStart[current]; i < neighborStart[current + 1]; i++) {
+				double d = distanceSquared(neighbors[i], x, y);
+				if(d < best) {
+					best = d;
+					current = neighbors[i];
+					moved = true;
+				}
+			}
+		}
+		return current;
+	}
+
+	private double distanceSquared(int point, float x, float y) {
+		double dx = xy[2*point] - x, dy = xy[2*point+1] - y;
+		return dx * dx + dy * dy;
+	}
+
+	/**
+	 * clips the bounds with the bisectors to all Delaunay neighbours of each point, the cells are computed in parallel
+	 * @param bounds axis aligned rectangle
+	 * @return the Voronoi cell of each point or null for duplicate points and cells outside of the bounds
+	 */
+	public Polygon[] voronoi(Rectangle bounds) {
+		Polygon[] cells = new Polygon[n];
+		float[] rectangle = bounds.coordinates();
+		IntStream.range(0, n).parallel().forEach(i -> cells[i] = this.cell(i, rectangle));
+		return cells;
+	}
+
+	private Polygon cell(int site, float[] rectangle) {
+		if(duplicate[site] || (neighborStart[site] == neighborStart[site + 1] && triangles.length > 0)) {
+			return null;
+		}
+		double sx = xy[2*site], sy = xy[2*site+1];
+		FloatList cell = new FloatList(16);
+		for(float value : rectangle) {
+			cell.add(value);
+		}
+		FloatList clipped = new FloatList(16);
+		for(int i = neighborStart[site]; i < neighborStart[site + 1]; i++) {
+			int q = neighbors[i];
+			// keep the points which are nearer to the site than to the neighbour: (p - m) . (q - s) <= 0
+			double nx = xy[2*q] - sx, ny = xy[2*q+1] - sy;
+			double mx = (xy[2*q] + sx) / 2, my = (xy[2*q+1] + sy) / 2;
+			clipped.clear();
+			int count = cell.size() / 2;
+			for(int v = 0; v < count; v++) {
+				int w = v + 1 < count ? v + 1 : 0;
+				float ax = cell.get(2*v), ay = cell.get(2*v+1), bx = cell.get(2*w), by = cell.get(2*w+1);
+				double da = (ax - mx) * nx + (ay - my) * ny;
+				double db = (bx - mx) * nx + (by - my) * ny;
+				if(da <= 0) clipped.add(ax, ay);
+				if((da < 0 && db > 0) || (da > 0 && db < 0)) {
+					double t = da / (da - db);
+					clipped.add((float) (ax + t * (bx - ax)), (float) (ay + t * (by - ay)));
+				}
+			}
+			FloatList tmp = cell;
+			cell = clipped;
+			clipped = tmp;
+			if(cell.size() < 6) {
+				return null;
+			}
+		}
+		return new Polygon(Coordinates.toVectors(cell.toArray()));
+	}
+
+}
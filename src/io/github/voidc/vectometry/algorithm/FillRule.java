@@ -0,0 +1,28 @@
+package io.github.voidc.vectometry.algorithm;
+
+/**
+ * decides by the winding number of a point whether it is inside of a set of rings
+ */
+public enum FillRule {
+	/** inside if the point is encircled an odd number of times */
+	EVEN_ODD,
+	/** inside if the winding number is not zero */
+	NON_ZERO,
+	/** inside if the winding number is positive (counter clockwise rings add, clockwise rings subtract) */
+	POSITIVE;
+
+	/**
+	 * @param winding number of a point
+	 * @return true if a point with the given winding number is inside
+	 */
+	public boolean isInside(int winding) {
+		switch(this) {
+		case EVEN_ODD:
+			return (winding & 1) != 0;
+		case NON_ZERO:
+			return winding != 0;
+		default:
+			return winding > 0;
+		}
+	}
+}
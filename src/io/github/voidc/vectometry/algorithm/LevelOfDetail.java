@@ -0,0 +1,142 @@
+package io.github.voidc.vectometry.algorithm;
+
+import io.github.voidc.vectometry.Polygon;
+import io.github.voidc.vectometry.Vector;
+
+/**
+ * pyramid of simplified versions of a polygon
+ * <p>
+ * level 0 contains all vertices, level k &gt; 0 deviates at most base * 2^(k-1) from the original polygon.
+ * all levels share the vertices of the original polygon and only store the indices of their vertices
+ */
+public class LevelOfDetail {
+	private static final int MAX_LEVELS = 32;
+
+	private final Vector[] vertices;
+	private final float baseTolerance;
+	private final int[][] levels;
+	private final Polygon[] polygons;
+
+	private LevelOfDetail(Vector[] vertices, float baseTolerance, int[][] levels) {
+		this.vertices = vertices;
+		this.baseTolerance = baseTolerance;
+		this.levels = levels;
+		this.polygons = new Polygon[levels.length];
+	}
+
+	/**
+	 * precomputes all levels of the given polygon until a level only consists of three vertices
+	 * each level is simplified from the previous one, so the vertices of a level are a subset of the finer levels.
+	 * the deviations of the steps add up, so level 1 is simplified with the base tolerance and every further level k
+	 * with base * 2^(k-2), which keeps the sum at base * 2^(k-1)
+	 * @param poly
+	 * @param baseTolerance tolerance of level 1
+	 * @return new level of detail pyramid
+	 */
+	public static LevelOfDetail of(Polygon poly, float baseTolerance) {
+		if(baseTolerance <= 0) throw new IllegalArgumentException("The base tolerance must be positive");
+		float[] xy = poly.coordinates();
+		int[][] levels = new int[MAX_LEVELS][];
+		int[] level = new int[poly.n()];
+		for(int v = 0; v < level.length; v++) {
+			level[v] = v;
+		}
+		levels[0] = level;
+		int count = 1;
+		float step = baseTolerance;
+		while(count < MAX_LEVELS && level.length > 3) {
+			float[] sub = new float[level.length * 2];
+			for(int i = 0; i < level.length; i++) {
+				sub[2*i] = xy[2 * level[i]];
+				sub[2*i+1] = xy[2 * level[i] + 1];
+			}
+			int[] kept = Simplifier.preserveTopology(sub, Simplifier.douglasPeucker(sub, step, true));
+			int[] next = new int[kept.length];
+			for(int i = 0; i < kept.length; i++) {
+				next[i] = level[kept[i]];
+			}
+			level = next;
+			levels[count++] = level;
+			if(count > 2) {
+				step *= 2;
+			}
+		}
+		int[][] trimmed = new int[count][];
+		System.arraycopy(levels, 0, trimmed, 0, count);
+		return new LevelOfDetail(poly.vertices, baseTolerance, trimmed);
+	}
+
+	/**
+	 * @param tolerance
+	 * @return the coarsest level whose tolerance doesn't exceed the given tolerance
+	 */
+	public int level(float tolerance) {
+		if(!(tolerance >= baseTolerance)) {
+			return 0;
+		}
+		int level = Math.getExponent(tolerance / baseTolerance) + 1;
+		return level < levels.length ? level : levels.length - 1;
+	}
+
+	/**
+	 * @param tolerance
+	 * @return the polygon of the coarsest level whose tolerance doesn't exceed the given tolerance
+	 * @see #level(float)
+	 */
+	public Polygon polygon(float tolerance) {
+		return this.polygonAt(this.level(tolerance));
+	}
+
+	/**
+	 * @param level
+	 * @return the polygon of the given level
+	 */
+	public Polygon polygonAt(int level) {
+		Polygon poly = polygons[level];
+		if(poly == null) {
+			int[] indices = levels[level];
+			Vector[] vtc = new Vector[indices.length];
+			for(int i = 0; i < indices.length; i++) {
+				vtc[i] = vertices[indices[i]];
+			}
+			poly = new Polygon(vtc);
+			polygons[level] = poly;
+		}
+		return poly;
+	}
+
+	/**
+	 * @param level
+	 * @return indices of the original vertices which belong to the given level
+	 */
+	public int[] indices(int level) {
+		return levels[level].clone();
+	}
+
+	/**
+	 * @param level
+	 * @return the maximum deviation of the given level from the original polygon
+	 */
+	public float tolerance(int level) {
+		return level == 0 ? 0 : Math.scalb(baseTolerance, level - 1);
+	}
+
+	/**
+	 * @return number of levels
+	 */
+	public int levels() {
+		return levels.length;
+	}
+
+	/**
+	 * @return approximate memory weight of this pyramid in number of stored values
+	 */
+	public int weight() {
+		int weight = vertices.length * 2;
+		for(int[] level : levels) {
+			weight += level.length;
+		}
+		return weight;
+	}
+
+}
@@ -0,0 +1,112 @@
+package io.github.voidc.vectometry.algorithm;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.github.voidc.vectometry.Polygon;
+
+/**
+ * least recently used cache of level of detail pyramids which is bounded by their total weight
+ * polygons are identified by reference
+ * @see LevelOfDetail#weight()
+ */
+public class LevelOfDetailCache {
+	private final float baseTolerance;
+	private final long maxWeight;
+	private final LinkedHashMap<Key, LevelOfDetail> entries = new LinkedHashMap<Key, LevelOfDetail>(16, 0.75f, true);
+	private long weight;
+
+	/**
+	 * @param baseTolerance tolerance of level 1 for all pyramids
+	 * @param maxWeight maximum total weight of all cached pyramids
+	 */
+	public LevelOfDetailCache(float baseTolerance, long maxWeight) {
+		this.baseTolerance = baseTolerance;
+		this.maxWeight = maxWeight;
+	}
+
+	/**
+	 * @param poly
+	 * @return the cached pyramid of the given polygon, computing it if it is not cached
+	 */
+	public LevelOfDetail get(Polygon poly) {
+		Key key = new Key(poly);
+		synchronized(this) {
+			LevelOfDetail lod = entries.get(key);
+			if(lod != null) {
+				return lod;
+			}
+		}
+		LevelOfDetail lod = LevelOfDetail.of(poly, baseTolerance);
+		synchronized(this) {
+			LevelOfDetail existing = entries.get(key);
+			if(existing != null) {
+				return existing;
+			}
+			entries.put(key, lod);
+			weight += lod.weight();
+			Iterator<Map.Entry<Key, LevelOfDetail>> it = entries.entrySet().iterator();
+			while(weight > maxWeight && entries.size() > 1) {
+				LevelOfDetail eldest = it.next().getValue();
+				it.remove();
+				weight -= eldest.weight();
+			}
+		}
+		return lod;
+	}
+
+	/**
+	 * @param poly
+	 * @param tolerance
+	 * @return the simplified polygon of the matching level
+	 * @see LevelOfDetail#polygon(float)
+	 */
+	public Polygon get(Polygon poly, float tolerance) {
+		return this.get(poly).polygon(tolerance);
+	}
+
+	/**
+	 * removes the pyramid of the given polygon
+	 * @param poly
+	 */
+	public synchronized void invalidate(Polygon poly) {
+		LevelOfDetail lod = entries.remove(new Key(poly));
+		if(lod != null) {
+			weight -= lod.weight();
+		}
+	}
+
+	/**
+	 * @return number of cached pyramids
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return total weight of all cached pyramids
+	 */
+	public synchronized long weight() {
+		return weight;
+	}
+
+	private static final class Key {
+		private final Polygon poly;
+
+		Key(Polygon poly) {
+			this.poly = poly;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Key && ((Key) obj).poly == this.poly;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(poly);
+		}
+	}
+
+}
@@ -0,0 +1,139 @@
+package io.github.voidc.vectometry.algorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import io.github.voidc.vectometry.Polygon;
+import io.github.voidc.vectometry.Vector;
+import io.github.voidc.vectometry.util.Coordinates;
+
+/**
+ * Minkowski sums of polygons and configuration space obstacles for motion planning
+ */
+public final class Minkowski {
+
+	private Minkowski() {}
+
+	/**
+	 * merges the angle sorted edges of both polygons in linear time
+	 * @param a convex polygon
+	 * @param b convex polygon
+	 * @return the convex polygon containing all sums of a point in a and a point in b
+	 */
+	public static Polygon convex(Polygon a, Polygon b) {
+		return new Polygon(Coordinates.toVectors(convex(counterClockwise(a.coordinates()), counterClockwise(b.coordinates()))));
+	}
+
+	/**
+	 * @param a packed coordinates of a counter clockwise convex ring
+	 * @param b packed coordinates of a counter clockwise convex ring
+	 * @return packed coordinates of the convex sum
+	 */
+	static float[] convex(float[] a, float[] b) {
+		int n = a.length / 2, m = b.length / 2;
+		int i0 = lowest(a), j0 = lowest(b);
+		float[] sum = new float[(n + m) * 2];
+		int k = 0;
+		int i = 0, j = 0;
+		while(i < n || j < m) {
+			int ia = (i0 + i) % n, ja = (j0 + j) % m;
+			sum[k++] = a[2*ia] + b[2*ja];
+			sum[k++] = a[2*ia+1] + b[2*ja+1];
+			int ib = (ia + 1) % n, jb = (ja + 1) % m;
+			double cross;
+			if(i == n) {
+				cross = -1;
+			} else if(j == m) {
+				cross = 1;
+			} else {
+				double eax = a[2*ib] - a[2*ia], eay = a[2*ib+1] - a[2*ia+1];
+				double ebx = b[2*jb] - b[2*ja], eby = b[2*jb+1] - b[2*ja+1];
+				cross = eax * eby - eay * ebx;
+			}
+			if(cross >= 0) i++;
+			if(cross <= 0) j++;
+		}
+		float[] result = new float[k];
+		System.arraycopy(sum, 0, result, 0, k);
+		float[] cleaned = Clipper.removeCollinear(result);
+		return cleaned.length >= 6 ? cleaned : result;
+	}
+
+	/**
+	 * @return index of the point with the smallest y (and x for ties)
+	 */
+	private static int lowest(float[] xy) {
+		int lowest = 0;
+		for(int v = 1; v < xy.length / 2; v++) {
+			if(xy[2*v+1] < xy[2*lowest+1] || (xy[2*v+1] == xy[2*lowest+1] && xy[2*v] < xy[2*lowest])) {
+				lowest = v;
+			}
+		}
+		return lowest;
+	}
+
+	/**
+	 * sums each convex part of a with each convex part of b and unites the partial sums
+	 * @param a simple polygon
+	 * @param b simple polygon
+	 * @return the polygons of the sum (holes are clockwise)
+	 */
+	public static List<Polygon> sum(Polygon a, Polygon b) {
+		return Clipper.toPolygons(sum(convexParts(a), convexParts(b)));
+	}
+
+	private static List<float[]> sum(List<float[]> partsA, List<float[]> partsB) {
+		if(partsA.size() == 1 && partsB.size() == 1) {
+			List<float[]> result = new ArrayList<float[]>(1);
+			result.add(convex(partsA.get(0), partsB.get(0)));
+			return result;
+		}
+		List<float[]> sums = new ArrayList<float[]>(partsA.size() * partsB.size());
+		for(float[] partA : partsA) {
+			for(float[] partB : partsB) {
+				sums.add(convex(partA, partB));
+			}
+		}
+		return Clipper.union(sums, FillRule.NON_ZERO);
+	}
+
+	/**
+	 * @param poly
+	 * @return packed counter clockwise convex parts of the polygon
+	 */
+	private static List<float[]> convexParts(Polygon poly) {
+		float[] xy = counterClockwise(poly.coordinates());
+		List<float[]> parts = new ArrayList<float[]>();
+		for(int[] indices : Decomposition.convexPartIndices(xy)) {
+			float[] part = new float[indices.length * 2];
+			for(int i = 0; i < indices.length; i++) {
+				part[2*i] = xy[2 * indices[i]];
+				part[2*i+1] = xy[2 * indices[i] + 1];
+			}
+			if(Coordinates.signedArea(part, indices.length) > 0) {
+				parts.add(part);
+			}
+		}
+		return parts;
+	}
+
+	/**
+	 * the obstacles of the configuration space of a robot which is translated by its reference point at the origin
+	 * are the sums of the obstacles and the reflected robot
+	 * @param robot polygon relative to its reference point
+	 * @param obstacles
+	 * @return the configuration space obstacles of each obstacle in the same order, computed in parallel
+	 */
+	public static List<List<Polygon>> configurationSpace(Polygon robot, List<Polygon> obstacles) {
+		List<float[]> reflected = convexParts(robot.scale(-1, Vector.ZERO));
+		return obstacles.parallelStream()
+				.map(obstacle -> Clipper.toPolygons(sum(convexParts(obstacle), reflected)))
+				.collect(Collectors.toList());
+	}
+
+	private static float[] counterClockwise(float[] xy) {
+		return Coordinates.signedArea(xy, xy.length / 2) >= 0 ? xy : Coordinates.reverse(xy);
+	}
+
+}
@@ -0,0 +1,282 @@
+package io.github.voidc.vectometry.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import io.github.voidc.vectometry.Circle;
+import io.github.voidc.vectometry.Polygon;
+import io.github.voidc.vectometry.Segment;
+import io.github.voidc.vectometry.Vector;
+import io.github.voidc.vectometry.metrics.GeometryEvent;
+import io.github.voidc.vectometry.metrics.Operation;
+import io.github.voidc.vectometry.util.Coordinates;
+import io.github.voidc.vectometry.util.FloatList;
+
+/**
+ * inflates and deflates polygons and polylines
+ * <p>
+ * the raw offset outline is built edge by edge with the requested joins and then resolved into simple rings by the {@link Clipper}.
+ * the results may consist of several polygons, holes are returned as clockwise polygons
+ */
+public final class Offset {
+
+	/**
+	 * shape of the outline around convex corners
+	 */
+	public enum Join {MITER, ROUND, SQUARE}
+
+	/**
+	 * shape of the outline at the ends of open polylines
+	 */
+	public enum Cap {BUTT, ROUND, SQUARE}
+
+	private Offset() {}
+
+	/**
+	 * @param poly
+	 * @param delta distance by which the outline is moved outwards (inwards if negative)
+	 * @param join
+	 * @param miterLimit maximum ratio between miter length and delta, longer miters are squared off
+	 * @param tolerance maximum deviation of round joins from the exact arc
+	 * @return the offset polygons
+	 */
+	public static List<Polygon> polygon(Polygon poly, float delta, Join join, float miterLimit, float tolerance) {
+		float[] xy = removeDuplicates(poly.coordinates(), true);
+		if(Coordinates.signedArea(xy, xy.length / 2) < 0) {
+			xy = Coordinates.reverse(xy);
+		}
+		if(delta == 0 || xy.length < 6) {
+			return Clipper.toPolygons(Clipper.union(single(xy), FillRule.POSITIVE));
+		}
+		Cap cap = join == Join.ROUND ? Cap.ROUND : Cap.SQUARE;
+		float[] raw = outline(xy, delta, join, cap, miterLimit, tolerance);
+		return Clipper.toPolygons(Clipper.union(single(raw), FillRule.POSITIVE));
+	}
+
+	/**
+	 * @param poly
+	 * @param delta distance by which the outline is moved outwards (inwards if negative)
+	 * @param join
+	 * @return the offset polygons with a miter limit of 2 and a round join tolerance of 1% of delta
+	 */
+	public static List<Polygon> polygon(Polygon poly, float delta, Join join) {
+		return polygon(poly, delta, join, 2, Math.abs(delta) / 100);
+	}
+
+	/**
+	 * offsets all polygons in parallel
+	 * @param polygons
+	 * @param delta
+	 * @param join
+	 * @param miterLimit
+	 * @param tolerance
+	 * @return the offset polygons of each input polygon in the same order
+	 * @see #polygon(Polygon, float, Join, float, float)
+	 */
+	public static List<List<Polygon>> polygons(List<Polygon> polygons, float delta, Join join, float miterLimit, float tolerance) {
+		int vertices = 0;
+		for(Polygon poly : polygons) {
+			vertices += poly.n();
+		}
+		GeometryEvent event = GeometryEvent.start(Operation.OFFSET, vertices);
+		List<List<Polygon>> result = polygons.parallelStream()
+				.map(poly -> polygon(poly, delta, join, miterLimit, tolerance))
+				.collect(Collectors.toList());
+		GeometryEvent.finish(event, result.size());
+		return result;
+	}
+
+	/**
+	 * @param path points of an open polyline
+	 * @param distance half width of the buffer around the polyline
+	 * @param join
+	 * @param cap
+	 * @param miterLimit
+	 * @param tolerance
+	 * @return the polygons which enclose all points within the distance to the polyline
+	 */
+	public static List<Polygon> polyline(Vector[] path, float distance, Join join, Cap cap, float miterLimit, float tolerance) {
+		float[] xy = removeDuplicates(Coordinates.of(path), false);
+		int n = xy.length / 2;
+		if(distance <= 0) throw new IllegalArgumentException("The buffer distance must be positive");
+		if(n == 0) {
+			return new ArrayList<Polygon>();
+		}
+		if(n == 1) {
+			return Clipper.toPolygons(single(capPoint(xy[0], xy[1], distance, cap, tolerance)));
+		}
+		// the path is walked forth and back so that both sides are offset to the right
+		float[] ring = new float[(2 * n - 2) * 2];
+		System.arraycopy(xy, 0, ring, 0, xy.length);
+		for(int v = n - 2, i = n; v > 0; v--, i++) {
+			ring[2*i] = xy[2*v];
+			ring[2*i+1] = xy[2*v+1];
+		}
+		float[] raw = outline(ring, distance, join, cap, miterLimit, tolerance);
+		return Clipper.toPolygons(Clipper.union(single(raw), FillRule.NON_ZERO));
+	}
+
+	/**
+	 * @param chain connected segments where each segment starts at the end of the previous one
+	 * @param distance half width of the buffer
+	 * @param join
+	 * @param cap
+	 * @return the polygons which enclose all points within the distance to the chain
+	 * @see #polyline(Vector[], float, Join, Cap, float, float)
+	 */
+	public static List<Polygon> polyline(Segment[] chain, float distance, Join join, Cap cap) {
+		if(chain.length == 0) {
+			return new ArrayList<Polygon>();
+		}
+		Vector[] path = new Vector[chain.length + 1];
+		for(int s = 0; s < chain.length; s++) {
+			path[s] = chain[s].pointA();
+		}
+		path[chain.length] = chain[chain.length - 1].pointB();
+		return polyline(path, distance, join, cap, 2, distance / 100);
+	}
+
+	/**
+	 * @param points
+	 * @param radius
+	 * @param tolerance maximum deviation from the exact circles
+	 * @return the polygons which enclose all points within the radius to one of the given points
+	 * @see Circle#polygon(float)
+	 */
+	public static List<Polygon> points(Vector[] points, float radius, float tolerance) {
+		List<float[]> rings = new ArrayList<float[]>(points.length);
+		for(Vector point : points) {
+			rings.add(new Circle(point, radius).polygon(tolerance).coordinates());
+		}
+		return Clipper.toPolygons(Clipper.union(rings, FillRule.NON_ZERO));
+	}
+
+	/**
+	 * @param circle
+	 * @param delta
+	 * @return circle with the same center and a radius increased by delta
+	 */
+	public static Circle circle(Circle circle, float delta) {
+		return new Circle(circle.center, Math.max(0, circle.radius + delta));
+	}
+
+	/**
+	 * builds the raw, possibly self intersecting outline of a ring offset to the right of its edges
+	 */
+	private static float[] outline(float[] xy, float delta, Join join, Cap cap, float miterLimit, float tolerance) {
+		int n = xy.length / 2;
+		float[] normals = new float[n * 2]; // right hand unit normal of the edge starting at each point
+		for(int v = 0; v < n; v++) {
+			int w = v + 1 < n ? v + 1 : 0;
+			double dx = xy[2*w] - xy[2*v], dy = xy[2*w+1] - xy[2*v+1];
+			double length = Math.sqrt(dx * dx + dy * dy);
+			normals[2*v] = (float) (dy / length);
+			normals[2*v+1] = (float) (-dx / length);
+		}
+		float sign = Math.signum(delta), r = Math.abs(delta);
+		FloatList raw = new FloatList(n * 4);
+		for(int v = 0; v < n; v++) {
+			int p = v > 0 ? v - 1 : n - 1;
+			float px = xy[2*v], py = xy[2*v+1];
+			// unit normals pointing to the side of the offset
+			float m1x = normals[2*p] * sign, m1y = normals[2*p+1] * sign;
+			float m2x = normals[2*v] * sign, m2y = normals[2*v+1] * sign;
+			// edge directions rotated from the right hand normals
+			float d1x = -normals[2*p+1], d1y = normals[2*p];
+			float d2x = -normals[2*v+1], d2y = normals[2*v];
+			float cross = d1x * d2y - d1y * d2x;
+			float dot = m1x * m2x + m1y * m2y;
+
+			raw.add(px + m1x * r, py + m1y * r);
+			if(dot < -0.9999f && Math.abs(cross) < 1e-4f) {
+				addCap(raw, px, py, d1x, d1y, m1x, m1y, r, cap, tolerance);
+			} else if(cross * sign > 0) {
+				addJoin(raw, px, py, d1x, d1y, d2x, d2y, m1x, m1y, m2x, m2y, r, join, miterLimit, tolerance);
+			} else if(cross * sign < 0) {
+				raw.add(px, py);
+			}
+			raw.add(px + m2x * r, py + m2y * r);
+		}
+		return raw.toArray();
+	}
+
+	private static void addJoin(FloatList raw, float px, float py, float d1x, float d1y, float d2x, float d2y,
+			float m1x, float m1y, float m2x, float m2y, float r, Join join, float miterLimit, float tolerance) {
+		float dot = m1x * m2x + m1y * m2y;
+		if(join == Join.ROUND) {
+			addArc(raw, px, py, m1x, m1y, (float) Math.atan2(m1x * m2y - m1y * m2x, dot), r, tolerance);
+			return;
+		}
+		if(join == Join.MITER && 2 / (1 + dot) <= miterLimit * miterLimit) {
+			float scale = r / (1 + dot);
+			raw.add(px + (m1x + m2x) * scale, py + (m1y + m2y) * scale);
+			return;
+		}
+		// squared corner which is cut at the distance r from the point along the bisector
+		float bx = m1x + m2x, by = m1y + m2y;
+		float length = (float) Math.sqrt(bx * bx + by * by);
+		bx /= length;
+		by /= length;
+		float t1 = r * (1 - (m1x * bx + m1y * by)) / (d1x * bx + d1y * by);
+		float t2 = r * (1 - (m2x * bx + m2y * by)) / -(d2x * bx + d2y * by);
+		raw.add(px + m1x * r + d1x * t1, py + m1y * r + d1y * t1);
+		raw.add(px + m2x * r - d2x * t2, py + m2y * r - d2y * t2);
+	}
+
+	private static void addCap(FloatList raw, float px, float py, float dx, float dy, float mx, float my, float r, Cap cap, float tolerance) {
+		switch(cap) {
+		case ROUND:
+			float cross = mx * dy - my * dx;
+			addArc(raw, px, py, mx, my, (float) (cross > 0 ? Math.PI : -Math.PI), r, tolerance);
+			break;
+		case SQUARE:
+			raw.add(px + (mx + dx) * r, py + (my + dy) * r);
+			raw.add(px + (-mx + dx) * r, py + (-my + dy) * r);
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * adds the inner points of an arc around the given point starting at the direction m
+	 */
+	private static void addArc(FloatList raw, float px, float py, float mx, float my, float sweep, float r, float tolerance) {
+		int steps = Circle.segments(r, tolerance, sweep);
+		double start = Math.atan2(my, mx);
+		for(int s = 1; s < steps; s++) {
+			double angle = start + sweep * s / steps;
+			raw.add(px + (float) (Math.cos(angle) * r), py + (float) (Math.sin(angle) * r));
+		}
+	}
+
+	private static float[] capPoint(float x, float y, float r, Cap cap, float tolerance) {
+		if(cap == Cap.ROUND) {
+			return new Circle(new Vector(x, y), r).polygon(tolerance).coordinates();
+		}
+		return new float[] {x - r, y - r, x + r, y - r, x + r, y + r, x - r, y + r};
+	}
+
+	private static float[] removeDuplicates(float[] xy, boolean closed) {
+		int n = xy.length / 2;
+		FloatList result = new FloatList(xy.length);
+		for(int v = 0; v < n; v++) {
+			int size = result.size();
+			if(size > 0 && result.get(size - 2) == xy[2*v] && result.get(size - 1) == xy[2*v+1]) continue;
+			result.add(xy[2*v], xy[2*v+1]);
+		}
+		if(closed && result.size() > 2 && result.get(0) == result.get(result.size() - 2) && result.get(1) == result.get(result.size() - 1)) {
+			return Arrays.copyOf(result.toArray(), result.size() - 2);
+		}
+		return result.toArray();
+	}
+
+	private static List<float[]> single(float[] ring) {
+		List<float[]> rings = new ArrayList<float[]>(1);
+		rings.add(ring);
+		return rings;
+	}
+
+}
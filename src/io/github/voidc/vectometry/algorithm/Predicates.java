@@ -0,0 +1,170 @@
+package io.github.voidc.vectometry.algorithm;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * robust geometric predicates
+ * <p>
+ * the determinants are evaluated in double precision first and only recomputed exactly if the result is within the
+ * rounding error bound (Shewchuk's static filters)
+ */
+public final class Predicates {
+	private static final double EPSILON = Math.ulp(1.0) / 2;
+	private static final double ORIENT_BOUND = (3 + 16 * EPSILON) * EPSILON;
+	private static final double INCIRCLE_BOUND = (10 + 96 * EPSILON) * EPSILON;
+
+	private Predicates() {}
+
+	/**
+	 * @return a positive value if a, b and c are counter clockwise, a negative value if they are clockwise and 0 if they are collinear
+	 */
+	public static double orient(double ax, double ay, double bx, double by, double cx, double cy) {
+		double left = (bx - ax) * (cy - ay);
+		double right = (by - ay) * (cx - ax);
+		double det = left - right;
+		double bound = ORIENT_BOUND * (Math.abs(left) + Math.abs(right));
+		if(det > bound || -det > bound) {
+			return det;
+		}
+		BigDecimal l = exact(bx).subtract(exact(ax)).multiply(exact(cy).subtract(exact(ay)));
+		BigDecimal r = exact(by).subtract(exact(ay)).multiply(exact(cx).subtract(exact(ax)));
+		return l.compareTo(r);
+	}
+
+	/**
+	 * @return a positive value if d lies inside the circle through the counter clockwise points a, b and c,
+	 * a negative value if it lies outside and 0 if it lies on the circle
+	 */
+	public static double inCircle(double ax, double ay, double bx, double by, double cx, double cy, double dx, double dy) {
+		double adx = ax - dx, ady = ay - dy;
+		double bdx = bx - dx, bdy = by - dy;
+		double cdx = cx - dx, cdy = cy - dy;
+		double bdxcdy = bdx * cdy, cdxbdy = cdx * bdy;
+		double cdxady = cdx * ady, adxcdy = adx * cdy;
+		double adxbdy = adx * bdy, bdxady = bdx * ady;
+		double alift = adx * adx + ady * ady;
+		double blift = bdx * bdx + bdy * bdy;
+		double clift = cdx * cdx + cdy * cdy;
+		double det = alift * (bdxcdy - cdxbdy) + blift * (cdxady - adxcdy) + clift * (adxbdy - bdxady);
+		double permanent = (Math.abs(bdxcdy) + Math.abs(cdxbdy)) * alift
+				+ (Math.abs(cdxady) + Math.abs(adxcdy)) * blift
+				+ (Math.abs(adxbdy) + Math.abs(bdxady)) * clift;
+		double bound = INCIRCLE_BOUND * permanent;
+		if(det > bound || -det > bound) {
+			return det;
+		}
+		BigDecimal eadx = exact(ax).subtract(exact(dx)), eady = exact(ay).subtract(exact(dy));
+		BigDecimal ebdx = exact(bx).subtract(exact(dx)), ebdy = exact(by).subtract(exact(dy));
+		BigDecimal ecdx = exact(cx).subtract(exact(dx)), ecdy = exact(cy).subtract(exact(dy));
+		BigDecimal ealift = eadx.multiply(eadx).add(eady.multiply(eady));
+		BigDecimal eblift = ebdx.multiply(ebdx).add(ebdy.multiply(ebdy));
+		BigDecimal eclift = ecdx.multiply(ecdx).add(ecdy.multiply(ecdy));
+		BigDecimal exactDet = ealift.multiply(ebdx.multiply(ecdy).subtract(ecdx.multiply(ebdy)))
+				.add(eblift.multiply(ecdx.multiply(eady).subtract(eadx.multiply(ecdy))))
+				.add(eclift.multiply(eadx.multiply(ebdy).subtract(ebdx.multiply(eady))));
+		return exactDet.signum();
+	}
+
+	/**
+	 * @return a positive value if c lies to the left of the line through a in the direction d, a negative value if it lies to the right
+	 * and 0 if it lies on the line
+	 */
+	public static double side(double dx, double dy, double ax, double ay, double cx, double cy) {
+		double left = dx * (cy - ay);
+		double right = dy * (cx - ax);
+		double det = left - right;
+		double bound = 4 * EPSILON * (Math.abs(left) + Math.abs(right));
+		if(det > bound || -det > bound) {
+			return det;
+		}
+		BigDecimal l = exact(dx).multiply(exact(cy).subtract(exact(ay)));
+		BigDecimal r = exact(dy).multiply(exact(cx).subtract(exact(ax)));
+		return l.compareTo(r);
+	}
+
+	/**
+	 * exact orientation of points whose coordinates are x + M * dx and y + M * dy for an arbitrarily large M
+	 * @param points x, y, dx, dy for each of a, b and c
+	 * @return the sign of {@link #orient} for all sufficiently large M
+	 */
+	static int orientAtInfinity(double... points) {
+		BigDecimal[][] a = point(points, 0), b = point(points, 1), c = point(points, 2);
+		BigDecimal[] det = subtract(multiply(subtract(b[0], a[0]), subtract(c[1], a[1])), multiply(subtract(b[1], a[1]), subtract(c[0], a[0])));
+		return leadingSign(det);
+	}
+
+	/**
+	 * exact in-circle test of points whose coordinates are x + M * dx and y + M * dy for an arbitrarily large M
+	 * @param points x, y, dx, dy for each of a, b, c and d
+	 * @return the sign of {@link #inCircle} for all sufficiently large M
+	 */
+	static int inCircleAtInfinity(double... points) {
+		BigDecimal[][] d = point(points, 3);
+		BigDecimal[][] rows = new BigDecimal[9][];
+		for(int i = 0; i < 3; i++) {
+			BigDecimal[][] p = point(points, i);
+			rows[3*i] = subtract(p[0], d[0]);
+			rows[3*i+1] = subtract(p[1], d[1]);
+			rows[3*i+2] = add(multiply(rows[3*i], rows[3*i]), multiply(rows[3*i+1], rows[3*i+1]));
+		}
+		BigDecimal[] det = multiply(rows[2], subtract(multiply(rows[3], rows[7]), multiply(rows[6], rows[4])));
+		det = add(det, multiply(rows[5], subtract(multiply(rows[6], rows[1]), multiply(rows[0], rows[7]))));
+		det = add(det, multiply(rows[8], subtract(multiply(rows[0], rows[4]), multiply(rows[3], rows[1]))));
+		return leadingSign(det);
+	}
+
+	/**
+	 * @return the x and y coordinate of the point as polynomials in M
+	 */
+	private static BigDecimal[][] point(double[] points, int i) {
+		return new BigDecimal[][] {
+			{exact(points[4*i]), exact(points[4*i+2])},
+			{exact(points[4*i+1]), exact(points[4*i+3])}
+		};
+	}
+
+	private static BigDecimal[] add(BigDecimal[] a, BigDecimal[] b) {
+		BigDecimal[] sum = new BigDecimal[Math.max(a.length, b.length)];
+		for(int i = 0; i < sum.length; i++) {
+			sum[i] = i >= a.length ? b[i] : i >= b.length ? a[i] : a[i].add(b[i]);
+		}
+		return sum;
+	}
+
+	private static BigDecimal[] subtract(BigDecimal[] a, BigDecimal[] b) {
+		BigDecimal[] negated = new BigDecimal[b.length];
+		for(int i = 0; i < b.length; i++) {
+			negated[i] = b[i].negate();
+		}
+		return add(a, negated);
+	}
+
+	private static BigDecimal[] multiply(BigDecimal[] a, BigDecimal[] b) {
+		BigDecimal[] product = new BigDecimal[a.length + b.length - 1];
+		Arrays.fill(product, BigDecimal.ZERO);
+		for(int i = 0; i < a.length; i++) {
+			for(int j = 0; j < b.length; j++) {
+				product[i+j] = product[i+j].add(a[i].multiply(b[j]));
+			}
+		}
+		return product;
+	}
+
+	/**
+	 * @return the sign of the polynomial for large M, which is the sign of its highest non-zero coefficient
+	 */
+	private static int leadingSign(BigDecimal[] polynomial) {
+		for(int i = polynomial.length - 1; i >= 0; i--) {
+			if(polynomial[i].signum() != 0) {
+				return polynomial[i].signum();
+			}
+		}
+		return 0;
+	}
+
+	private static BigDecimal exact(double value) {
+		return new BigDecimal(value);
+	}
+
+}
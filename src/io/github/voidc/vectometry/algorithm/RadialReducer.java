@@ -0,0 +1,82 @@
+package io.github.voidc.vectometry.algorithm;
+
+import io.github.voidc.vectometry.util.FloatList;
+import io.github.voidc.vectometry.util.PointConsumer;
+
+/**
+ * online simplification which drops every point closer than the tolerance to the last emitted point
+ * <p>
+ * the first point is emitted immediately, the last point is emitted by {@link #finish()}
+ */
+public class RadialReducer implements PointConsumer {
+	private final float toleranceSq;
+	private final PointConsumer downstream;
+	private final FloatList collected;
+	private float lastX, lastY, pendingX, pendingY;
+	private boolean started, pending;
+
+	/**
+	 * creates a new reducer which passes the kept points to the downstream consumer
+	 * @param tolerance minimum distance between two emitted points
+	 * @param downstream
+	 */
+	public RadialReducer(float tolerance, PointConsumer downstream) {
+		this.toleranceSq = tolerance * tolerance;
+		this.downstream = downstream;
+		this.collected = null;
+	}
+
+	/**
+	 * creates a new reducer which collects the kept points
+	 * @param tolerance minimum distance between two emitted points
+	 * @see #coordinates()
+	 */
+	public RadialReducer(float tolerance) {
+		this.toleranceSq = tolerance * tolerance;
+		this.collected = new FloatList();
+		this.downstream = collected::add;
+	}
+
+	@Override
+	public void accept(float x, float y) {
+		if(!started) {
+			started = true;
+			emit(x, y);
+			return;
+		}
+		float dx = x - lastX, dy = y - lastY;
+		if(dx * dx + dy * dy >= toleranceSq) {
+			emit(x, y);
+		} else {
+			pending = true;
+			pendingX = x;
+			pendingY = y;
+		}
+	}
+
+	private void emit(float x, float y) {
+		pending = false;
+		lastX = x;
+		lastY = y;
+		downstream.accept(x, y);
+	}
+
+	/**
+	 * emits the last received point if it has been dropped and resets the reducer for a new line
+	 */
+	public void finish() {
+		if(pending) {
+			emit(pendingX, pendingY);
+		}
+		started = false;
+	}
+
+	/**
+	 * @return packed coordinates of all kept points if this reducer collects its points
+	 */
+	public float[] coordinates() {
+		if(collected == null) throw new IllegalStateException("This reducer passes its points downstream");
+		return collected.toArray();
+	}
+
+}
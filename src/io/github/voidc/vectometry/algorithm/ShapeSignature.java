@@ -0,0 +1,251 @@
+package io.github.voidc.vectometry.algorithm;
+
+import java.util.Arrays;
+
+import io.github.voidc.vectometry.Polygon;
+import io.github.voidc.vectometry.util.Coordinates;
+
+/**
+ * canonical description of the shape of a polygon which doesn't change when the polygon is moved or rotated
+ * <p>
+ * the counter clockwise sequence of (edge length, turn angle) pairs is quantized by the tolerance and rotated to its
+ * lexicographically smallest start (Booth's algorithm). the quantized tokens are only a hash key: values close to the
+ * border between two steps can end up in different steps, so {@link #equals(Object)} can miss congruent polygons.
+ * {@link #matches(ShapeSignature)} decides congruence on the unquantized sequences
+ */
+public final class ShapeSignature {
+	private final long[] tokens;
+	private final int hash;
+	private final double[] lengths, turns; // counter clockwise, edge v from vertex v to v+1 and the turn at its end
+	private final int start; // index of the first token in the unquantized sequences
+	private final float tolerance;
+	private final boolean mirror;
+	private final double perimeter;
+
+	private ShapeSignature(long[] tokens, double[] lengths, double[] turns, int start, float tolerance, boolean mirror, double perimeter) {
+		this.tokens = tokens;
+		this.hash = Arrays.hashCode(tokens);
+		this.lengths = lengths;
+		this.turns = turns;
+		this.start = start;
+		this.tolerance = tolerance;
+		this.mirror = mirror;
+		this.perimeter = perimeter;
+	}
+
+	/**
+	 * mirrored polygons aren't congruent, the angle tolerance is the length tolerance relative to the average edge length
+	 * @param poly
+	 * @param tolerance quantization step of the edge lengths
+	 * @return the signature of the polygon
+	 */
+	public static ShapeSignature of(Polygon poly, float tolerance) {
+		return of(poly.coordinates(), tolerance, false);
+	}
+
+	/**
+	 * @param xy packed coordinates of a ring
+	 * @param tolerance quantization step of the edge lengths
+	 * @param mirror if true, mirrored rings have the same signature
+	 * @return the signature of the ring
+	 */
+	public static ShapeSignature of(float[] xy, float tolerance, boolean mirror) {
+		if(!(tolerance > 0)) throw new IllegalArgumentException("The tolerance must be positive");
+		int n = xy.length / 2;
+		if(Coordinates.signedArea(xy, n) < 0) {
+			xy = Coordinates.reverse(xy);
+		}
+		double[] lengths = new double[n];
+		double[] turns = new double[n];
+		double perimeter = 0;
+		for(int v = 0; v < n; v++) {
+			int w = v + 1 < n ? v + 1 : 0, u = w + 1 < n ? w + 1 : 0;
+			double ax = xy[2*w] - xy[2*v], ay = xy[2*w+1] - xy[2*v+1];
+			double bx = xy[2*u] - xy[2*w], by = xy[2*u+1] - xy[2*w+1];
+			lengths[v] = Math.hypot(ax, ay);
+			turns[w] = Math.atan2(ax * by - ay * bx, ax * bx + ay * by);
+			perimeter += lengths[v];
+		}
+		double angleStep = n > 0 && perimeter > 0 ? tolerance / (perimeter / n) : 1;
+
+		// token v is the edge from vertex v to v+1 and the turn at its end
+		double[] endTurns = new double[n];
+		long[] tokens = new long[n];
+		for(int v = 0; v < n; v++) {
+			endTurns[v] = turns[v + 1 < n ? v + 1 : 0];
+			tokens[v] = token(lengths[v], endTurns[v], tolerance, angleStep);
+		}
+		int start = leastRotation(tokens);
+		long[] canonical = rotate(tokens, start);
+		if(mirror) {
+			// the mirrored ring traversed counter clockwise visits the edges backwards with the turn at their start
+			long[] mirrored = new long[n];
+			for(int i = 0; i < n; i++) {
+				int v = n - 1 - i;
+				mirrored[i] = token(lengths[v], turns[v], tolerance, angleStep);
+			}
+			mirrored = rotate(mirrored, leastRotation(mirrored));
+			if(compare(mirrored, canonical) < 0) {
+				canonical = mirrored;
+				start = -1;
+			}
+		}
+		return new ShapeSignature(canonical, lengths, endTurns, start, tolerance, mirror, perimeter);
+	}
+
+	/**
+	 * compares the unquantized edge lengths and turns at the rotation where the canonical tokens start first, then at
+	 * every other rotation whose first edge matches. this is linear for congruent polygons and only becomes quadratic
+	 * for almost regular polygons which aren't congruent
+	 * @param other
+	 * @return true if all edge lengths differ by at most the tolerance and all turns by at most the tolerance relative to
+	 * the average edge length, mirrored sequences are compared as well if one of the signatures allows mirroring
+	 */
+	public boolean matches(ShapeSignature other) {
+		int n = lengths.length;
+		if(other.lengths.length != n) {
+			return false;
+		}
+		if(n == 0) {
+			return true;
+		}
+		double tolerance = Math.max(this.tolerance, other.tolerance);
+		double average = (this.perimeter + other.perimeter) / (2 * n);
+		double angleTolerance = average > 0 ? tolerance / average : Math.PI;
+		int hint = this.start >= 0 && other.start >= 0 ? other.start - this.start : 0;
+		if(matches(lengths, turns, other.lengths, other.turns, hint, tolerance, angleTolerance)) {
+			return true;
+		}
+		if(!this.mirror && !other.mirror) {
+			return false;
+		}
+		// backwards with the turn at the start of each edge, see of(float[], float, boolean)
+		double[] mirroredLengths = new double[n], mirroredTurns = new double[n];
+		for(int i = 0; i < n; i++) {
+			mirroredLengths[i] = other.lengths[n - 1 - i];
+			mirroredTurns[i] = other.turns[(2 * n - 2 - i) % n];
+		}
+		return matches(lengths, turns, mirroredLengths, mirroredTurns, 0, tolerance, angleTolerance);
+	}
+
+	private static boolean matches(double[] lengthsA, double[] turnsA, double[] lengthsB, double[] turnsB, int hint,
+			double tolerance, double angleTolerance) {
+		int n = lengthsA.length;
+		for(int r = 0; r < n; r++) {
+			int rotation = ((hint + r) % n + n) % n;
+			int i = 0;
+			while(i < n) {
+				int j = (rotation + i) % n;
+				if(Math.abs(lengthsA[i] - lengthsB[j]) > tolerance
+						|| Math.abs(Math.IEEEremainder(turnsA[i] - turnsB[j], 2 * Math.PI)) > angleTolerance) {
+					break;
+				}
+				i++;
+			}
+			if(i == n) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static long token(double length, double turn, float tolerance, double angleStep) {
+		long l = Math.round(length / tolerance);
+		long a = Math.round(turn / angleStep);
+		return (l << 32) | (a & 0xffffffffL);
+	}
+
+	private static long[] rotate(long[] tokens, int start) {
+		long[] rotated = new long[tokens.length];
+		for(int i = 0; i < tokens.length; i++) {
+			rotated[i] = tokens[(start + i) % tokens.length];
+		}
+		return rotated;
+	}
+
+	/**
+	 * Booth's algorithm: failure function of the doubled sequence
+	 * @return the start of the lexicographically smallest rotation
+	 */
+	static int leastRotation(long[] s) {
+		int n = s.length;
+		if(n == 0) {
+			return 0;
+		}
+		int[] f = new int[2 * n];
+		Arrays.fill(f, -1);
+		int k = 0;
+		for(int j = 1; j < 2 * n; j++) {
+			long sj = s[j % n];
+			int i = f[j - k - 1];
+			while(i != -1 && sj != s[(k + i + 1) % n]) {
+				if(sj < s[(k + i + 1) % n]) {
+					k = j - i - 1;
+				}
+				i = f[i];
+			}
+			if(sj != s[(k + i + 1) % n]) { // i is -1
+				if(sj < s[k % n]) {
+					k = j;
+				}
+				f[j - k] = -1;
+			} else {
+				f[j - k] = i + 1;
+			}
+		}
+		return k % n;
+	}
+
+	private static int compare(long[] a, long[] b) {
+		for(int i = 0; i < a.length; i++) {
+			if(a[i] != b[i]) return a[i] < b[i] ? -1 : 1;
+		}
+		return 0;
+	}
+
+	/**
+	 * @return number of vertices
+	 */
+	public int size() {
+		return tokens.length;
+	}
+
+	/**
+	 * the sorted lengths of matching signatures differ by at most the tolerance at every position
+	 * @return the unquantized edge lengths in ascending order
+	 */
+	public double[] sortedLengths() {
+		double[] sorted = lengths.clone();
+		Arrays.sort(sorted);
+		return sorted;
+	}
+
+	/**
+	 * @return sum of the unquantized edge lengths
+	 */
+	public double perimeter() {
+		return perimeter;
+	}
+
+	/**
+	 * @return quantization step of the edge lengths
+	 */
+	public float tolerance() {
+		return tolerance;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if(!(obj instanceof ShapeSignature)) {
+			return false;
+		}
+		ShapeSignature other = (ShapeSignature) obj;
+		return other.hash == this.hash && Arrays.equals(other.tokens, this.tokens);
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+}
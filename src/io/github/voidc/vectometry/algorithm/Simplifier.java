@@ -0,0 +1,465 @@
+package io.github.voidc.vectometry.algorithm;
+
+import java.util.Arrays;
+
+import io.github.voidc.vectometry.Polygon;
+import io.github.voidc.vectometry.Segment;
+import io.github.voidc.vectometry.Vector;
+import io.github.voidc.vectometry.util.Coordinates;
+
+/**
+ * vertex reduction for polygons and open polylines
+ * <p>
+ * all methods work on packed coordinates {x0, y0, x1, y1, ...} and return the indices of the kept points in ascending order
+ */
+public final class Simplifier {
+
+	private Simplifier() {}
+
+	/**
+	 * Douglas-Peucker simplification with an explicit stack
+	 * @param xy packed coordinates
+	 * @param tolerance maximum distance between the original and the simplified line
+	 * @param closed true if the points form a ring
+	 * @return indices of the kept points
+	 */
+	public static int[] douglasPeucker(float[] xy, float tolerance, boolean closed) {
+		int n = xy.length / 2;
+		if(n < (closed ? 4 : 3)) {
+			return range(n);
+		}
+		boolean[] keep = new boolean[n];
+		keep[0] = true;
+		float tolSq = tolerance * tolerance;
+		int[] stack = new int[2 * n];
+		if(closed) {
+			int farthest = 1;
+			float max = -1;
+			for(int v = 1; v < n; v++) {
+				float dx = xy[2*v] - xy[0], dy = xy[2*v+1] - xy[1];
+				if(dx * dx + dy * dy > max) {
+					max = dx * dx + dy * dy;
+					farthest = v;
+				}
+			}
+			keep[farthest] = true;
+			reduce(xy, 0, farthest, tolSq, keep, stack);
+			reduce(xy, farthest, n, tolSq, keep, stack);
+			if(count(keep) < 3) {
+				keep[farthestFromChord(xy, 0, farthest, n)] = true;
+			}
+		} else {
+			keep[n-1] = true;
+			reduce(xy, 0, n - 1, tolSq, keep, stack);
+		}
+		return indices(keep);
+	}
+
+	/**
+	 * marks the points between from and to (exclusive) which are needed to stay within the tolerance
+	 * index n refers to the first point of a ring
+	 */
+	private static void reduce(float[] xy, int from, int to, float tolSq, boolean[] keep, int[] stack) {
+		int n = xy.length / 2;
+		int size = 0;
+		stack[size++] = from;
+		stack[size++] = to;
+		while(size > 0) {
+			int last = stack[--size];
+			int first = stack[--size];
+			int l = last % n;
+			float max = -1;
+			int index = -1;
+			for(int v = first + 1; v < last; v++) {
+				float d = Coordinates.segmentDistanceSquared(xy[2*v], xy[2*v+1], xy[2*first], xy[2*first+1], xy[2*l], xy[2*l+1]);
+				if(d > max) {
+					max = d;
+					index = v;
+				}
+			}
+			if(index >= 0 && max > tolSq) {
+				keep[index] = true;
+				stack[size++] = first;
+				stack[size++] = index;
+				stack[size++] = index;
+				stack[size++] = last;
+			}
+		}
+	}
+
+	/**
+	 * @return index of the point with the largest distance to the chord between a and b
+	 */
+	private static int farthestFromChord(float[] xy, int a, int b, int n) {
+		float max = -1;
+		int index = a == 0 && b != 1 ? 1 : (b + 1) % n;
+		for(int v = 0; v < n; v++) {
+			if(v == a || v == b) continue;
+			float d = Coordinates.segmentDistanceSquared(xy[2*v], xy[2*v+1], xy[2*a], xy[2*a+1], xy[2*b], xy[2*b+1]);
+			if(d > max) {
+				max = d;
+				index = v;
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Visvalingam-Whyatt simplification which repeatedly removes the point with the smallest effective area
+	 * @param xy packed coordinates
+	 * @param minArea points whose triangle with their neighbours is smaller than this area are removed
+	 * @param closed true if the points form a ring
+	 * @return indices of the kept points
+	 */
+	public static int[] visvalingam(float[] xy, float minArea, boolean closed) {
+		int n = xy.length / 2;
+		int min = closed ? 3 : 2;
+		if(n <= min) {
+			return range(n);
+		}
+		int[] prev = new int[n];
+		int[] next = new int[n];
+		float[] area = new float[n];
+		int[] heap = new int[n];
+		int[] position = new int[n];
+		int size = 0;
+		for(int v = 0; v < n; v++) {
+			prev[v] = v > 0 ? v - 1 : (closed ? n - 1 : -1);
+			next[v] = v < n - 1 ? v + 1 : (closed ? 0 : -1);
+		}
+		for(int v = 0; v < n; v++) {
+			if(prev[v] < 0 || next[v] < 0) {
+				position[v] = -1;
+				continue;
+			}
+			area[v] = triangleArea(xy, prev[v], v, next[v]);
+			heap[size] = v;
+			position[v] = size;
+			siftUp(heap, position, area, size++);
+		}
+
+		boolean[] keep = new boolean[n];
+		Arrays.fill(keep, true);
+		int remaining = n;
+		while(size > 0 && remaining > min && area[heap[0]] < minArea) {
+			int v = heap[0];
+			float removed = area[v];
+			size = removeTop(heap, position, area, size);
+			keep[v] = false;
+			remaining--;
+			int p = prev[v], q = next[v];
+			next[p] = q;
+			prev[q] = p;
+			size = update(xy, p, prev, next, area, heap, position, size, removed);
+			size = update(xy, q, prev, next, area, heap, position, size, removed);
+		}
+		return indices(keep);
+	}
+
+	private static int update(float[] xy, int v, int[] prev, int[] next, float[] area, int[] heap, int[] position, int size, float removed) {
+		if(position[v] < 0 || prev[v] < 0 || next[v] < 0) {
+			return size;
+		}
+		// the effective area never decreases below the area of an already removed point
+		area[v] = Math.max(triangleArea(xy, prev[v], v, next[v]), removed);
+		siftUp(heap, position, area, position[v]);
+		siftDown(heap, position, area, position[v], size);
+		return size;
+	}
+
+	private static float triangleArea(float[] xy, int a, int b, int c) {
+		float abx = xy[2*b] - xy[2*a], aby = xy[2*b+1] - xy[2*a+1];
+		float acx = xy[2*c] - xy[2*a], acy = xy[2*c+1] - xy[2*a+1];
+		return Math.abs(abx * acy - aby * acx) / 2;
+	}
+
+	private static void siftUp(int[] heap, int[] position, float[] key, int i) {
+		int v = heap[i];
+		while(i > 0) {
+			int parent = (i - 1) >>> 1;
+			if(key[heap[parent]] <= key[v]) break;
+			heap[i] = heap[parent];
+			position[heap[i]] = i;
+			i = parent;
+		}
+		heap[i] = v;
+		position[v] = i;
+	}
+
+	private static void siftDown(int[] heap, int[] position, float[] key, int i, int size) {
+		int v = heap[i];
+		while(2 * i + 1 < size) {
+			int child = 2 * i + 1;
+			if(child + 1 < size && key[heap[child + 1]] < key[heap[child]]) child++;
+			if(key[v] <= key[heap[child]]) break;
+			heap[i] = heap[child];
+			position[heap[i]] = i;
+			i = child;
+		}
+		heap[i] = v;
+		position[v] = i;
+	}
+
+	private static int removeTop(int[] heap, int[] position, float[] key, int size) {
+		position[heap[0]] = -1;
+		size--;
+		if(size > 0) {
+			heap[0] = heap[size];
+			position[heap[0]] = 0;
+			siftDown(heap, position, key, 0, size);
+		}
+		return size;
+	}
+
+	/**
+	 * adds points of the original ring to a simplification until no two simplified edges cross each other
+	 * the original ring is expected to be simple
+	 * <p>
+	 * the simplified edges are stored in a uniform grid over the ring, so each edge is only tested against the edges in the
+	 * cells of its bounding box. after a split only the two new edges are tested again
+	 * @param xy packed coordinates of the original ring
+	 * @param kept ascending indices of the kept points
+	 * @return ascending indices of the kept points of a simple ring
+	 */
+	public static int[] preserveTopology(float[] xy, int[] kept) {
+		int n = xy.length / 2, k = kept.length;
+		if(k < 4) {
+			return kept.clone();
+		}
+		boolean[] keep = new boolean[n];
+		int[] next = new int[n]; // end of the simplified edge which starts at a kept point
+		for(int i = 0; i < k; i++) {
+			keep[kept[i]] = true;
+			next[kept[i]] = kept[(i + 1) % k];
+		}
+		EdgeGrid grid = new EdgeGrid(xy, k);
+		int[] queue = new int[2 * k];
+		int head = 0, tail = 0;
+		for(int a : kept) {
+			grid.add(a, next[a]);
+			queue[tail++] = a;
+		}
+		int[] seen = new int[n]; // the last query which has tested the edge
+		Arrays.fill(seen, -1);
+		while(head < tail) {
+			int query = head;
+			int a = queue[head++];
+			int b = next[a];
+			check:
+			for(int cell : grid.cells(a, b)) {
+				for(int entry = grid.head[cell]; entry >= 0; entry = grid.link[entry]) {
+					int c = grid.edge[entry], d = next[c];
+					if(c == a || seen[c] == query || b == c || d == a) continue; // the same, already tested or an adjacent edge
+					seen[c] = query;
+					if(!crosses(xy, a, b, c, d)) continue;
+					int m = split(xy, a, b, n), o = split(xy, c, d, n);
+					for(int[] edge : new int[][] {{a, m, b}, {c, o, d}}) {
+						if(edge[1] < 0) continue;
+						keep[edge[1]] = true;
+						next[edge[0]] = edge[1];
+						next[edge[1]] = edge[2];
+						if(tail + 2 > queue.length) queue = Arrays.copyOf(queue, 2 * queue.length);
+						for(int v = 0; v < 2; v++) {
+							grid.add(edge[v], edge[v+1]);
+							queue[tail++] = edge[v];
+						}
+					}
+					if(m >= 0) {
+						break check; // the new parts of this edge are tested on their own
+					} else if(o >= 0) {
+						seen[o] = query; // both parts of the other edge are in the queue and test against this edge
+					}
+				}
+			}
+		}
+		return indices(keep);
+	}
+
+	/**
+	 * uniform grid of edges between points of a ring, each edge is listed in all cells of its bounding box.
+	 * an edge is identified by its first point, entries of edges which have been split are tested again harmlessly
+	 */
+	private static final class EdgeGrid {
+		private final float[] xy;
+		private final float minX, minY, cellSize;
+		private final int columns, rows;
+		final int[] head;
+		int[] edge = new int[64], link = new int[64];
+		private int entries;
+
+		EdgeGrid(float[] xy, int edges) {
+			this.xy = xy;
+			float x0 = Float.POSITIVE_INFINITY, y0 = Float.POSITIVE_INFINITY, x1 = Float.NEGATIVE_INFINITY, y1 = Float.NEGATIVE_INFINITY;
+			for(int i = 0; i + 1 < xy.length; i += 2) {
+				x0 = Math.min(x0, xy[i]);
+				x1 = Math.max(x1, xy[i]);
+				y0 = Math.min(y0, xy[i+1]);
+				y1 = Math.max(y1, xy[i+1]);
+			}
+			this.minX = x0;
+			this.minY = y0;
+			float size = (float) Math.sqrt((double) Math.max(x1 - x0, Float.MIN_NORMAL) * Math.max(y1 - y0, Float.MIN_NORMAL) / edges);
+			this.cellSize = size > 0 ? size : 1;
+			this.columns = (int) Math.min((x1 - x0) / cellSize + 1, 1 << 12);
+			this.rows = (int) Math.min((y1 - y0) / cellSize + 1, 1 << 12);
+			this.head = new int[columns * rows];
+			Arrays.fill(head, -1);
+		}
+
+		private int column(float x) {
+			return Math.max(0, Math.min(columns - 1, (int) ((x - minX) / cellSize)));
+		}
+
+		private int row(float y) {
+			return Math.max(0, Math.min(rows - 1, (int) ((y - minY) / cellSize)));
+		}
+
+		/**
+		 * @return the cells which overlap the bounding box of the edge
+		 */
+		int[] cells(int a, int b) {
+			int c0 = column(Math.min(xy[2*a], xy[2*b])), c1 = column(Math.max(xy[2*a], xy[2*b]));
+			int r0 = row(Math.min(xy[2*a+1], xy[2*b+1])), r1 = row(Math.max(xy[2*a+1], xy[2*b+1]));
+			int[] cells = new int[(c1 - c0 + 1) * (r1 - r0 + 1)];
+			int i = 0;
+			for(int r = r0; r <= r1; r++) {
+				for(int c = c0; c <= c1; c++) {
+					cells[i++] = r * columns + c;
+				}
+			}
+			return cells;
+		}
+
+		void add(int a, int b) {
+			for(int cell : this.cells(a, b)) {
+				if(entries == edge.length) {
+					edge = Arrays.copyOf(edge, 2 * entries);
+					link = Arrays.copyOf(link, 2 * entries);
+				}
+				edge[entries] = a;
+				link[entries] = head[cell];
+				head[cell] = entries++;
+			}
+		}
+	}
+
+	/**
+	 * @return the point between a and b with the largest distance to the edge from a to b, -1 if there is no point between them
+	 */
+	private static int split(float[] xy, int a, int b, int n) {
+		int end = b > a ? b : b + n;
+		if(end - a < 2) {
+			return -1;
+		}
+		float max = -1;
+		int index = -1;
+		for(int w = a + 1; w < end; w++) {
+			int v = w % n;
+			float d = Coordinates.segmentDistanceSquared(xy[2*v], xy[2*v+1], xy[2*a], xy[2*a+1], xy[2*b], xy[2*b+1]);
+			if(d > max) {
+				max = d;
+				index = v;
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * @return true if the segment from a to b touches or crosses the segment from c to d
+	 */
+	static boolean crosses(float[] xy, int a, int b, int c, int d) {
+		double o1 = orientation(xy, a, b, c), o2 = orientation(xy, a, b, d);
+		double o3 = orientation(xy, c, d, a), o4 = orientation(xy, c, d, b);
+		if(((o1 > 0 && o2 < 0) || (o1 < 0 && o2 > 0)) && ((o3 > 0 && o4 < 0) || (o3 < 0 && o4 > 0))) {
+			return true;
+		}
+		return (o1 == 0 && onSegment(xy, a, b, c)) || (o2 == 0 && onSegment(xy, a, b, d))
+			|| (o3 == 0 && onSegment(xy, c, d, a)) || (o4 == 0 && onSegment(xy, c, d, b));
+	}
+
+	private static double orientation(float[] xy, int a, int b, int c) {
+		return ((double) xy[2*b] - xy[2*a]) * ((double) xy[2*c+1] - xy[2*a+1]) - ((double) xy[2*b+1] - xy[2*a+1]) * ((double) xy[2*c] - xy[2*a]);
+	}
+
+	private static boolean onSegment(float[] xy, int a, int b, int c) {
+		return Math.min(xy[2*a], xy[2*b]) <= xy[2*c] && xy[2*c] <= Math.max(xy[2*a], xy[2*b])
+			&& Math.min(xy[2*a+1], xy[2*b+1]) <= xy[2*c+1] && xy[2*c+1] <= Math.max(xy[2*a+1], xy[2*b+1]);
+	}
+
+	/**
+	 * @param poly
+	 * @param tolerance
+	 * @return simple polygon whose outline differs at most by the tolerance from the given polygon
+	 * @see #douglasPeucker(float[], float, boolean)
+	 * @see #preserveTopology(float[], int[])
+	 */
+	public static Polygon simplify(Polygon poly, float tolerance) {
+		float[] xy = poly.coordinates();
+		int[] kept = preserveTopology(xy, douglasPeucker(xy, tolerance, true));
+		return new Polygon(select(poly.vertices, kept));
+	}
+
+	/**
+	 * @param path points of an open polyline
+	 * @param tolerance
+	 * @return simplified polyline with the same start and end point
+	 */
+	public static Vector[] simplify(Vector[] path, float tolerance) {
+		return select(path, douglasPeucker(Coordinates.of(path), tolerance, false));
+	}
+
+	/**
+	 * @param chain connected segments where each segment starts at the end of the previous one
+	 * @param tolerance
+	 * @return simplified chain of segments
+	 */
+	public static Segment[] simplify(Segment[] chain, float tolerance) {
+		if(chain.length == 0) {
+			return chain;
+		}
+		Vector[] path = new Vector[chain.length + 1];
+		for(int s = 0; s < chain.length; s++) {
+			path[s] = chain[s].pointA();
+		}
+		path[chain.length] = chain[chain.length - 1].pointB();
+		Vector[] simplified = simplify(path, tolerance);
+		Segment[] result = new Segment[simplified.length - 1];
+		for(int s = 0; s < result.length; s++) {
+			result[s] = new Segment(simplified[s], simplified[s + 1]);
+		}
+		return result;
+	}
+
+	private static Vector[] select(Vector[] vectors, int[] indices) {
+		Vector[] selected = new Vector[indices.length];
+		for(int i = 0; i < indices.length; i++) {
+			selected[i] = vectors[indices[i]];
+		}
+		return selected;
+	}
+
+	private static int count(boolean[] keep) {
+		int count = 0;
+		for(boolean k : keep) {
+			if(k) count++;
+		}
+		return count;
+	}
+
+	private static int[] indices(boolean[] keep) {
+		int[] indices = new int[count(keep)];
+		for(int v = 0, i = 0; v < keep.length; v++) {
+			if(keep[v]) indices[i++] = v;
+		}
+		return indices;
+	}
+
+	private static int[] range(int n) {
+		int[] indices = new int[n];
+		for(int v = 0; v < n; v++) {
+			indices[v] = v;
+		}
+		return indices;
+	}
+
+}
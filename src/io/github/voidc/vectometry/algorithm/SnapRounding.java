@@ -0,0 +1,297 @@
+package io.github.voidc.vectometry.algorithm;
+
+import java.util.Arrays;
+
+import io.github.voidc.vectometry.util.FloatList;
+
+/**
+ * snap rounding of line segments (Hobby): the pixels which contain an end point or a crossing become hot, and every
+ * segment is replaced by the path through the centers of all hot pixels which it passes. the rounded segments only meet at
+ * their end points or overlap, so their arrangement can be computed exactly in float arithmetic
+ * <p>
+ * the pixels are squares with the size of the float ulp of the largest coordinate, so all their centers are floats. a pixel
+ * contains its left and bottom border, which is decided exactly by shifting the pixels by an infinitesimal amount to the
+ * lower left. crossing segments and the hot pixels along a segment are found in a uniform grid of buckets with about one
+ * bucket per segment, each segment is only stored in the buckets which it passes
+ */
+final class SnapRounding {
+	private static final long OFFSET = 1L << 30; // makes the pixel coordinates of the sort keys positive
+
+	private final float[] segments;
+	private final int n;
+	private final double size; // edge length of the pixels
+	private final double minX, minY, width, height; // origin and size of the buckets
+	private final int columns, rows;
+	private int[] cells = new int[16]; // buckets found by the last visit
+	private int cellCount;
+	private long[] hot = new long[16];
+	private int hotCount;
+
+	private SnapRounding(float[] segments, float max) {
+		this.segments = segments;
+		this.n = segments.length / 4;
+		this.size = Math.ulp(max);
+		double x0 = Double.POSITIVE_INFINITY, y0 = Double.POSITIVE_INFINITY;
+		double x1 = Double.NEGATIVE_INFINITY, y1 = Double.NEGATIVE_INFINITY;
+		for(int i = 0; i < segments.length; i += 2) {
+			x0 = Math.min(x0, segments[i]);
+			x1 = Math.max(x1, segments[i]);
+			y0 = Math.min(y0, segments[i+1]);
+			y1 = Math.max(y1, segments[i+1]);
+		}
+		this.minX = x0;
+		this.minY = y0;
+		int grid = (int) Math.ceil(Math.sqrt(n));
+		this.columns = grid;
+		this.rows = grid;
+		this.width = Math.max((x1 - x0) / grid, size);
+		this.height = Math.max((y1 - y0) / grid, size);
+	}
+
+	/**
+	 * @param segments packed end points of the directed segments (x0, y0, x1, y1), all coordinates have to be finite
+	 * @return packed end points of the rounded segments, which keep the directions of the segments they are part of
+	 */
+	static float[] round(float[] segments) {
+		float max = 0;
+		for(float value : segments) {
+			max = Math.max(max, Math.abs(value));
+		}
+		if(max == 0) {
+			return segments;
+		}
+		SnapRounding rounding = new SnapRounding(segments, max);
+		rounding.crossings();
+		return rounding.snap();
+	}
+
+	/**
+	 * makes the pixels of all end points and crossings hot
+	 */
+	private void crossings() {
+		float[] s = segments;
+		for(int i = 0; i < s.length; i += 2) {
+			this.heat(s[i], s[i+1]);
+		}
+		int[][] index = this.index(false, n);
+		int[] start = index[0], items = index[1];
+		int[] mark = new int[n]; // last segment which has been tested against the segment
+		Arrays.fill(mark, -1);
+		for(int a = 0; a < n; a++) {
+			this.visitSegment(a);
+			for(int c = 0; c < cellCount; c++) {
+				for(int i = start[cells[c]]; i < start[cells[c] + 1]; i++) {
+					int b = items[i];
+					if(b <= a || mark[b] == a) continue;
+					mark[b] = a;
+					this.cross(4 * a, 4 * b);
+				}
+			}
+		}
+	}
+
+	/**
+	 * makes the pixel of the crossing hot if the segments properly cross each other,
+	 * all other contacts happen at end points which are hot anyway
+	 */
+	private void cross(int i, int j) {
+		float[] s = segments;
+		if(Math.max(s[i], s[i+2]) < Math.min(s[j], s[j+2]) || Math.max(s[j], s[j+2]) < Math.min(s[i], s[i+2])
+				|| Math.max(s[i+1], s[i+3]) < Math.min(s[j+1], s[j+3]) || Math.max(s[j+1], s[j+3]) < Math.min(s[i+1], s[i+3])) {
+			return;
+		}
+		double o1 = Math.signum(Predicates.orient(s[i], s[i+1], s[i+2], s[i+3], s[j], s[j+1]));
+		double o2 = Math.signum(Predicates.orient(s[i], s[i+1], s[i+2], s[i+3], s[j+2], s[j+3]));
+		double o3 = Math.signum(Predicates.orient(s[j], s[j+1], s[j+2], s[j+3], s[i], s[i+1]));
+		double o4 = Math.signum(Predicates.orient(s[j], s[j+1], s[j+2], s[j+3], s[i+2], s[i+3]));
+		if(o1 * o2 >= 0 || o3 * o4 >= 0) {
+			return;
+		}
+		double px = s[i], py = s[i+1], rx = s[i+2] - px, ry = s[i+3] - py;
+		double qx = s[j], qy = s[j+1], ux = s[j+2] - qx, uy = s[j+3] - qy;
+		double t = ((qx - px) * uy - (qy - py) * ux) / (rx * uy - ry * ux);
+		t = Double.isNaN(t) ? 0.5 : Math.max(0, Math.min(1, t)); // the denominator can round to 0 for almost parallel segments
+		this.heat(px + t * rx, py + t * ry);
+	}
+
+	private void heat(double x, double y) {
+		if(hotCount == hot.length) {
+			hot = Arrays.copyOf(hot, 2 * hotCount);
+		}
+		hot[hotCount++] = key(this.pixel(x), this.pixel(y));
+	}
+
+	/**
+	 * replaces every segment by the path through the hot pixels which it passes
+	 */
+	private float[] snap() {
+		Arrays.sort(hot, 0, hotCount);
+		int unique = 0;
+		for(int i = 0; i < hotCount; i++) {
+			if(i == 0 || hot[i] != hot[i - 1]) hot[unique++] = hot[i];
+		}
+		hotCount = unique;
+		int[][] index = this.index(true, hotCount);
+		int[] start = index[0], items = index[1];
+		int[] mark = new int[hotCount]; // last segment which has been tested against the pixel
+		Arrays.fill(mark, -1);
+		long[] path = new long[16];
+		FloatList result = new FloatList(segments.length);
+		float[] s = segments;
+		for(int e = 0; e < n; e++) {
+			int i = 4 * e;
+			if(this.pixel(s[i]) == this.pixel(s[i+2]) && this.pixel(s[i+1]) == this.pixel(s[i+3])) {
+				continue; // collapses to a point
+			}
+			// the passed pixels form a chain which is monotone in both directions,
+			// so they are ordered by their coordinates in the direction of the segment
+			long signX = s[i+2] < s[i] ? -1 : 1, signY = s[i+3] < s[i+1] ? -1 : 1;
+			int length = 0;
+			this.visitSegment(e);
+			for(int c = 0; c < cellCount; c++) {
+				for(int k = start[cells[c]]; k < start[cells[c] + 1]; k++) {
+					int p = items[k];
+					if(mark[p] == e) continue;
+					mark[p] = e;
+					long column = hot[p] >> 32, row = (int) hot[p];
+					if(this.passes(i, column, row)) {
+						if(length == path.length) {
+							path = Arrays.copyOf(path, 2 * length);
+						}
+						path[length++] = (signX * column + OFFSET) << 32 | (signY * row + OFFSET);
+					}
+				}
+			}
+			Arrays.sort(path, 0, length);
+			for(int k = 1; k < length; k++) {
+				result.add(this.center(signX * ((path[k-1] >>> 32) - OFFSET)), this.center(signY * ((path[k-1] & 0xffffffffL) - OFFSET)));
+				result.add(this.center(signX * ((path[k] >>> 32) - OFFSET)), this.center(signY * ((path[k] & 0xffffffffL) - OFFSET)));
+			}
+		}
+		return result.toArray();
+	}
+
+	/**
+	 * @return true if the segment passes the pixel, which is shifted by (-e, -e^2) for an infinitesimal e
+	 */
+	private boolean passes(int i, long column, long row) {
+		float[] s = segments;
+		double left = (column - 0.5) * size, right = (column + 0.5) * size;
+		double bottom = (row - 0.5) * size, top = (row + 0.5) * size;
+		if(Math.min(s[i], s[i+2]) >= right || Math.max(s[i], s[i+2]) < left
+				|| Math.min(s[i+1], s[i+3]) >= top || Math.max(s[i+1], s[i+3]) < bottom) {
+			return false;
+		}
+		// the sign of a corner on the line is decided by the shift: the first order term is the y direction of the segment,
+		// the second order term the negative x direction
+		int shift = s[i+3] != s[i+1] ? (s[i+3] > s[i+1] ? 1 : -1) : (s[i+2] > s[i] ? -1 : 1);
+		int sides = this.side(i, left, bottom, shift) + this.side(i, right, bottom, shift)
+				+ this.side(i, left, top, shift) + this.side(i, right, top, shift);
+		return sides != 4 && sides != -4;
+	}
+
+	private int side(int i, double x, double y, int shift) {
+		float[] s = segments;
+		double o = Predicates.orient(s[i], s[i+1], s[i+2], s[i+3], x, y);
+		return o > 0 ? 1 : o < 0 ? -1 : shift;
+	}
+
+	// buckets
+
+	/**
+	 * @param pixels true to index the hot pixels, false to index the segments
+	 * @return start offsets of the buckets and the items in their order
+	 */
+	private int[][] index(boolean pixels, int count) {
+		int[] start = new int[columns * rows + 1];
+		for(int item = 0; item < count; item++) {
+			this.visit(pixels, item);
+			for(int c = 0; c < cellCount; c++) {
+				start[cells[c] + 1]++;
+			}
+		}
+		for(int c = 0; c < columns * rows; c++) {
+			start[c + 1] += start[c];
+		}
+		int[] items = new int[start[columns * rows]];
+		int[] fill = Arrays.copyOf(start, columns * rows);
+		for(int item = 0; item < count; item++) {
+			this.visit(pixels, item);
+			for(int c = 0; c < cellCount; c++) {
+				items[fill[cells[c]]++] = item;
+			}
+		}
+		return new int[][] {start, items};
+	}
+
+	private void visit(boolean pixels, int item) {
+		if(pixels) {
+			double x = this.center(hot[item] >> 32), y = this.center((int) hot[item]);
+			cellCount = 0;
+			for(int column = this.column(x - size / 2); column <= this.column(x + size / 2); column++) {
+				for(int row = this.row(y - size / 2); row <= this.row(y + size / 2); row++) {
+					this.addCell(column, row);
+				}
+			}
+		} else {
+			this.visitSegment(item);
+		}
+	}
+
+	/**
+	 * collects the buckets which the segment passes, with a small margin against the rounding of the bucket borders
+	 */
+	private void visitSegment(int e) {
+		float[] s = segments;
+		int i = 4 * e;
+		double ax = s[i], ay = s[i+1], bx = s[i+2], by = s[i+3];
+		if(bx < ax) {
+			ax = s[i+2];
+			ay = s[i+3];
+			bx = s[i];
+			by = s[i+1];
+		}
+		double marginX = width * 1e-6, marginY = height * 1e-6;
+		double slope = bx > ax ? (by - ay) / (bx - ax) : 0;
+		cellCount = 0;
+		for(int column = this.column(ax - marginX), last = this.column(bx + marginX); column <= last; column++) {
+			double from = Math.min(Math.max(ax, minX + column * width), bx);
+			double to = Math.max(Math.min(bx, minX + (column + 1) * width), ax);
+			double y0 = bx > ax ? ay + (from - ax) * slope : ay;
+			double y1 = bx > ax ? ay + (to - ax) * slope : by;
+			for(int row = this.row(Math.min(y0, y1) - marginY), top = this.row(Math.max(y0, y1) + marginY); row <= top; row++) {
+				this.addCell(column, row);
+			}
+		}
+	}
+
+	private void addCell(int column, int row) {
+		if(cellCount == cells.length) {
+			cells = Arrays.copyOf(cells, 2 * cellCount);
+		}
+		cells[cellCount++] = row * columns + column;
+	}
+
+	private int column(double x) {
+		return Math.max(0, Math.min(columns - 1, (int) Math.floor((x - minX) / width)));
+	}
+
+	private int row(double y) {
+		return Math.max(0, Math.min(rows - 1, (int) Math.floor((y - minY) / height)));
+	}
+
+	// pixels
+
+	private long pixel(double value) {
+		return Math.round(value / size);
+	}
+
+	private float center(long pixel) {
+		return (float) (pixel * size);
+	}
+
+	private static long key(long column, long row) {
+		return column << 32 | (row & 0xffffffffL);
+	}
+
+}
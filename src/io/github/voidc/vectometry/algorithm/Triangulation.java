@@ -0,0 +1,94 @@
+package io.github.voidc.vectometry.algorithm;
+
+import io.github.voidc.vectometry.Polygon;
+import io.github.voidc.vectometry.Vector;
+import io.github.voidc.vectometry.util.Coordinates;
+
+/**
+ * triangulation of simple polygons by ear clipping
+ */
+public final class Triangulation {
+
+	private Triangulation() {}
+
+	/**
+	 * @param xy packed coordinates of a simple ring in any orientation
+	 * @return indices of the triangle corners, three per triangle, each triangle is counter clockwise
+	 */
+	public static int[] earClipping(float[] xy) {
+		int n = xy.length / 2;
+		if(n < 3) {
+			return new int[0];
+		}
+		boolean ccw = Coordinates.signedArea(xy, n) >= 0;
+		int[] prev = new int[n], next = new int[n];
+		for(int v = 0; v < n; v++) {
+			prev[v] = ccw ? (v > 0 ? v - 1 : n - 1) : (v + 1 < n ? v + 1 : 0);
+			next[v] = ccw ? (v + 1 < n ? v + 1 : 0) : (v > 0 ? v - 1 : n - 1);
+		}
+		int[] triangles = new int[(n - 2) * 3];
+		int t = 0;
+		int remaining = n;
+		int v = 0;
+		int stall = 0;
+		while(remaining > 3) {
+			int p = prev[v], q = next[v];
+			if(isEar(xy, p, v, q, next) || stall > remaining) {
+				triangles[t++] = p;
+				triangles[t++] = v;
+				triangles[t++] = q;
+				next[p] = q;
+				prev[q] = p;
+				remaining--;
+				stall = 0;
+				v = q;
+			} else {
+				v = q;
+				stall++;
+			}
+		}
+		triangles[t++] = prev[v];
+		triangles[t++] = v;
+		triangles[t++] = next[v];
+		return triangles;
+	}
+
+	private static boolean isEar(float[] xy, int p, int v, int q, int[] next) {
+		if(orientation(xy, p, v, q) <= 0) {
+			return false;
+		}
+		for(int w = next[q]; w != p; w = next[w]) {
+			if(orientation(xy, p, v, w) >= 0 && orientation(xy, v, q, w) >= 0 && orientation(xy, q, p, w) >= 0
+					&& !isCorner(xy, w, p, v, q)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isCorner(float[] xy, int w, int p, int v, int q) {
+		return equal(xy, w, p) || equal(xy, w, v) || equal(xy, w, q);
+	}
+
+	private static boolean equal(float[] xy, int a, int b) {
+		return xy[2*a] == xy[2*b] && xy[2*a+1] == xy[2*b+1];
+	}
+
+	static double orientation(float[] xy, int a, int b, int c) {
+		return ((double) xy[2*b] - xy[2*a]) * ((double) xy[2*c+1] - xy[2*a+1]) - ((double) xy[2*b+1] - xy[2*a+1]) * ((double) xy[2*c] - xy[2*a]);
+	}
+
+	/**
+	 * @param poly simple polygon
+	 * @return triangles which cover the polygon
+	 */
+	public static Polygon[] triangles(Polygon poly) {
+		int[] indices = earClipping(poly.coordinates());
+		Polygon[] triangles = new Polygon[indices.length / 3];
+		for(int t = 0; t < triangles.length; t++) {
+			triangles[t] = new Polygon(new Vector[] {poly.vertices[indices[3*t]], poly.vertices[indices[3*t+1]], poly.vertices[indices[3*t+2]]});
+		}
+		return triangles;
+	}
+
+}
@@ -0,0 +1,432 @@
+package io.github.voidc.vectometry.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import io.github.voidc.vectometry.Aabb;
+import io.github.voidc.vectometry.Circle;
+import io.github.voidc.vectometry.IShape;
+import io.github.voidc.vectometry.Polygon;
+import io.github.voidc.vectometry.PolygonView;
+import io.github.voidc.vectometry.ShapeHandle;
+import io.github.voidc.vectometry.Vector;
+import io.github.voidc.vectometry.metrics.Histogram;
+import io.github.voidc.vectometry.metrics.Metrics;
+import io.github.voidc.vectometry.metrics.Operation;
+import io.github.voidc.vectometry.util.CoordinateKernels;
+import io.github.voidc.vectometry.util.Coordinates;
+import io.github.voidc.vectometry.util.FloatList;
+
+/**
+ * asynchronous point queries over a fixed set of shapes which are answered in micro-batches
+ * <p>
+ * a collector thread drains the pending queries into batches of up to the maximum size, waiting at most the maximum delay
+ * for a batch to fill up. at most one batch per processor is answered at a time, so under load the queries queue up while
+ * the workers are busy and the batches grow by themselves. a batch is answered on a worker with a single pass over the
+ * shapes: the query points are sorted by x, so every shape only tests the points within the x range of its box. polygons
+ * test all of these points at once with the {@link CoordinateKernels}. a nearest query takes part in the same pass, since
+ * a shape which contains the point has the distance 0. otherwise the nearest outline is found in an {@link EdgeTree} over
+ * the edges of all shapes, circles are measured exactly and skipped by their boxes. the workers are virtual threads if the
+ * runtime supports them, otherwise pooled daemon threads
+ */
+public class BatchingQueryExecutor implements AutoCloseable {
+	private static final Query STOP = new Query(0, 0, null, null);
+
+	private static final class Query {
+		final float x, y;
+		final CompletableFuture<int[]> containing;
+		final CompletableFuture<Integer> nearest;
+		final long submitted = System.nanoTime();
+
+		Query(float x, float y, CompletableFuture<int[]> containing, CompletableFuture<Integer> nearest) {
+			this.x = x;
+			this.y = y;
+			this.containing = containing;
+			this.nearest = nearest;
+		}
+	}
+
+	private final IShape[] shapes;
+	private final float[] boxes;
+	private final float[][] rings; // packed coordinates of the polygons, null for other shapes
+	private final float[] outlines; // packed edges of all shapes except for the circles, null if there are none
+	private final int[] owners; // shape of every edge in the outlines
+	private final EdgeTree edges;
+	private final int[] circles;
+	private final int maxBatchSize;
+	private final long maxDelayNanos;
+	private final BlockingQueue<Query> queue = new LinkedBlockingQueue<Query>();
+	private final ExecutorService workers;
+	private final Thread collector;
+	private final Semaphore running = new Semaphore(Runtime.getRuntime().availableProcessors());
+	private final Histogram batchSizes = new Histogram(), queueWait = new Histogram(), queueDepths = new Histogram();
+	private volatile boolean closed;
+
+	/**
+	 * @param shapes which are queried, mustn't be modified while the executor is running
+	 * @param maxBatchSize maximum number of queries which share one pass
+	 * @param maxDelay time a batch may wait for more queries in microseconds, 0 to only take the queries which are already waiting
+	 */
+	public BatchingQueryExecutor(IShape[] shapes, int maxBatchSize, long maxDelay) {
+		if(maxBatchSize < 1) throw new IllegalArgumentException("The batch size must be positive");
+		this.shapes = shapes.clone();
+		this.boxes = Aabb.pack(this.shapes);
+		this.rings = new float[shapes.length][];
+		for(int s = 0; s < shapes.length; s++) {
+			if(shapes[s] instanceof Polygon) {
+				rings[s] = ((Polygon) shapes[s]).coordinates();
+			}
+		}
+		FloatList segments = new FloatList();
+		int[] owners = new int[16];
+		int[] circles = new int[0];
+		for(int s = 0; s < shapes.length; s++) {
+			if(shapes[s] instanceof Circle) {
+				circles = Arrays.copyOf(circles, circles.length + 1);
+				circles[circles.length - 1] = s;
+				continue;
+			}
+			float[] ring = outline(this.shapes[s]);
+			int n = ring.length / 2;
+			for(int v = 0, w = n - 1; v < n; w = v++) {
+				if(segments.size() / 4 == owners.length) owners = Arrays.copyOf(owners, 2 * owners.length);
+				owners[segments.size() / 4] = s;
+				segments.add(ring[2*w], ring[2*w+1]);
+				segments.add(ring[2*v], ring[2*v+1]);
+			}
+		}
+		this.outlines = segments.size() == 0 ? null : segments.toArray();
+		this.owners = owners;
+		this.edges = outlines == null ? null : new EdgeTree(outlines);
+		this.circles = circles;
+		this.maxBatchSize = maxBatchSize;
+		this.maxDelayNanos = TimeUnit.MICROSECONDS.toNanos(maxDelay);
+		this.workers = newWorkers();
+		this.collector = new Thread(this::collect, "vectometry-query-collector");
+		this.collector.setDaemon(true);
+		this.collector.start();
+	}
+
+	/**
+	 * @param shape which isn't a circle
+	 * @return packed coordinates of the outline, the bounds for shapes which aren't polygons
+	 */
+	private static float[] outline(IShape shape) {
+		if(shape instanceof Polygon) {
+			return ((Polygon) shape).coordinates();
+		} else if(shape instanceof ShapeHandle) {
+			return ((ShapeHandle) shape).polygon().coordinates();
+		} else if(shape instanceof PolygonView) {
+			return ((PolygonView) shape).coordinates();
+		}
+		return shape.bounds().coordinates();
+	}
+
+	/**
+	 * @return executor with one virtual thread per task if available (Java 21+), otherwise a cached pool of daemon threads
+	 */
+	static ExecutorService newWorkers() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch(ReflectiveOperationException e) {
+			return Executors.newCachedThreadPool(task -> {
+				Thread thread = new Thread(task, "vectometry-query-worker");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+	}
+
+	/**
+	 * @param point
+	 * @return future of the ascending indices of all shapes which contain the point
+	 */
+	public CompletableFuture<int[]> containing(Vector point) {
+		CompletableFuture<int[]> future = new CompletableFuture<int[]>();
+		this.submit(new Query(point.x, point.y, future, null), future);
+		return future;
+	}
+
+	/**
+	 * @param point
+	 * @return future of the index of the shape which is nearest to the point (the first one which contains it if there is any),
+	 * -1 if there are no shapes
+	 */
+	public CompletableFuture<Integer> nearest(Vector point) {
+		CompletableFuture<Integer> future = new CompletableFuture<Integer>();
+		this.submit(new Query(point.x, point.y, null, future), future);
+		return future;
+	}
+
+	private void submit(Query query, CompletableFuture<?> future) {
+		if(closed) {
+			future.completeExceptionally(new RejectedExecutionException("The executor has been closed"));
+			return;
+		}
+		queue.add(query);
+		// close() may have drained the queue since the first check, if nobody else has taken the query it fails here
+		if(closed && queue.remove(query)) {
+			future.completeExceptionally(new RejectedExecutionException("The executor has been closed"));
+		}
+	}
+
+	private void collect() {
+		List<Query> batch = new ArrayList<Query>(maxBatchSize);
+		boolean stopped = false;
+		while(!stopped) {
+			try {
+				batch.add(queue.take());
+				running.acquire();
+				queueDepths.record(batch.size() + queue.size());
+				long deadline = System.nanoTime() + maxDelayNanos;
+				while(batch.size() < maxBatchSize) {
+					queue.drainTo(batch, maxBatchSize - batch.size());
+					long wait = deadline - System.nanoTime();
+					if(batch.size() >= maxBatchSize || wait <= 0) break;
+					Query next = queue.poll(wait, TimeUnit.NANOSECONDS);
+					if(next == null) break;
+					batch.add(next);
+				}
+			} catch(InterruptedException e) {
+				stopped = true;
+			}
+			stopped |= batch.remove(STOP);
+			if(!batch.isEmpty()) {
+				Query[] queries = batch.toArray(new Query[batch.size()]);
+				batch.clear();
+				try {
+					workers.execute(() -> {
+						try {
+							this.answer(queries);
+						} finally {
+							running.release();
+						}
+					});
+				} catch(RejectedExecutionException e) {
+					running.release();
+					for(Query query : queries) fail(query, e);
+				}
+			} else if(!stopped) {
+				running.release();
+			}
+		}
+		for(Query query = queue.poll(); query != null; query = queue.poll()) {
+			fail(query, new RejectedExecutionException("The executor has been closed"));
+		}
+	}
+
+	private static void fail(Query query, Throwable cause) {
+		if(query.containing != null) query.containing.completeExceptionally(cause);
+		if(query.nearest != null) query.nearest.completeExceptionally(cause);
+	}
+
+	/**
+	 * answers all queries of a batch with one pass over the shapes
+	 */
+	private void answer(Query[] batch) {
+		long start = Metrics.ENABLED ? System.nanoTime() : 0;
+		long now = System.nanoTime();
+		batchSizes.record(batch.length);
+		for(Query query : batch) {
+			queueWait.record(now - query.submitted);
+		}
+		try {
+			// query points sorted by x, the index is stored in the lower half of the sort key
+			long[] keys = new long[batch.length];
+			for(int q = 0; q < batch.length; q++) {
+				keys[q] = ((long) sortable(batch[q].x) << 32) | q;
+			}
+			int[][] hits = this.contains(batch, keys);
+			for(int q = 0; q < batch.length; q++) {
+				if(batch[q].containing != null) {
+					batch[q].containing.complete(hits[q] == null ? new int[0] : hits[q]);
+				} else {
+					batch[q].nearest.complete(hits[q] == null ? this.nearest(batch[q].x, batch[q].y) : hits[q][0]);
+				}
+			}
+		} catch(RuntimeException e) {
+			for(Query query : batch) fail(query, e);
+		}
+		if(Metrics.ENABLED) Metrics.record(Operation.QUERY_BATCH, start, batch.length, 0);
+	}
+
+	/**
+	 * @param keys sort keys of the queries
+	 * @return the ascending indices of the shapes which contain the point of every query, null if there are none
+	 */
+	private int[][] contains(Query[] batch, long[] keys) {
+		Arrays.sort(keys);
+		int n = keys.length;
+		float[] xs = new float[n];
+		for(int i = 0; i < n; i++) {
+			xs[i] = batch[(int) keys[i]].x;
+		}
+		int[][] hits = new int[batch.length][];
+		int[] hitCounts = new int[batch.length];
+		float[] candidates = new float[2 * n];
+		int[] candidateIds = new int[n];
+		boolean[] inside = new boolean[n];
+		for(int s = 0; s < shapes.length; s++) {
+			float minX = boxes[4*s], minY = boxes[4*s+1], maxX = boxes[4*s+2], maxY = boxes[4*s+3];
+			int m = 0;
+			for(int i = lowerBound(xs, minX); i < n && xs[i] <= maxX; i++) {
+				int q = (int) keys[i];
+				if(batch[q].y < minY || batch[q].y > maxY) continue;
+				candidates[2*m] = batch[q].x;
+				candidates[2*m+1] = batch[q].y;
+				candidateIds[m++] = q;
+			}
+			if(m == 0) {
+				continue;
+			} else if(rings[s] != null) {
+				CoordinateKernels.DEFAULT.inPolygon(rings[s], rings[s].length / 2, candidates, m, inside);
+			} else {
+				for(int j = 0; j < m; j++) {
+					inside[j] = shapes[s].contains(new Vector(candidates[2*j], candidates[2*j+1]));
+				}
+			}
+			for(int j = 0; j < m; j++) {
+				if(!inside[j]) continue;
+				int q = candidateIds[j];
+				if(hits[q] == null) {
+					hits[q] = new int[4];
+				} else if(hitCounts[q] == hits[q].length) {
+					hits[q] = Arrays.copyOf(hits[q], 2 * hitCounts[q]);
+				}
+				hits[q][hitCounts[q]++] = s;
+			}
+		}
+		for(int q = 0; q < batch.length; q++) {
+			if(hits[q] != null) hits[q] = Arrays.copyOf(hits[q], hitCounts[q]);
+		}
+		return hits;
+	}
+
+	/**
+	 * @return the index of the shape whose outline is nearest to the point, -1 if there are no shapes
+	 */
+	private int nearest(float x, float y) {
+		int nearest = -1;
+		float best = Float.POSITIVE_INFINITY;
+		if(edges != null) {
+			int e = edges.nearestEdge(x, y);
+			nearest = owners[e];
+			best = (float) Math.sqrt(Coordinates.segmentDistanceSquared(x, y, outlines[4*e], outlines[4*e+1], outlines[4*e+2], outlines[4*e+3]));
+		}
+		for(int s : circles) {
+			float dx = Math.max(0, Math.max(boxes[4*s] - x, x - boxes[4*s+2]));
+			float dy = Math.max(0, Math.max(boxes[4*s+1] - y, y - boxes[4*s+3]));
+			if(dx * dx + dy * dy > best * best) continue; // the box is nearer than the circle
+			Circle circle = (Circle) shapes[s];
+			float distance = Math.abs((float) Math.hypot(x - circle.center.x, y - circle.center.y) - circle.radius);
+			if(distance < best || distance == best && s < nearest) {
+				best = distance;
+				nearest = s;
+			}
+		}
+		return nearest;
+	}
+
+	/**
+	 * @return the first index whose value isn't smaller than the given one
+	 */
+	private static int lowerBound(float[] sorted, float value) {
+		int lo = 0, hi = sorted.length;
+		while(lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if(sorted[mid] < value) lo = mid + 1;
+			else hi = mid;
+		}
+		return lo;
+	}
+
+	/**
+	 * @return int whose signed order matches the order of the floats
+	 */
+	private static int sortable(float value) {
+		int bits = Float.floatToIntBits(value);
+		return bits ^ ((bits >> 31) & 0x7fffffff);
+	}
+
+	/**
+	 * unbatched reference: scans all shapes for a single point
+	 * @param point
+	 * @return the ascending indices of all shapes which contain the point
+	 */
+	public int[] containingNow(Vector point) {
+		int[] hits = new int[4];
+		int count = 0;
+		for(int s = 0; s < shapes.length; s++) {
+			if(point.x < boxes[4*s] || point.x > boxes[4*s+2] || point.y < boxes[4*s+1] || point.y > boxes[4*s+3]) continue;
+			if(shapes[s].contains(point)) {
+				if(count == hits.length) hits = Arrays.copyOf(hits, 2 * count);
+				hits[count++] = s;
+			}
+		}
+		return Arrays.copyOf(hits, count);
+	}
+
+	/**
+	 * @return number of queries waiting for a batch
+	 */
+	public int queueDepth() {
+		return queue.size();
+	}
+
+	/**
+	 * @return distribution of the number of waiting queries whenever a worker becomes free for the next batch
+	 */
+	public Histogram queueDepths() {
+		return queueDepths;
+	}
+
+	/**
+	 * @return distribution of the number of queries per batch
+	 */
+	public Histogram batchSizes() {
+		return batchSizes;
+	}
+
+	/**
+	 * @return distribution of the nanoseconds between the submission of a query and the start of its batch
+	 */
+	public Histogram queueWait() {
+		return queueWait;
+	}
+
+	/**
+	 * answers the queries which have already been submitted, later ones fail with a {@link RejectedExecutionException}
+	 */
+	@Override
+	public void close() {
+		if(closed) {
+			return;
+		}
+		closed = true;
+		queue.add(STOP);
+		try {
+			collector.join();
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		for(Query query = queue.poll(); query != null; query = queue.poll()) { // submitted while closing
+			fail(query, new RejectedExecutionException("The executor has been closed"));
+		}
+		workers.shutdown();
+		try {
+			workers.awaitTermination(1, TimeUnit.MINUTES);
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
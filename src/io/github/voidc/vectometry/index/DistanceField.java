@@ -0,0 +1,114 @@
+package io.github.voidc.vectometry.index;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import io.github.voidc.vectometry.Polygon;
+import io.github.voidc.vectometry.Rectangle;
+import io.github.voidc.vectometry.Vector;
+
+/**
+ * precomputed signed distance grid over a set of polygons
+ * distances are negative inside of a polygon (even-odd rule) and positive outside
+ * <p>
+ * values between the grid points are interpolated bilinearly
+ */
+public class DistanceField {
+	private final float originX, originY, cellSize;
+	private final int columns, rows;
+	private final float[] values;
+
+	/**
+	 * creates a new distance field covering the given area
+	 * @param area axis aligned rectangle which is covered by the grid
+	 * @param cellSize distance between two neighbouring grid points
+	 * @param polygons
+	 */
+	public DistanceField(Rectangle area, float cellSize, Polygon... polygons) {
+		if(cellSize <= 0) throw new IllegalArgumentException("The cell size must be positive");
+		this.originX = area.origin().x;
+		this.originY = area.origin().y;
+		this.cellSize = cellSize;
+		this.columns = (int) Math.ceil(area.width() / cellSize) + 1;
+		this.rows = (int) Math.ceil(area.height() / cellSize) + 1;
+		this.values = new float[columns * rows];
+
+		float[] segments = EdgeTree.segments(polygons);
+		EdgeTree tree = new EdgeTree(segments);
+		IntStream.range(0, rows).parallel().forEach(row -> this.fillRow(row, segments, tree));
+	}
+
+	private void fillRow(int row, float[] segments, EdgeTree tree) {
+		float y = originY + row * cellSize;
+		float[] crossings = new float[16];
+		int count = 0;
+		for(int e = 0; e < segments.length; e += 4) {
+			float ay = segments[e+1], by = segments[e+3];
+			if((ay <= y) != (by <= y)) {
+				float ax = segments[e], bx = segments[e+2];
+				if(count == crossings.length) {
+					crossings = Arrays.copyOf(crossings, count * 2);
+				}
+				crossings[count++] = ax + (y - ay) / (by - ay) * (bx - ax);
+			}
+		}
+		Arrays.sort(crossings, 0, count);
+
+		int crossed = 0;
+		for(int col = 0; col < columns; col++) {
+			float x = originX + col * cellSize;
+			while(crossed < count && crossings[crossed] < x) {
+				crossed++;
+			}
+			float distance = (float) Math.sqrt(tree.distanceSquared(x, y));
+			values[row * columns + col] = crossed % 2 != 0 ? -distance : distance;
+		}
+	}
+
+	/**
+	 * @param x
+	 * @param y
+	 * @return the interpolated signed distance at the given point (points outside of the grid are clamped to its border)
+	 */
+	public float sample(float x, float y) {
+		float gx = (x - originX) / cellSize;
+		float gy = (y - originY) / cellSize;
+		gx = gx < 0 ? 0 : (gx > columns - 1 ? columns - 1 : gx);
+		gy = gy < 0 ? 0 : (gy > rows - 1 ? rows - 1 : gy);
+		int col = Math.min((int) gx, columns - 2);
+		int row = Math.min((int) gy, rows - 2);
+		if(col < 0 || row < 0) { // grid with a single column or row
+			return values[Math.max(row, 0) * columns + Math.max(col, 0)];
+		}
+		float fx = gx - col;
+		float fy = gy - row;
+		int i = row * columns + col;
+		float bottom = values[i] + fx * (values[i + 1] - values[i]);
+		float top = values[i + columns] + fx * (values[i + columns + 1] - values[i + columns]);
+		return bottom + fy * (top - bottom);
+	}
+
+	/**
+	 * @param point
+	 * @return the interpolated signed distance at the given point
+	 * @see #sample(float, float)
+	 */
+	public float sample(Vector point) {
+		return this.sample(point.x, point.y);
+	}
+
+	/**
+	 * @return number of grid points in x direction
+	 */
+	public int columns() {
+		return columns;
+	}
+
+	/**
+	 * @return number of grid points in y direction
+	 */
+	public int rows() {
+		return rows;
+	}
+
+}
@@ -0,0 +1,242 @@
+package io.github.voidc.vectometry.index;
+
+import io.github.voidc.vectometry.Polygon;
+import io.github.voidc.vectometry.Vector;
+import io.github.voidc.vectometry.util.Coordinates;
+
+/**
+ * bounding volume hierarchy over the edges of one or more polygons for nearest edge and distance queries
+ * <p>
+ * the tree is stored in flat arrays, queries don't allocate any objects except for the returned results. the traversal
+ * stack is reused per thread
+ */
+public class EdgeTree {
+	private static final int LEAF_SIZE = 4;
+	private static final int STACK_SIZE = 64;
+	private static final ThreadLocal<int[]> STACKS = ThreadLocal.withInitial(() -> new int[STACK_SIZE]);
+
+	private final float[] edges; // ax, ay, bx, by for each edge in tree order
+	private final int[] edgeIds;
+	private final float[] nodeBounds; // minX, minY, maxX, maxY for each node
+	private final int[] nodeFirst; // first edge for leaves, index of the right child for inner nodes
+	private final int[] nodeCount; // number of edges for leaves, 0 for inner nodes
+	private int nodes;
+
+	/**
+	 * creates a new tree over the given segments
+	 * @param segments packed segments in the form {ax, ay, bx, by, ...}
+	 */
+	public EdgeTree(float[] segments) {
+		int n = segments.length / 4;
+		if(n == 0) throw new IllegalArgumentException("An EdgeTree must at least have 1 edge");
+		int[] order = new int[n];
+		float[] centers = new float[n * 2];
+		for(int e = 0; e < n; e++) {
+			order[e] = e;
+			centers[2*e] = (segments[4*e] + segments[4*e+2]) / 2;
+			centers[2*e+1] = (segments[4*e+1] + segments[4*e+3]) / 2;
+		}
+		int maxNodes = 2 * n;
+		this.nodeBounds = new float[maxNodes * 4];
+		this.nodeFirst = new int[maxNodes];
+		this.nodeCount = new int[maxNodes];
+		this.build(segments, centers, order, 0, n);
+
+		this.edges = new float[n * 4];
+		this.edgeIds = order;
+		for(int e = 0; e < n; e++) {
+			System.arraycopy(segments, order[e] * 4, this.edges, e * 4, 4);
+		}
+	}
+
+	/**
+	 * creates a new tree over the edges of all given polygons
+	 * the edge ids are numbered consecutively in the order of the polygons
+	 * @param polygons
+	 * @return new edge tree
+	 */
+	public static EdgeTree of(Polygon... polygons) {
+		return new EdgeTree(segments(polygons));
+	}
+
+	/**
+	 * @param polygons
+	 * @return the packed edges of all given polygons in the form {ax, ay, bx, by, ...}
+	 */
+	static float[] segments(Polygon... polygons) {
+		int n = 0;
+		for(Polygon poly : polygons) {
+			n += poly.n();
+		}
+		float[] segments = new float[n * 4];
+		int e = 0;
+		for(Polygon poly : polygons) {
+			Vector[] vtc = poly.vertices;
+			for(int v = 0; v < vtc.length; v++, e++) {
+				Vector w = vtc[v + 1 < vtc.length ? v + 1 : 0];
+				segments[4*e] = vtc[v].x;
+				segments[4*e+1] = vtc[v].y;
+				segments[4*e+2] = w.x;
+				segments[4*e+3] = w.y;
+			}
+		}
+		return segments;
+	}
+
+	private int build(float[] segments, float[] centers, int[] order, int from, int to) {
+		int node = nodes++;
+		float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY;
+		float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+		float cMinX = Float.POSITIVE_INFINITY, cMinY = Float.POSITIVE_INFINITY;
+		float cMaxX = Float.NEGATIVE_INFINITY, cMaxY = Float.NEGATIVE_INFINITY;
+		for(int i = from; i < to; i++) {
+			int e = order[i];
+			minX = Math.min(minX, Math.min(segments[4*e], segments[4*e+2]));
+			minY = Math.min(minY, Math.min(segments[4*e+1], segments[4*e+3]));
+			maxX = Math.max(maxX, Math.max(segments[4*e], segments[4*e+2]));
+			maxY = Math.max(maxY, Math.max(segments[4*e+1], segments[4*e+3]));
+			cMinX = Math.min(cMinX, centers[2*e]);
+			cMinY = Math.min(cMinY, centers[2*e+1]);
+			cMaxX = Math.max(cMaxX, centers[2*e]);
+			cMaxY = Math.max(cMaxY, centers[2*e+1]);
+		}
+		nodeBounds[4*node] = minX;
+		nodeBounds[4*node+1] = minY;
+		nodeBounds[4*node+2] = maxX;
+		nodeBounds[4*node+3] = maxY;
+
+		if(to - from <= LEAF_SIZE) {
+			nodeFirst[node] = from;
+			nodeCount[node] = to - from;
+			return node;
+		}
+		int axis = cMaxX - cMinX >= cMaxY - cMinY ? 0 : 1;
+		int mid = (from + to) >>> 1;
+		select(centers, order, from, to - 1, mid, axis);
+		build(segments, centers, order, from, mid);
+		nodeFirst[node] = build(segments, centers, order, mid, to);
+		nodeCount[node] = 0;
+		return node;
+	}
+
+	/**
+	 * partially sorts the order so that the element at index k is at its sorted position
+	 */
+	private static void select(float[] centers, int[] order, int left, int right, int k, int axis) {
+		while(right > left) {
+			float pivot = centers[2 * order[(left + right) >>> 1] + axis];
+			int i = left, j = right;
+			while(i <= j) {
+				while(centers[2 * order[i] + axis] < pivot) i++;
+				while(centers[2 * order[j] + axis] > pivot) j--;
+				if(i <= j) {
+					int tmp = order[i];
+					order[i++] = order[j];
+					order[j--] = tmp;
+				}
+			}
+			if(k <= j) {
+				right = j;
+			} else if(k >= i) {
+				left = i;
+			} else {
+				return;
+			}
+		}
+	}
+
+	private float boxDistanceSquared(int node, float x, float y) {
+		float dx = Math.max(0, Math.max(nodeBounds[4*node] - x, x - nodeBounds[4*node+2]));
+		float dy = Math.max(0, Math.max(nodeBounds[4*node+1] - y, y - nodeBounds[4*node+3]));
+		return dx * dx + dy * dy;
+	}
+
+	/**
+	 * @param x
+	 * @param y
+	 * @return position of the nearest edge in tree order
+	 * @throws IllegalArgumentException if the point isn't finite
+	 */
+	private int nearest(float x, float y) {
+		if(!Float.isFinite(x) || !Float.isFinite(y)) throw new IllegalArgumentException("The point must be finite");
+		int[] stack = STACKS.get();
+		int size = 0;
+		stack[size++] = 0;
+		float best = Float.POSITIVE_INFINITY;
+		int bestEdge = -1;
+		while(size > 0) {
+			int node = stack[--size];
+			if(boxDistanceSquared(node, x, y) >= best) {
+				continue;
+			}
+			int count = nodeCount[node];
+			if(count > 0) {
+				for(int i = nodeFirst[node], end = i + count; i < end; i++) {
+					float d = Coordinates.segmentDistanceSquared(x, y, edges[4*i], edges[4*i+1], edges[4*i+2], edges[4*i+3]);
+					if(d < best) {
+						best = d;
+						bestEdge = i;
+					}
+				}
+			} else {
+				int left = node + 1;
+				int right = nodeFirst[node];
+				if(boxDistanceSquared(left, x, y) < boxDistanceSquared(right, x, y)) {
+					stack[size++] = right;
+					stack[size++] = left;
+				} else {
+					stack[size++] = left;
+					stack[size++] = right;
+				}
+			}
+		}
+		if(bestEdge < 0) throw new IllegalArgumentException("No edge has a finite distance to the point");
+		return bestEdge;
+	}
+
+	/**
+	 * @param x
+	 * @param y
+	 * @return the id of the edge which is nearest to the given point
+	 */
+	public int nearestEdge(float x, float y) {
+		return edgeIds[nearest(x, y)];
+	}
+
+	/**
+	 * @param x
+	 * @param y
+	 * @return the squared distance between the given point and the nearest edge
+	 */
+	public float distanceSquared(float x, float y) {
+		int i = nearest(x, y);
+		return Coordinates.segmentDistanceSquared(x, y, edges[4*i], edges[4*i+1], edges[4*i+2], edges[4*i+3]);
+	}
+
+	/**
+	 * @param point
+	 * @return the distance between the given point and the nearest edge
+	 */
+	public float distance(Vector point) {
+		return (float) Math.sqrt(distanceSquared(point.x, point.y));
+	}
+
+	/**
+	 * @param point
+	 * @return the point on the nearest edge which is nearest to the given point
+	 */
+	public Vector nearestPoint(Vector point) {
+		int i = nearest(point.x, point.y);
+		float ax = edges[4*i], ay = edges[4*i+1], bx = edges[4*i+2], by = edges[4*i+3];
+		float t = Coordinates.segmentParameter(point.x, point.y, ax, ay, bx, by);
+		return new Vector(ax + t * (bx - ax), ay + t * (by - ay));
+	}
+
+	/**
+	 * @return number of edges in this tree
+	 */
+	public int size() {
+		return edgeIds.length;
+	}
+
+}
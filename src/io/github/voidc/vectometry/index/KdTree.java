@@ -0,0 +1,348 @@
+package io.github.voidc.vectometry.index;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+import io.github.voidc.vectometry.Aabb;
+import io.github.voidc.vectometry.Vector;
+import io.github.voidc.vectometry.util.Coordinates;
+
+/**
+ * static 2D tree over a point set for nearest neighbour, radius and box queries
+ * <p>
+ * the tree is implicit: the points are reordered so that the median of every range is in its middle, with the
+ * smaller half before and the larger half after it, split alternately by x and y. there are no node objects, queries
+ * only compare squared distances and write their results into buffers of the caller. the tree is immutable, so it can
+ * be queried from several threads
+ */
+public class KdTree {
+	private static final int LEAF_SIZE = 8;
+	private static final int PARALLEL_SIZE = 1 << 15;
+
+	private final float[] xy; // coordinates in tree order
+	private final int[] ids; // index of each point in the input
+
+	/**
+	 * @param xy packed coordinates of the points, the ids of the results are indices into this array
+	 */
+	public KdTree(float[] xy) {
+		this(xy, false);
+	}
+
+	/**
+	 * @param xy packed coordinates of the points, the ids of the results are indices into this array
+	 * @param parallel if true, large subtrees are built in parallel on the common pool
+	 */
+	public KdTree(float[] xy, boolean parallel) {
+		int n = xy.length / 2;
+		this.xy = new float[2 * n];
+		System.arraycopy(xy, 0, this.xy, 0, 2 * n);
+		this.ids = new int[n];
+		for(int i = 0; i < n; i++) {
+			ids[i] = i;
+		}
+		if(parallel && n > PARALLEL_SIZE) {
+			ForkJoinPool.commonPool().invoke(new Build(0, n, 0));
+		} else {
+			this.build(0, n, 0);
+		}
+	}
+
+	/**
+	 * @param points
+	 * @return new tree over the given points
+	 */
+	public static KdTree of(Vector... points) {
+		return new KdTree(Coordinates.of(points));
+	}
+
+	/**
+	 * @return number of points
+	 */
+	public int size() {
+		return ids.length;
+	}
+
+	private class Build extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final int lo, hi, depth;
+
+		Build(int lo, int hi, int depth) {
+			this.lo = lo;
+			this.hi = hi;
+			this.depth = depth;
+		}
+
+		@Override
+		protected void compute() {
+			if(hi - lo <= PARALLEL_SIZE) {
+				build(lo, hi, depth);
+				return;
+			}
+			int mid = (lo + hi) >>> 1;
+			select(lo, hi, mid, depth & 1);
+			invokeAll(new Build(lo, mid, depth + 1), new Build(mid + 1, hi, depth + 1));
+		}
+	}
+
+	private void build(int lo, int hi, int depth) {
+		while(hi - lo > LEAF_SIZE) {
+			int mid = (lo + hi) >>> 1;
+			this.select(lo, hi, mid, depth & 1);
+			this.build(lo, mid, depth + 1);
+			lo = mid + 1;
+			depth++;
+		}
+	}
+
+	/**
+	 * quickselect: moves the k-th smallest point of the range by the given axis to k
+	 */
+	private void select(int lo, int hi, int k, int axis) {
+		hi--;
+		while(hi > lo) {
+			int mid = (lo + hi) >>> 1;
+			// median of three as pivot
+			if(this.key(mid, axis) < this.key(lo, axis)) this.swap(mid, lo);
+			if(this.key(hi, axis) < this.key(lo, axis)) this.swap(hi, lo);
+			if(this.key(hi, axis) < this.key(mid, axis)) this.swap(hi, mid);
+			float pivot = this.key(mid, axis);
+			int i = lo, j = hi;
+			while(i <= j) {
+				while(this.key(i, axis) < pivot) i++;
+				while(this.key(j, axis) > pivot) j--;
+				if(i <= j) {
+					this.swap(i++, j--);
+				}
+			}
+			if(k <= j) hi = j;
+			else if(k >= i) lo = i;
+			else return;
+		}
+	}
+
+	private float key(int i, int axis) {
+		return xy[2*i + axis];
+	}
+
+	private void swap(int i, int j) {
+		float x = xy[2*i], y = xy[2*i+1];
+		xy[2*i] = xy[2*j];
+		xy[2*i+1] = xy[2*j+1];
+		xy[2*j] = x;
+		xy[2*j+1] = y;
+		int id = ids[i];
+		ids[i] = ids[j];
+		ids[j] = id;
+	}
+
+	/**
+	 * @param x
+	 * @param y
+	 * @return id of the nearest point, -1 if the tree is empty
+	 */
+	public int nearest(float x, float y) {
+		int[] id = {-1};
+		float[] distance = {Float.POSITIVE_INFINITY};
+		this.nearest(0, ids.length, 0, x, y, id, distance, 1, new int[1]);
+		return id[0];
+	}
+
+	/**
+	 * @param x
+	 * @param y
+	 * @param k number of neighbours
+	 * @param ids receives the ids of the nearest points, ordered by distance, needs space for k ids
+	 * @param distancesSquared receives the squared distances, needs space for k values
+	 * @return number of neighbours which have been found, less than k if the tree is smaller
+	 */
+	public int nearest(float x, float y, int k, int[] ids, float[] distancesSquared) {
+		if(k <= 0) {
+			return 0;
+		}
+		int[] count = {0};
+		this.nearest(0, this.ids.length, 0, x, y, ids, distancesSquared, k, count);
+		// the max heap is sorted in place by moving the farthest point to the end
+		for(int end = count[0] - 1; end > 0; end--) {
+			swap(ids, distancesSquared, 0, end);
+			siftDown(ids, distancesSquared, 0, end);
+		}
+		return count[0];
+	}
+
+	/**
+	 * @param heap max heap of the k nearest ids so far, ordered by the distances
+	 * @param count number of entries in the heap
+	 */
+	private void nearest(int lo, int hi, int depth, float qx, float qy, int[] heap, float[] distances, int k, int[] count) {
+		while(hi - lo > LEAF_SIZE) {
+			int mid = (lo + hi) >>> 1;
+			this.offer(mid, qx, qy, heap, distances, k, count);
+			float delta = (depth & 1) == 0 ? qx - xy[2*mid] : qy - xy[2*mid+1];
+			if(delta < 0) {
+				this.nearest(lo, mid, depth + 1, qx, qy, heap, distances, k, count);
+				lo = mid + 1;
+			} else {
+				this.nearest(mid + 1, hi, depth + 1, qx, qy, heap, distances, k, count);
+				hi = mid;
+			}
+			if(count[0] == k && delta * delta > distances[0]) {
+				return;
+			}
+			depth++;
+		}
+		for(int i = lo; i < hi; i++) {
+			this.offer(i, qx, qy, heap, distances, k, count);
+		}
+	}
+
+	private void offer(int i, float qx, float qy, int[] heap, float[] distances, int k, int[] count) {
+		float dx = xy[2*i] - qx, dy = xy[2*i+1] - qy;
+		float distance = dx * dx + dy * dy;
+		if(count[0] < k) {
+			// sift up
+			int c = count[0]++;
+			while(c > 0) {
+				int parent = (c - 1) / 2;
+				if(distances[parent] >= distance) break;
+				heap[c] = heap[parent];
+				distances[c] = distances[parent];
+				c = parent;
+			}
+			heap[c] = ids[i];
+			distances[c] = distance;
+		} else if(distance < distances[0]) {
+			heap[0] = ids[i];
+			distances[0] = distance;
+			siftDown(heap, distances, 0, k);
+		}
+	}
+
+	private static void siftDown(int[] heap, float[] distances, int c, int size) {
+		while(true) {
+			int child = 2 * c + 1;
+			if(child >= size) return;
+			if(child + 1 < size && distances[child + 1] > distances[child]) child++;
+			if(distances[child] <= distances[c]) return;
+			swap(heap, distances, c, child);
+			c = child;
+		}
+	}
+
+	private static void swap(int[] heap, float[] distances, int i, int j) {
+		int id = heap[i];
+		heap[i] = heap[j];
+		heap[j] = id;
+		float distance = distances[i];
+		distances[i] = distances[j];
+		distances[j] = distance;
+	}
+
+	/**
+	 * @param x
+	 * @param y
+	 * @param radius
+	 * @param consumer receives the id of every point whose distance isn't greater than the radius
+	 */
+	public void radius(float x, float y, float radius, IntConsumer consumer) {
+		this.radius(0, ids.length, 0, x, y, radius * radius, consumer);
+	}
+
+	/**
+	 * @param x
+	 * @param y
+	 * @param radius
+	 * @param out receives the ids of the points whose distance isn't greater than the radius, as many as fit
+	 * @return number of points within the radius, which may be greater than the length of the buffer
+	 */
+	public int radius(float x, float y, float radius, int[] out) {
+		int[] count = {0};
+		this.radius(x, y, radius, id -> {
+			if(count[0] < out.length) out[count[0]] = id;
+			count[0]++;
+		});
+		return count[0];
+	}
+
+	private void radius(int lo, int hi, int depth, float qx, float qy, float radiusSquared, IntConsumer consumer) {
+		while(hi - lo > LEAF_SIZE) {
+			int mid = (lo + hi) >>> 1;
+			float dx = xy[2*mid] - qx, dy = xy[2*mid+1] - qy;
+			if(dx * dx + dy * dy <= radiusSquared) {
+				consumer.accept(ids[mid]);
+			}
+			float delta = (depth & 1) == 0 ? -dx : -dy;
+			boolean left = delta < 0 || delta * delta <= radiusSquared;
+			boolean right = delta >= 0 || delta * delta <= radiusSquared;
+			if(left && right) {
+				this.radius(lo, mid, depth + 1, qx, qy, radiusSquared, consumer);
+				lo = mid + 1;
+			} else if(left) {
+				hi = mid;
+			} else {
+				lo = mid + 1;
+			}
+			depth++;
+		}
+		for(int i = lo; i < hi; i++) {
+			float dx = xy[2*i] - qx, dy = xy[2*i+1] - qy;
+			if(dx * dx + dy * dy <= radiusSquared) {
+				consumer.accept(ids[i]);
+			}
+		}
+	}
+
+	/**
+	 * @param box
+	 * @param consumer receives the id of every point inside or on the border of the box
+	 */
+	public void box(Aabb box, IntConsumer consumer) {
+		this.box(0, ids.length, 0, box, consumer);
+	}
+
+	/**
+	 * @param box
+	 * @param out receives the ids of the points inside or on the border of the box, as many as fit
+	 * @return number of points in the box, which may be greater than the length of the buffer
+	 */
+	public int box(Aabb box, int[] out) {
+		int[] count = {0};
+		this.box(box, id -> {
+			if(count[0] < out.length) out[count[0]] = id;
+			count[0]++;
+		});
+		return count[0];
+	}
+
+	private void box(int lo, int hi, int depth, Aabb box, IntConsumer consumer) {
+		while(hi - lo > LEAF_SIZE) {
+			int mid = (lo + hi) >>> 1;
+			float x = xy[2*mid], y = xy[2*mid+1];
+			if(box.contains(x, y)) {
+				consumer.accept(ids[mid]);
+			}
+			float split = (depth & 1) == 0 ? x : y;
+			boolean left = ((depth & 1) == 0 ? box.minX : box.minY) <= split;
+			boolean right = ((depth & 1) == 0 ? box.maxX : box.maxY) >= split;
+			if(left && right) {
+				this.box(lo, mid, depth + 1, box, consumer);
+				lo = mid + 1;
+			} else if(left) {
+				hi = mid;
+			} else if(right) {
+				lo = mid + 1;
+			} else {
+				return;
+			}
+			depth++;
+		}
+		for(int i = lo; i < hi; i++) {
+			if(box.contains(xy[2*i], xy[2*i+1])) {
+				consumer.accept(ids[i]);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,226 @@
+package io.github.voidc.vectometry.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import io.github.voidc.vectometry.Polygon;
+import io.github.voidc.vectometry.algorithm.ShapeSignature;
+
+/**
+ * hash index over the signatures of polygons which finds all congruent polygons
+ * <p>
+ * the sorted edge lengths of congruent polygons differ by at most the tolerance at every position, so the polygons are
+ * bucketed by their number of vertices and the cells of their smallest, median and largest edge length in steps of
+ * 4 * tolerance. a query probes every combination of the cells within the tolerance of its lengths, which are at most
+ * two per length, and verifies every candidate with {@link ShapeSignature#matches(ShapeSignature)}, so it doesn't miss
+ * any congruent polygon. every polygon joins the group of the first polygon which it matches.
+ * the index isn't thread safe
+ */
+public class ShapeIndex {
+	private static final double CELL = 4; // cell width of the edge lengths in tolerances
+
+	private static final class Entry {
+		final ShapeSignature signature;
+		final Polygon polygon;
+		final List<Polygon> group;
+
+		Entry(ShapeSignature signature, Polygon polygon, List<Polygon> group) {
+			this.signature = signature;
+			this.polygon = polygon;
+			this.group = group;
+		}
+	}
+
+	private final float tolerance;
+	private final boolean mirror;
+	private final List<List<Polygon>> groups = new ArrayList<List<Polygon>>();
+	private final Map<Long, List<Entry>> buckets = new HashMap<Long, List<Entry>>();
+	private final Map<Long, List<Entry>> representatives = new HashMap<Long, List<Entry>>(); // first polygon of each group
+	private int size;
+
+	/**
+	 * @param tolerance by which the segment lengths of congruent polygons may differ
+	 * @param mirror if true, mirrored polygons are congruent as well
+	 */
+	public ShapeIndex(float tolerance, boolean mirror) {
+		if(!(tolerance > 0)) throw new IllegalArgumentException("The tolerance must be positive");
+		this.tolerance = tolerance;
+		this.mirror = mirror;
+	}
+
+	/**
+	 * @param tolerance by which the segment lengths of congruent polygons may differ
+	 */
+	public ShapeIndex(float tolerance) {
+		this(tolerance, false);
+	}
+
+	/**
+	 * @param poly
+	 * @return the signature which is used as key for the polygon
+	 */
+	public ShapeSignature signature(Polygon poly) {
+		return ShapeSignature.of(poly.coordinates(), tolerance, mirror);
+	}
+
+	/**
+	 * @return smallest, median and largest edge length
+	 */
+	private static double[] features(ShapeSignature signature) {
+		double[] sorted = signature.sortedLengths();
+		int n = sorted.length;
+		return n == 0 ? new double[3] : new double[] {sorted[0], sorted[n / 2], sorted[n - 1]};
+	}
+
+	private long cell(double length) {
+		return (long) Math.floor(length / (CELL * tolerance));
+	}
+
+	/**
+	 * @return hash of the number of vertices and the cells, colliding buckets are only merged
+	 */
+	private static long key(int size, long[] cells) {
+		long hash = size;
+		for(long cell : cells) {
+			hash = (hash + cell) * 0x9E3779B97F4A7C15L;
+			hash ^= hash >>> 29;
+		}
+		return hash;
+	}
+
+	/**
+	 * @return key of the bucket which contains the signature
+	 */
+	private long bucket(ShapeSignature signature) {
+		double[] features = features(signature);
+		long[] cells = new long[features.length];
+		for(int f = 0; f < features.length; f++) {
+			cells[f] = this.cell(features[f]);
+		}
+		return key(signature.size(), cells);
+	}
+
+	/**
+	 * @return keys of all buckets which can contain signatures matching the given one
+	 */
+	private long[] probes(ShapeSignature signature) {
+		double[] features = features(signature);
+		double margin = tolerance * (1 + 1e-6); // covers the rounding of the cell borders
+		long[] low = new long[features.length], high = new long[features.length];
+		int count = 1;
+		for(int f = 0; f < features.length; f++) {
+			low[f] = this.cell(features[f] - margin);
+			high[f] = this.cell(features[f] + margin);
+			count *= (int) (high[f] - low[f] + 1);
+		}
+		long[] keys = new long[count];
+		long[] cells = new long[features.length];
+		for(int k = 0; k < count; k++) {
+			int rest = k;
+			for(int f = 0; f < features.length; f++) {
+				int width = (int) (high[f] - low[f] + 1);
+				cells[f] = low[f] + rest % width;
+				rest /= width;
+			}
+			keys[k] = key(signature.size(), cells);
+		}
+		// colliding keys would report their bucket twice
+		Arrays.sort(keys);
+		int unique = 0;
+		for(int k = 0; k < count; k++) {
+			if(k == 0 || keys[k] != keys[k - 1]) keys[unique++] = keys[k];
+		}
+		return Arrays.copyOf(keys, unique);
+	}
+
+	/**
+	 * @return the first entry of the buckets whose signature matches the given one, null if there is none
+	 */
+	private static Entry find(Map<Long, List<Entry>> buckets, long[] probes, ShapeSignature signature) {
+		for(long probe : probes) {
+			List<Entry> bucket = buckets.get(probe);
+			if(bucket == null) continue;
+			for(Entry entry : bucket) {
+				if(signature.matches(entry.signature)) {
+					return entry;
+				}
+			}
+		}
+		return null;
+	}
+
+	private void add(ShapeSignature signature, Polygon poly) {
+		long bucket = this.bucket(signature);
+		Entry representative = find(representatives, this.probes(signature), signature);
+		List<Polygon> group;
+		if(representative == null) {
+			group = new ArrayList<Polygon>();
+			groups.add(group);
+			representatives.computeIfAbsent(bucket, key -> new ArrayList<Entry>()).add(new Entry(signature, poly, group));
+		} else {
+			group = representative.group;
+		}
+		group.add(poly);
+		buckets.computeIfAbsent(bucket, key -> new ArrayList<Entry>()).add(new Entry(signature, poly, group));
+		size++;
+	}
+
+	/**
+	 * @param poly which is added to the index
+	 */
+	public void add(Polygon poly) {
+		this.add(this.signature(poly), poly);
+	}
+
+	/**
+	 * computes the signatures in parallel
+	 * @param polygons which are added to the index
+	 */
+	public void addAll(Collection<Polygon> polygons) {
+		List<Polygon> list = new ArrayList<Polygon>(polygons);
+		List<ShapeSignature> signatures = list.parallelStream().map(this::signature).collect(Collectors.toList());
+		for(int i = 0; i < list.size(); i++) {
+			this.add(signatures.get(i), list.get(i));
+		}
+	}
+
+	/**
+	 * @param poly
+	 * @return all polygons of the index which are congruent with the given polygon, in no particular order
+	 */
+	public List<Polygon> congruent(Polygon poly) {
+		ShapeSignature signature = this.signature(poly);
+		List<Polygon> result = new ArrayList<Polygon>();
+		for(long probe : this.probes(signature)) {
+			List<Entry> bucket = buckets.get(probe);
+			if(bucket == null) continue;
+			for(Entry entry : bucket) {
+				if(signature.matches(entry.signature)) {
+					result.add(entry.polygon);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return the polygons of the index, grouped by the first polygon which they match
+	 */
+	public Collection<List<Polygon>> groups() {
+		return Collections.unmodifiableCollection(groups);
+	}
+
+	/**
+	 * @return number of polygons in the index
+	 */
+	public int size() {
+		return size;
+	}
+
+}
@@ -0,0 +1,292 @@
+package io.github.voidc.vectometry.index;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiPredicate;
+
+import io.github.voidc.vectometry.Aabb;
+import io.github.voidc.vectometry.IShape;
+import io.github.voidc.vectometry.Vector;
+
+/**
+ * parallel join of two shape collections on a uniform grid
+ * <p>
+ * both inputs are bucketed by the cells covered by their bounding boxes. a candidate pair which shares several cells
+ * is only tested in the cell containing the lower left corner of the intersection of both boxes, so no pair is
+ * reported twice. the cells are processed as work stealing tasks and every pair is passed to the consumer as soon as
+ * it is found, so the memory only depends on the size of the inputs
+ */
+public class SpatialJoin {
+	private static final int TARGET_CELL_SIZE = 64; // shapes of both sides per cell on average
+	private static final int MAX_CELLS = 1 << 22;
+	private static final long TASK_WORK = 1 << 14; // candidate pairs below which a task isn't split
+	private static final int SAMPLES = 1024;
+
+	/**
+	 * receives the joined pairs, may be called concurrently from several threads
+	 */
+	@FunctionalInterface
+	public interface PairConsumer {
+		/**
+		 * @param left index of the shape of the left input
+		 * @param right index of the shape of the right input
+		 */
+		public void accept(int left, int right);
+	}
+
+	/**
+	 * exact test of a candidate pair whose boxes overlap, has to be thread safe
+	 */
+	@FunctionalInterface
+	public interface PairTest {
+		/**
+		 * @param left index of the shape of the left input
+		 * @param right index of the shape of the right input
+		 * @return true if the pair is part of the result
+		 */
+		public boolean test(int left, int right);
+	}
+
+	private final float[] left, right;
+	private final float originX, originY, cellSize;
+	private final int columns, rows;
+	private final int[] leftStart, leftItems, rightStart, rightItems;
+	private final long[] work; // prefix sums of the candidate pairs per cell
+
+	/**
+	 * partitions both inputs, the cell size is chosen from the number and the extent of the boxes
+	 * @param left packed boxes {minX, minY, maxX, maxY, ...} of the left input
+	 * @param right packed boxes of the right input
+	 */
+	public SpatialJoin(float[] left, float[] right) {
+		this(left, right, 0);
+	}
+
+	/**
+	 * partitions both inputs
+	 * @param left packed boxes {minX, minY, maxX, maxY, ...} of the left input
+	 * @param right packed boxes of the right input
+	 * @param cellSize side length of the grid cells, chosen automatically if not positive
+	 */
+	public SpatialJoin(float[] left, float[] right, float cellSize) {
+		this.left = left;
+		this.right = right;
+		Aabb extent = Aabb.union(left).intersection(Aabb.union(right));
+		if(extent.isEmpty()) {
+			extent = new Aabb(0, 0, 0, 0);
+		}
+		float width = Math.max(extent.width(), Float.MIN_NORMAL), height = Math.max(extent.height(), Float.MIN_NORMAL);
+		if(!(cellSize > 0)) {
+			int n = (left.length + right.length) / 4;
+			float typical = Math.max(medianSize(left), medianSize(right));
+			cellSize = (float) Math.max(Math.sqrt((double) width * height * TARGET_CELL_SIZE / Math.max(n, 1)), typical);
+		}
+		cellSize = (float) Math.max(cellSize, Math.sqrt((double) width * height / MAX_CELLS));
+		this.originX = extent.minX;
+		this.originY = extent.minY;
+		this.cellSize = cellSize;
+		this.columns = (int) Math.min((long) (width / cellSize) + 1, MAX_CELLS);
+		this.rows = (int) Math.min((long) (height / cellSize) + 1, MAX_CELLS / columns);
+
+		int cells = columns * rows;
+		this.leftStart = new int[cells + 1];
+		this.rightStart = new int[cells + 1];
+		this.leftItems = this.bucket(left, extent, leftStart);
+		this.rightItems = this.bucket(right, extent, rightStart);
+		this.work = new long[cells + 1];
+		for(int c = 0; c < cells; c++) {
+			work[c + 1] = work[c] + (long) (leftStart[c + 1] - leftStart[c]) * (rightStart[c + 1] - rightStart[c]);
+		}
+	}
+
+	/**
+	 * @param left shapes of the left input
+	 * @param right shapes of the right input
+	 * @param test exact test for the shapes whose boxes overlap
+	 * @param consumer receives the indices of the joined pairs
+	 */
+	public static void join(IShape[] left, IShape[] right, BiPredicate<IShape, IShape> test, PairConsumer consumer) {
+		new SpatialJoin(Aabb.pack(left), Aabb.pack(right)).join((l, r) -> test.test(left[l], right[r]), consumer);
+	}
+
+	/**
+	 * point in shape join
+	 * @param xy packed coordinates of the points
+	 * @param shapes
+	 * @param consumer receives the index of every point with the index of every shape which contains it
+	 */
+	public static void contains(float[] xy, IShape[] shapes, PairConsumer consumer) {
+		float[] points = new float[xy.length * 2];
+		for(int i = 0; i + 1 < xy.length; i += 2) {
+			points[2*i] = points[2*i+2] = xy[i];
+			points[2*i+1] = points[2*i+3] = xy[i+1];
+		}
+		new SpatialJoin(points, Aabb.pack(shapes)).join((p, s) -> shapes[s].contains(new Vector(xy[2*p], xy[2*p+1])), consumer);
+	}
+
+	/**
+	 * reports every pair with overlapping boxes which passes the test, on the common pool
+	 * @param test exact test of the candidate pairs
+	 * @param consumer receives the joined pairs
+	 */
+	public void join(PairTest test, PairConsumer consumer) {
+		this.join(test, consumer, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * reports every pair with overlapping boxes which passes the test
+	 * @param test exact test of the candidate pairs
+	 * @param consumer receives the joined pairs
+	 * @param pool which runs the cells
+	 */
+	public void join(PairTest test, PairConsumer consumer, ForkJoinPool pool) {
+		pool.invoke(new CellTask(0, columns * rows, test, consumer));
+	}
+
+	/**
+	 * @return number of grid cells
+	 */
+	public int cells() {
+		return columns * rows;
+	}
+
+	/**
+	 * @return number of candidate pairs including the ones which are tested in another cell
+	 */
+	public long candidates() {
+		return work[work.length - 1];
+	}
+
+	private class CellTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final int first, last;
+		private final PairTest test;
+		private final PairConsumer consumer;
+
+		CellTask(int first, int last, PairTest test, PairConsumer consumer) {
+			this.first = first;
+			this.last = last;
+			this.test = test;
+			this.consumer = consumer;
+		}
+
+		@Override
+		protected void compute() {
+			if(last - first > 1 && work[last] - work[first] > TASK_WORK) {
+				int middle = split(first, last);
+				invokeAll(new CellTask(first, middle, test, consumer), new CellTask(middle, last, test, consumer));
+				return;
+			}
+			for(int cell = first; cell < last; cell++) {
+				joinCell(cell, test, consumer);
+			}
+		}
+	}
+
+	/**
+	 * @return the cell which divides the candidate pairs of the range in half
+	 */
+	private int split(int first, int last) {
+		long half = work[first] + (work[last] - work[first]) / 2;
+		int lo = first + 1, hi = last - 1;
+		while(lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if(work[mid] < half) lo = mid + 1;
+			else hi = mid;
+		}
+		return lo;
+	}
+
+	private void joinCell(int cell, PairTest test, PairConsumer consumer) {
+		for(int i = leftStart[cell]; i < leftStart[cell + 1]; i++) {
+			int l = leftItems[i];
+			float lx0 = left[4*l], ly0 = left[4*l+1], lx1 = left[4*l+2], ly1 = left[4*l+3];
+			for(int j = rightStart[cell]; j < rightStart[cell + 1]; j++) {
+				int r = rightItems[j];
+				float rx0 = right[4*r], ry0 = right[4*r+1];
+				if(rx0 > lx1 || right[4*r+2] < lx0 || ry0 > ly1 || right[4*r+3] < ly0) {
+					continue;
+				}
+				// reference point: only the cell containing the lower left corner of the overlap reports the pair
+				if(this.cell(Math.max(lx0, rx0), Math.max(ly0, ry0)) != cell) {
+					continue;
+				}
+				if(test.test(l, r)) {
+					consumer.accept(l, r);
+				}
+			}
+		}
+	}
+
+	private int column(float x) {
+		int column = (int) Math.floor((x - originX) / cellSize);
+		return column < 0 ? 0 : column >= columns ? columns - 1 : column;
+	}
+
+	private int row(float y) {
+		int row = (int) Math.floor((y - originY) / cellSize);
+		return row < 0 ? 0 : row >= rows ? rows - 1 : row;
+	}
+
+	private int cell(float x, float y) {
+		return this.row(y) * columns + this.column(x);
+	}
+
+	/**
+	 * counting sort of the boxes into the cells they cover, boxes outside of the common extent are dropped
+	 * @param boxes packed boxes
+	 * @param start receives the first item of each cell
+	 * @return box indices ordered by cell
+	 */
+	private int[] bucket(float[] boxes, Aabb extent, int[] start) {
+		int n = boxes.length / 4;
+		for(int b = 0; b < n; b++) {
+			if(this.outside(boxes, b, extent)) continue;
+			for(int row = this.row(boxes[4*b+1]), maxRow = this.row(boxes[4*b+3]); row <= maxRow; row++) {
+				for(int column = this.column(boxes[4*b]), maxColumn = this.column(boxes[4*b+2]); column <= maxColumn; column++) {
+					start[row * columns + column + 1]++;
+				}
+			}
+		}
+		for(int c = 0; c + 1 < start.length; c++) {
+			start[c + 1] += start[c];
+		}
+		int[] items = new int[start[start.length - 1]];
+		int[] next = start.clone();
+		for(int b = 0; b < n; b++) {
+			if(this.outside(boxes, b, extent)) continue;
+			for(int row = this.row(boxes[4*b+1]), maxRow = this.row(boxes[4*b+3]); row <= maxRow; row++) {
+				for(int column = this.column(boxes[4*b]), maxColumn = this.column(boxes[4*b+2]); column <= maxColumn; column++) {
+					items[next[row * columns + column]++] = b;
+				}
+			}
+		}
+		return items;
+	}
+
+	private boolean outside(float[] boxes, int b, Aabb extent) {
+		return !(boxes[4*b] <= extent.maxX && boxes[4*b+2] >= extent.minX && boxes[4*b+1] <= extent.maxY && boxes[4*b+3] >= extent.minY);
+	}
+
+	/**
+	 * a few huge boxes would make the mean useless, so the median of a sample is used
+	 * @return typical side length of the boxes
+	 */
+	private static float medianSize(float[] boxes) {
+		int n = boxes.length / 4;
+		if(n == 0) {
+			return 0;
+		}
+		int samples = Math.min(n, SAMPLES);
+		float[] sizes = new float[samples];
+		for(int i = 0; i < samples; i++) {
+			int b = (int) ((long) i * n / samples);
+			sizes[i] = Math.max(boxes[4*b+2] - boxes[4*b], boxes[4*b+3] - boxes[4*b+1]);
+		}
+		Arrays.sort(sizes);
+		return sizes[samples / 2];
+	}
+
+}
@@ -0,0 +1,102 @@
+package io.github.voidc.vectometry.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * flight recorder event of a geometry operation on a large input
+ * <p>
+ * only operations with at least {@link #THRESHOLD} input vertices create events, the threshold is read from the system property
+ * vectometry.jfr.vertices (default 1000). the duration threshold can be configured in the recording settings like for any other event.
+ * instrumented code looks like this:
+ * <pre>
+ * GeometryEvent event = GeometryEvent.start(Operation.MERGE, n);
+ * ...
+ * GeometryEvent.finish(event, result.length);
+ * </pre>
+ */
+@Name(GeometryEvent.NAME)
+@Label("Geometry Operation")
+@Category("Vectometry")
+@Description("Geometry operation on a large input")
+@StackTrace(true)
+public class GeometryEvent extends Event {
+	public static final String NAME = "io.github.voidc.vectometry.Geometry";
+	public static final int THRESHOLD = Integer.getInteger("vectometry.jfr.vertices", 1000);
+
+	private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+	@Label("Operation")
+	String operation;
+
+	@Label("Input Vertices")
+	int inputVertices;
+
+	@Label("Result Size")
+	@Description("Number of vertices, points or polygons of the result")
+	int resultSize;
+
+	@Label("Allocated")
+	@Description("Bytes allocated by the thread during the operation, -1 if the JVM can't measure it")
+	@DataAmount
+	long allocated;
+
+	private static com.sun.management.ThreadMXBean threads() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if(bean instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+			return (com.sun.management.ThreadMXBean) bean;
+		}
+		return null;
+	}
+
+	private static long allocatedBytes() {
+		return THREADS != null && THREADS.isThreadAllocatedMemoryEnabled() ? THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+	}
+
+	/**
+	 * @param operation which is started
+	 * @param inputVertices number of vertices of the input
+	 * @return the started event or null if the input is too small or the event isn't recorded
+	 */
+	public static GeometryEvent start(Operation operation, int inputVertices) {
+		if(inputVertices < THRESHOLD) {
+			return null;
+		}
+		GeometryEvent event = new GeometryEvent();
+		if(!event.isEnabled()) {
+			return null;
+		}
+		event.operation = operation.name();
+		event.inputVertices = inputVertices;
+		event.allocated = allocatedBytes();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * commits the event if it is longer than the threshold of the recording
+	 * @param event returned by {@link #start(Operation, int)}, may be null
+	 * @param resultSize number of vertices, points or polygons of the result
+	 */
+	public static void finish(GeometryEvent event, int resultSize) {
+		if(event == null) {
+			return;
+		}
+		event.end();
+		if(event.shouldCommit()) {
+			event.resultSize = resultSize;
+			long allocated = allocatedBytes();
+			event.allocated = allocated >= 0 && event.allocated >= 0 ? allocated - event.allocated : -1;
+			event.commit();
+		}
+	}
+
+}
@@ -0,0 +1,122 @@
+package io.github.voidc.vectometry.metrics;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * summarizes the geometry events of a flight recording
+ * <p>
+ * usage: java io.github.voidc.vectometry.metrics.GeometryEventAnalyzer recording.jfr [top]
+ * <br>
+ * prints the duration statistics of each operation, the slowest calls and how many of them overlapped with a garbage collection
+ */
+public class GeometryEventAnalyzer {
+
+	private static final class Summary {
+		long count, maxVertices, totalAllocated, duringGc;
+		Duration total = Duration.ZERO, max = Duration.ZERO;
+	}
+
+	private static final class Interval {
+		final Instant start, end;
+
+		Interval(Instant start, Instant end) {
+			this.start = start;
+			this.end = end;
+		}
+
+		boolean overlaps(RecordedEvent event) {
+			return start.isBefore(event.getEndTime()) && event.getStartTime().isBefore(end);
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		if(args.length < 1) {
+			System.err.println("usage: GeometryEventAnalyzer <recording.jfr> [top]");
+			System.exit(1);
+		}
+		Path path = Paths.get(args[0]);
+		int top = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+		List<RecordedEvent> events = new ArrayList<RecordedEvent>();
+		List<Interval> pauses = new ArrayList<Interval>();
+		try(RecordingFile file = new RecordingFile(path)) {
+			while(file.hasMoreEvents()) {
+				RecordedEvent event = file.readEvent();
+				String type = event.getEventType().getName();
+				if(type.equals(GeometryEvent.NAME)) {
+					events.add(event);
+				} else if(type.equals("jdk.GarbageCollection")) {
+					pauses.add(new Interval(event.getStartTime(), event.getEndTime()));
+				}
+			}
+		}
+
+		Map<String, Summary> summaries = new TreeMap<String, Summary>();
+		for(RecordedEvent event : events) {
+			Summary summary = summaries.computeIfAbsent(event.getString("operation"), key -> new Summary());
+			Duration duration = event.getDuration();
+			summary.count++;
+			summary.total = summary.total.plus(duration);
+			if(duration.compareTo(summary.max) > 0) summary.max = duration;
+			summary.maxVertices = Math.max(summary.maxVertices, event.getInt("inputVertices"));
+			summary.totalAllocated += Math.max(0, event.getLong("allocated"));
+			if(overlapsGc(event, pauses)) summary.duringGc++;
+		}
+
+		System.out.println(events.size() + " geometry events, " + pauses.size() + " garbage collections in " + path);
+		System.out.printf("%-14s %8s %12s %12s %12s %14s %10s%n", "operation", "count", "mean ms", "max ms", "max vertices", "allocated MB", "during GC");
+		for(Map.Entry<String, Summary> entry : summaries.entrySet()) {
+			Summary s = entry.getValue();
+			System.out.printf("%-14s %8d %12.3f %12.3f %12d %14.1f %10d%n", entry.getKey(), s.count,
+					millis(s.total) / s.count, millis(s.max), s.maxVertices, s.totalAllocated / 1e6, s.duringGc);
+		}
+
+		events.sort((a, b) -> b.getDuration().compareTo(a.getDuration()));
+		System.out.println();
+		System.out.println("slowest calls:");
+		for(RecordedEvent event : events.subList(0, Math.min(top, events.size()))) {
+			System.out.printf("%10.3f ms %-14s %8d vertices -> %8d %s%s%n", millis(event.getDuration()), event.getString("operation"),
+					event.getInt("inputVertices"), event.getInt("resultSize"), caller(event), overlapsGc(event, pauses) ? " [GC]" : "");
+		}
+	}
+
+	private static double millis(Duration duration) {
+		return duration.toNanos() / 1e6;
+	}
+
+	private static boolean overlapsGc(RecordedEvent event, List<Interval> pauses) {
+		for(Interval pause : pauses) {
+			if(pause.overlaps(event)) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return the first frame outside of the library
+	 */
+	private static String caller(RecordedEvent event) {
+		if(event.getStackTrace() == null) {
+			return "";
+		}
+		for(RecordedFrame frame : event.getStackTrace().getFrames()) {
+			String type = frame.getMethod().getType().getName();
+			if(!type.startsWith("io.github.voidc.vectometry.")) {
+				return "at " + type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+			}
+		}
+		return "";
+	}
+
+}
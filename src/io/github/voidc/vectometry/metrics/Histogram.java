@@ -0,0 +1,114 @@
+package io.github.voidc.vectometry.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * lock-free histogram of non-negative values with logarithmic buckets which are split linearly
+ * <p>
+ * every power of two is divided into 16 buckets, so the reported values are within 1/16 of the recorded ones
+ */
+public class Histogram {
+	private static final int SUB_BITS = 4;
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+	private final AtomicLongArray counts = new AtomicLongArray((64 - SUB_BITS + 1) * SUB_BUCKETS);
+	private final LongAdder count = new LongAdder(), sum = new LongAdder();
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * @param value negative values are counted as 0
+	 */
+	public void record(long value) {
+		if(value < 0) value = 0;
+		counts.incrementAndGet(index(value));
+		count.increment();
+		sum.add(value);
+		long current = max.get();
+		while(value > current && !max.compareAndSet(current, value)) {
+			current = max.get();
+		}
+	}
+
+	private static int index(long value) {
+		if(value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+	}
+
+	/**
+	 * @return the largest value which falls into the bucket
+	 */
+	private static long upperBound(int index) {
+		if(index < SUB_BUCKETS) {
+			return index;
+		}
+		int exponent = index / SUB_BUCKETS + SUB_BITS - 1;
+		long sub = index % SUB_BUCKETS;
+		long lower = (SUB_BUCKETS + sub) << (exponent - SUB_BITS);
+		return lower + (1L << (exponent - SUB_BITS)) - 1;
+	}
+
+	/**
+	 * @return number of recorded values
+	 */
+	public long count() {
+		return count.sum();
+	}
+
+	/**
+	 * @return the largest recorded value
+	 */
+	public long max() {
+		return max.get();
+	}
+
+	/**
+	 * @return the average of the recorded values or 0 if there are none
+	 */
+	public double mean() {
+		long n = count.sum();
+		return n > 0 ? (double) sum.sum() / n : 0;
+	}
+
+	/**
+	 * the counters are read one after another, so values which are recorded concurrently may be missed
+	 * @param quantile between 0 and 1
+	 * @return the value below or at which the given fraction of the recorded values lies
+	 */
+	public long percentile(double quantile) {
+		long total = 0;
+		for(int i = 0; i < counts.length(); i++) {
+			total += counts.get(i);
+		}
+		if(total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(quantile * total));
+		long seen = 0;
+		for(int i = 0; i < counts.length(); i++) {
+			seen += counts.get(i);
+			if(seen >= rank) {
+				return Math.min(upperBound(i), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	/**
+	 * removes all recorded values
+	 */
+	public void reset() {
+		for(int i = 0; i < counts.length(); i++) {
+			counts.set(i, 0);
+		}
+		count.reset();
+		sum.reset();
+		max.set(0);
+	}
+
+}
@@ -0,0 +1,91 @@
+package io.github.voidc.vectometry.metrics;
+
+import java.util.EnumMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * default recorder which keeps latency and input size histograms for every operation
+ */
+public class HistogramRecorder implements MetricsRecorder {
+
+	/**
+	 * measurements of one kind of operation
+	 */
+	public static final class Stats {
+		private final Histogram latency = new Histogram(), inputSize = new Histogram();
+		private final LongAdder allocations = new LongAdder();
+
+		/**
+		 * @return durations in nanoseconds
+		 */
+		public Histogram latency() {
+			return latency;
+		}
+
+		/**
+		 * @return number of vertices of the inputs
+		 */
+		public Histogram inputSize() {
+			return inputSize;
+		}
+
+		/**
+		 * @return total number of vertices allocated for the results
+		 */
+		public long allocations() {
+			return allocations.sum();
+		}
+
+		/**
+		 * @return number of executions
+		 */
+		public long count() {
+			return latency.count();
+		}
+
+		void reset() {
+			latency.reset();
+			inputSize.reset();
+			allocations.reset();
+		}
+	}
+
+	private final EnumMap<Operation, Stats> stats = new EnumMap<Operation, Stats>(Operation.class);
+
+	/**
+	 * creates a recorder with empty histograms
+	 */
+	public HistogramRecorder() {
+		for(Operation operation : Operation.values()) {
+			stats.put(operation, new Stats());
+		}
+	}
+
+	@Override
+	public void record(Operation operation, long nanos, int inputSize, int allocations) {
+		Stats s = stats.get(operation);
+		s.latency.record(nanos);
+		s.inputSize.record(inputSize);
+		if(allocations > 0) {
+			s.allocations.add(allocations);
+		}
+	}
+
+	/**
+	 * @param operation
+	 * @return the measurements of the operation
+	 */
+	public Stats stats(Operation operation) {
+		return stats.get(operation);
+	}
+
+	/**
+	 * removes all measurements
+	 */
+	public void reset() {
+		for(Stats s : stats.values()) {
+			s.reset();
+		}
+	}
+
+}
@@ -0,0 +1,73 @@
+package io.github.voidc.vectometry.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Iterator;
+import java.util.ServiceLoader;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * entry point of the instrumentation
+ * <p>
+ * the metrics are only recorded if the system property vectometry.metrics is true at startup.
+ * instrumented code checks the constant {@link #ENABLED} first, so the JIT removes the instrumentation if it is disabled:
+ * <pre>
+ * long start = Metrics.ENABLED ? System.nanoTime() : 0;
+ * ...
+ * if(Metrics.ENABLED) Metrics.record(Operation.AREA, start, n, 0);
+ * </pre>
+ */
+public final class Metrics {
+	public static final boolean ENABLED = Boolean.getBoolean("vectometry.metrics");
+	public static final String OBJECT_NAME = "io.github.voidc.vectometry:type=Metrics";
+
+	private static final MetricsRecorder RECORDER = ENABLED ? load() : null;
+
+	private Metrics() {}
+
+	/**
+	 * @return the first recorder which is registered as a service or a {@link HistogramRecorder}
+	 */
+	private static MetricsRecorder load() {
+		Iterator<MetricsRecorder> services = ServiceLoader.load(MetricsRecorder.class).iterator();
+		MetricsRecorder recorder = services.hasNext() ? services.next() : new HistogramRecorder();
+		if(recorder instanceof HistogramRecorder && !Boolean.getBoolean("vectometry.metrics.nojmx")) {
+			register((HistogramRecorder) recorder);
+		}
+		return recorder;
+	}
+
+	private static void register(HistogramRecorder recorder) {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if(!server.isRegistered(name)) {
+				server.registerMBean(new MetricsBean(recorder), name);
+			}
+		} catch(JMException e) {
+			throw new IllegalStateException("The metrics could not be registered", e);
+		}
+	}
+
+	/**
+	 * @param operation which has been executed
+	 * @param start value of {@link System#nanoTime()} when the operation started
+	 * @param inputSize number of vertices of the input
+	 * @param allocations number of vertices which have been allocated for the result
+	 */
+	public static void record(Operation operation, long start, int inputSize, int allocations) {
+		if(ENABLED) {
+			RECORDER.record(operation, System.nanoTime() - start, inputSize, allocations);
+		}
+	}
+
+	/**
+	 * @return the active recorder or null if the metrics are disabled
+	 */
+	public static MetricsRecorder recorder() {
+		return RECORDER;
+	}
+
+}
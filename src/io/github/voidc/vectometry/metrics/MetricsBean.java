@@ -0,0 +1,54 @@
+package io.github.voidc.vectometry.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * exposes a {@link HistogramRecorder} over JMX
+ */
+class MetricsBean implements MetricsMXBean {
+	private final HistogramRecorder recorder;
+
+	MetricsBean(HistogramRecorder recorder) {
+		this.recorder = recorder;
+	}
+
+	@Override
+	public Map<String, Long> getCounts() {
+		Map<String, Long> counts = new LinkedHashMap<String, Long>();
+		for(Operation operation : Operation.values()) {
+			counts.put(operation.name(), recorder.stats(operation).count());
+		}
+		return counts;
+	}
+
+	@Override
+	public Map<String, Long> getAllocations() {
+		Map<String, Long> allocations = new LinkedHashMap<String, Long>();
+		for(Operation operation : Operation.values()) {
+			allocations.put(operation.name(), recorder.stats(operation).allocations());
+		}
+		return allocations;
+	}
+
+	@Override
+	public double meanNanos(String operation) {
+		return recorder.stats(Operation.valueOf(operation)).latency().mean();
+	}
+
+	@Override
+	public long percentileNanos(String operation, double quantile) {
+		return recorder.stats(Operation.valueOf(operation)).latency().percentile(quantile);
+	}
+
+	@Override
+	public long percentileInputSize(String operation, double quantile) {
+		return recorder.stats(Operation.valueOf(operation)).inputSize().percentile(quantile);
+	}
+
+	@Override
+	public void reset() {
+		recorder.reset();
+	}
+
+}
@@ -0,0 +1,45 @@
+package io.github.voidc.vectometry.metrics;
+
+import java.util.Map;
+
+/**
+ * management interface of the recorded geometry metrics
+ */
+public interface MetricsMXBean {
+
+	/**
+	 * @return number of executions by operation name
+	 */
+	public Map<String, Long> getCounts();
+
+	/**
+	 * @return number of allocated vertices by operation name
+	 */
+	public Map<String, Long> getAllocations();
+
+	/**
+	 * @param operation name of the operation
+	 * @return average duration in nanoseconds
+	 */
+	public double meanNanos(String operation);
+
+	/**
+	 * @param operation name of the operation
+	 * @param quantile between 0 and 1
+	 * @return duration in nanoseconds below which the given fraction of the executions lies
+	 */
+	public long percentileNanos(String operation, double quantile);
+
+	/**
+	 * @param operation name of the operation
+	 * @param quantile between 0 and 1
+	 * @return input size below which the given fraction of the executions lies
+	 */
+	public long percentileInputSize(String operation, double quantile);
+
+	/**
+	 * removes all measurements
+	 */
+	public void reset();
+
+}
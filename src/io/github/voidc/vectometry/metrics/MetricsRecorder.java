@@ -0,0 +1,19 @@
+package io.github.voidc.vectometry.metrics;
+
+/**
+ * receives the measurements of geometry operations
+ * <p>
+ * implementations are loaded with the {@link java.util.ServiceLoader}, so they can be registered in
+ * META-INF/services/io.github.voidc.vectometry.metrics.MetricsRecorder. they are called concurrently from all threads
+ */
+public interface MetricsRecorder {
+
+	/**
+	 * @param operation which has been executed
+	 * @param nanos duration of the operation
+	 * @param inputSize number of vertices of the input
+	 * @param allocations number of vertices which have been allocated for the result
+	 */
+	public void record(Operation operation, long nanos, int inputSize, int allocations);
+
+}
@@ -0,0 +1,25 @@
+package io.github.voidc.vectometry.metrics;
+
+/**
+ * kinds of geometry operations which are measured
+ */
+public enum Operation {
+	/** point in shape tests */
+	CONTAINS,
+	/** point in polygon tests of many points at once */
+	CONTAINS_BATCH,
+	/** intersections between outlines */
+	INTERSECTIONS,
+	/** union of two polygons */
+	MERGE,
+	/** area calculation */
+	AREA,
+	/** move, rotate and scale */
+	TRANSFORM,
+	/** union of many rings */
+	UNION,
+	/** offsetting of polygons */
+	OFFSET,
+	/** batch of queries answered by one pass over a shape set */
+	QUERY_BATCH
+}
@@ -0,0 +1,471 @@
+package io.github.voidc.vectometry.raster;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import io.github.voidc.vectometry.Circle;
+import io.github.voidc.vectometry.Polygon;
+import io.github.voidc.vectometry.Vector;
+import io.github.voidc.vectometry.algorithm.FillRule;
+
+/**
+ * scanline rasterizer which converts polygons and circles into coverage masks
+ * <p>
+ * the pixel (i, j) of a buffer covers the area [x + i, x + i + 1) x [y + j, y + j + 1) where x and y are the origin of the buffer,
+ * so large images can be rendered in tiles by moving the origin.
+ * polygons are filled with an active edge table, the horizontal coverage of each (sub-)scanline is computed exactly.
+ * circles are filled row by row from their analytic chords without flattening them
+ */
+public class Rasterizer {
+	private static final int BAND_HEIGHT = 64;
+
+	/**
+	 * number of sub-scanlines per pixel row
+	 */
+	public enum Antialiasing {
+		/** a pixel is filled if its center is inside */
+		NONE(1),
+		/** 4 sub-scanlines with exact horizontal coverage */
+		X4(4),
+		/** 16 sub-scanlines with exact horizontal coverage */
+		X16(16);
+
+		private final int samples;
+
+		private Antialiasing(int samples) {
+			this.samples = samples;
+		}
+
+		/**
+		 * @return number of sub-scanlines per pixel row
+		 */
+		public int samples() {
+			return samples;
+		}
+	}
+
+	private final FillRule rule;
+	private final Antialiasing antialiasing;
+	private final boolean parallel;
+
+	/**
+	 * @param rule which decides whether the area between two edges is inside
+	 * @param antialiasing
+	 * @param parallel if true, bands of rows are rasterized in parallel
+	 */
+	public Rasterizer(FillRule rule, Antialiasing antialiasing, boolean parallel) {
+		this.rule = rule;
+		this.antialiasing = antialiasing;
+		this.parallel = parallel;
+	}
+
+	/**
+	 * creates a sequential rasterizer
+	 * @param rule which decides whether the area between two edges is inside
+	 * @param antialiasing
+	 */
+	public Rasterizer(FillRule rule, Antialiasing antialiasing) {
+		this(rule, antialiasing, false);
+	}
+
+	/**
+	 * overwrites the mask with the coverage of the polygons, every pixel of the area is written
+	 * @param polygons rings which are combined by the fill rule
+	 * @param mask receives the coverage from 0 to 255
+	 * @param offset index of the first pixel in the mask
+	 * @param stride distance between two rows in the mask
+	 * @param x origin of the mask
+	 * @param y origin of the mask
+	 * @param width number of columns
+	 * @param height number of rows
+	 */
+	public void fill(Polygon[] polygons, byte[] mask, int offset, int stride, int x, int y, int width, int height) {
+		checkBounds(mask.length, offset, stride, width, height);
+		EdgeTable edges = new EdgeTable(polygons, x, y, height);
+		this.rasterize(width, height, (first, last, coverage, writer) -> edges.scan(first, last, coverage, writer, rule), new MaskWriter(mask, offset, stride));
+	}
+
+	/**
+	 * blends the color into the pixels which are covered by the polygons, uncovered pixels aren't changed
+	 * @param polygons rings which are combined by the fill rule
+	 * @param pixels ARGB pixels
+	 * @param offset index of the first pixel
+	 * @param stride distance between two rows
+	 * @param x origin of the pixels
+	 * @param y origin of the pixels
+	 * @param width number of columns
+	 * @param height number of rows
+	 * @param argb color whose alpha is multiplied by the coverage
+	 */
+	public void fill(Polygon[] polygons, int[] pixels, int offset, int stride, int x, int y, int width, int height, int argb) {
+		checkBounds(pixels.length, offset, stride, width, height);
+		EdgeTable edges = new EdgeTable(polygons, x, y, height);
+		this.rasterize(width, height, (first, last, coverage, writer) -> edges.scan(first, last, coverage, writer, rule), new ColorWriter(pixels, offset, stride, argb));
+	}
+
+	/**
+	 * overwrites the mask with the coverage of the circle, every pixel of the area is written
+	 * @param circle
+	 * @param mask receives the coverage from 0 to 255
+	 * @param offset index of the first pixel in the mask
+	 * @param stride distance between two rows in the mask
+	 * @param x origin of the mask
+	 * @param y origin of the mask
+	 * @param width number of columns
+	 * @param height number of rows
+	 */
+	public void fill(Circle circle, byte[] mask, int offset, int stride, int x, int y, int width, int height) {
+		checkBounds(mask.length, offset, stride, width, height);
+		Vector center = circle.center;
+		this.rasterize(width, height, (first, last, coverage, writer) -> scanCircle(center.x - x, center.y - y, circle.radius, first, last, coverage, writer),
+				new MaskWriter(mask, offset, stride));
+	}
+
+	/**
+	 * blends the color into the pixels which are covered by the circle, uncovered pixels aren't changed
+	 * @param circle
+	 * @param pixels ARGB pixels
+	 * @param offset index of the first pixel
+	 * @param stride distance between two rows
+	 * @param x origin of the pixels
+	 * @param y origin of the pixels
+	 * @param width number of columns
+	 * @param height number of rows
+	 * @param argb color whose alpha is multiplied by the coverage
+	 */
+	public void fill(Circle circle, int[] pixels, int offset, int stride, int x, int y, int width, int height, int argb) {
+		checkBounds(pixels.length, offset, stride, width, height);
+		Vector center = circle.center;
+		this.rasterize(width, height, (first, last, coverage, writer) -> scanCircle(center.x - x, center.y - y, circle.radius, first, last, coverage, writer),
+				new ColorWriter(pixels, offset, stride, argb));
+	}
+
+	private static void checkBounds(int length, int offset, int stride, int width, int height) {
+		if(width < 0 || height < 0 || stride < width || offset < 0 || (height > 0 && offset + (long) (height - 1) * stride + width > length)) {
+			throw new IllegalArgumentException("The area of " + width + "x" + height + " pixels doesn't fit into the buffer");
+		}
+	}
+
+	private void rasterize(int width, int height, Scanner scanner, RowWriter writer) {
+		int bands = (height + BAND_HEIGHT - 1) / BAND_HEIGHT;
+		IntStream stream = IntStream.range(0, bands);
+		if(parallel) {
+			stream = stream.parallel();
+		}
+		stream.forEach(band -> {
+			Coverage coverage = new Coverage(width, antialiasing.samples());
+			int first = band * BAND_HEIGHT;
+			int last = Math.min(first + BAND_HEIGHT, height);
+			scanner.scan(first, last, coverage, writer);
+		});
+	}
+
+	/**
+	 * adds the spans of the rows in [first, last) to the coverage and resolves it after the last sub-scanline of every row
+	 */
+	private interface Scanner {
+		void scan(int first, int last, Coverage coverage, RowWriter writer);
+	}
+
+	private interface RowWriter {
+		/**
+		 * @param row
+		 * @param coverage of the pixels from 0 to 1
+		 * @param from first covered column
+		 * @param to column after the last covered column
+		 */
+		void write(int row, float[] coverage, int from, int to);
+	}
+
+	private static void scanCircle(float cx, float cy, float radius, int first, int last, Coverage coverage, RowWriter writer) {
+		int samples = coverage.samples;
+		double r2 = (double) radius * radius;
+		for(int row = first; row < last; row++) {
+			for(int s = 0; s < samples; s++) {
+				double dy = row + (s + 0.5) / samples - cy;
+				if(dy * dy < r2) {
+					double h = Math.sqrt(r2 - dy * dy);
+					coverage.span(cx - h, cx + h);
+				}
+			}
+			coverage.resolve(row, writer);
+		}
+	}
+
+	/**
+	 * coverage of one pixel row: partially covered pixels are added directly, runs of fully covered pixels are stored as
+	 * differences, so a span costs O(1) independently of its length
+	 */
+	private static final class Coverage {
+		final int width, samples;
+		final float weight;
+		final float[] area, delta, values;
+		int from, to;
+
+		Coverage(int width, int samples) {
+			this.width = width;
+			this.samples = samples;
+			this.weight = 1f / samples;
+			this.area = new float[width + 2];
+			this.delta = new float[width + 2];
+			this.values = new float[width + 1];
+			this.from = width;
+			this.to = 0;
+		}
+
+		/**
+		 * adds the horizontal span [xa, xb) of the current sub-scanline
+		 */
+		void span(double xa, double xb) {
+			if(xa < 0) xa = 0;
+			if(xb > width) xb = width;
+			if(!(xb > xa)) return;
+			if(samples == 1) { // pixel centers
+				int ia = (int) Math.ceil(xa - 0.5), ib = (int) Math.ceil(xb - 0.5);
+				if(ib <= ia) return;
+				delta[ia] += 1;
+				delta[ib] -= 1;
+				this.touch(ia, ib);
+				return;
+			}
+			int ia = (int) xa, ib = (int) xb;
+			if(ia == ib) {
+				area[ia] += (float) (xb - xa) * weight;
+			} else {
+				area[ia] += (float) (ia + 1 - xa) * weight;
+				delta[ia + 1] += weight;
+				delta[ib] -= weight;
+				area[ib] += (float) (xb - ib) * weight;
+			}
+			this.touch(ia, Math.min(ib + 1, width));
+		}
+
+		private void touch(int a, int b) {
+			if(a < from) from = a;
+			if(b > to) to = b;
+		}
+
+		/**
+		 * passes the coverage of the row to the writer and clears it
+		 */
+		void resolve(int row, RowWriter writer) {
+			float running = 0;
+			for(int i = from; i < to; i++) {
+				running += delta[i];
+				float value = area[i] + running;
+				values[i] = value > 1 ? 1 : (value < 0 ? 0 : value);
+				area[i] = 0;
+				delta[i] = 0;
+			}
+			if(to < area.length) {
+				area[to] = 0;
+				delta[to] = 0;
+			}
+			writer.write(row, values, Math.min(from, to), to);
+			from = width;
+			to = 0;
+		}
+	}
+
+	/**
+	 * edges of a set of polygons which are bucketed by the bands of rows they cross
+	 */
+	private static final class EdgeTable {
+		final float[] topX, topY, bottomY, slope;
+		final int[] direction;
+		final int[] bandStart, bandEdges;
+
+		EdgeTable(Polygon[] polygons, int x, int y, int height) {
+			int capacity = 0;
+			for(Polygon poly : polygons) {
+				capacity += poly.n();
+			}
+			float[] tx = new float[capacity], ty = new float[capacity], by = new float[capacity], sl = new float[capacity];
+			int[] dir = new int[capacity];
+			long[] order = new long[capacity];
+			int count = 0;
+			for(Polygon poly : polygons) {
+				int n = poly.n();
+				for(int v = 0; v < n; v++) {
+					Vector a = poly.vertices[v], b = poly.vertices[v + 1 < n ? v + 1 : 0];
+					float ay = a.y - y, byy = b.y - y;
+					if(ay == byy || Float.isNaN(ay) || Float.isNaN(byy)) continue;
+					boolean down = ay < byy;
+					Vector top = down ? a : b;
+					tx[count] = top.x - x;
+					ty[count] = down ? ay : byy;
+					by[count] = down ? byy : ay;
+					sl[count] = (b.x - a.x) / (b.y - a.y);
+					dir[count] = down ? -1 : 1; // edges going up in y are crossed from the outside of counter clockwise rings
+					order[count] = ((long) sortable(ty[count]) << 32) | count;
+					count++;
+				}
+			}
+			Arrays.sort(order, 0, count);
+			topX = new float[count];
+			topY = new float[count];
+			bottomY = new float[count];
+			slope = new float[count];
+			direction = new int[count];
+			for(int i = 0; i < count; i++) {
+				int e = (int) order[i];
+				topX[i] = tx[e];
+				topY[i] = ty[e];
+				bottomY[i] = by[e];
+				slope[i] = sl[e];
+				direction[i] = dir[e];
+			}
+
+			// every edge is listed in each band it crosses, ordered by its top
+			int bands = Math.max((height + BAND_HEIGHT - 1) / BAND_HEIGHT, 1);
+			bandStart = new int[bands + 1];
+			for(int e = 0; e < count; e++) {
+				for(int b = firstBand(e, bands); b <= lastBand(e, bands); b++) {
+					bandStart[b + 1]++;
+				}
+			}
+			for(int b = 0; b < bands; b++) {
+				bandStart[b + 1] += bandStart[b];
+			}
+			bandEdges = new int[bandStart[bands]];
+			int[] fill = Arrays.copyOf(bandStart, bands);
+			for(int e = 0; e < count; e++) {
+				for(int b = firstBand(e, bands); b <= lastBand(e, bands); b++) {
+					bandEdges[fill[b]++] = e;
+				}
+			}
+		}
+
+		private static int sortable(float value) {
+			int bits = Float.floatToIntBits(value);
+			return bits ^ ((bits >> 31) & 0x7fffffff);
+		}
+
+		private int firstBand(int e, int bands) {
+			return (int) Math.max(0, Math.min(Math.floor(topY[e] / BAND_HEIGHT), bands));
+		}
+
+		private int lastBand(int e, int bands) {
+			return (int) Math.max(-1, Math.min(Math.floor(bottomY[e] / BAND_HEIGHT), bands - 1));
+		}
+
+		/**
+		 * sweeps the sub-scanlines of the rows in [first, last) with an active edge table
+		 */
+		void scan(int first, int last, Coverage coverage, RowWriter writer, FillRule rule) {
+			int samples = coverage.samples;
+			int band = first / BAND_HEIGHT;
+			int next = bandStart[band], end = bandStart[band + 1];
+			int[] active = new int[16];
+			float[] crossings = new float[16];
+			int size = 0;
+			for(int row = first; row < last; row++) {
+				for(int s = 0; s < samples; s++) {
+					float sy = (float) (row + (s + 0.5) / samples);
+					while(next < end && topY[bandEdges[next]] <= sy) {
+						int e = bandEdges[next++];
+						if(bottomY[e] <= sy) continue;
+						if(size == active.length) {
+							active = Arrays.copyOf(active, size * 2);
+							crossings = Arrays.copyOf(crossings, size * 2);
+						}
+						active[size++] = e;
+					}
+					// remove finished edges, update the crossings and keep the active edges sorted by them
+					int kept = 0;
+					for(int i = 0; i < size; i++) {
+						int e = active[i];
+						if(bottomY[e] <= sy) continue;
+						float cx = topX[e] + (sy - topY[e]) * slope[e];
+						int j = kept++;
+						while(j > 0 && crossings[j - 1] > cx) {
+							crossings[j] = crossings[j - 1];
+							active[j] = active[j - 1];
+							j--;
+						}
+						crossings[j] = cx;
+						active[j] = e;
+					}
+					size = kept;
+
+					int winding = 0;
+					float start = 0;
+					for(int i = 0; i < size; i++) {
+						boolean inside = rule.isInside(winding);
+						winding += direction[active[i]];
+						if(inside != rule.isInside(winding)) {
+							if(inside) {
+								coverage.span(start, crossings[i]);
+							} else {
+								start = crossings[i];
+							}
+						}
+					}
+				}
+				coverage.resolve(row, writer);
+			}
+		}
+	}
+
+	/**
+	 * writes the coverage into a byte mask
+	 */
+	private static final class MaskWriter implements RowWriter {
+		private final byte[] mask;
+		private final int offset, stride;
+
+		MaskWriter(byte[] mask, int offset, int stride) {
+			this.mask = mask;
+			this.offset = offset;
+			this.stride = stride;
+		}
+
+		@Override
+		public void write(int row, float[] coverage, int from, int to) {
+			int start = offset + row * stride;
+			int width = coverage.length - 1;
+			Arrays.fill(mask, start, start + from, (byte) 0);
+			for(int i = from; i < to; i++) {
+				mask[start + i] = (byte) Math.round(coverage[i] * 255);
+			}
+			Arrays.fill(mask, start + to, start + width, (byte) 0);
+		}
+	}
+
+	/**
+	 * blends a color into ARGB pixels
+	 */
+	private static final class ColorWriter implements RowWriter {
+		private final int[] pixels;
+		private final int offset, stride, color;
+		private final float alpha;
+
+		ColorWriter(int[] pixels, int offset, int stride, int argb) {
+			this.pixels = pixels;
+			this.offset = offset;
+			this.stride = stride;
+			this.color = argb;
+			this.alpha = (argb >>> 24) / 255f;
+		}
+
+		@Override
+		public void write(int row, float[] coverage, int from, int to) {
+			int start = offset + row * stride;
+			for(int i = from; i < to; i++) {
+				float a = coverage[i] * alpha;
+				if(a <= 0) continue;
+				int dst = pixels[start + i];
+				float dstAlpha = (dst >>> 24) / 255f;
+				float outAlpha = a + dstAlpha * (1 - a);
+				int result = Math.round(outAlpha * 255) << 24;
+				for(int shift = 0; shift < 24; shift += 8) {
+					float src = (color >>> shift) & 0xff, old = (dst >>> shift) & 0xff;
+					float blended = outAlpha > 0 ? (src * a + old * dstAlpha * (1 - a)) / outAlpha : 0;
+					result |= Math.min(255, Math.round(blended)) << shift;
+				}
+				pixels[start + i] = result;
+			}
+		}
+	}
+
+}
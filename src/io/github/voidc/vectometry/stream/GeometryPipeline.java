@@ -0,0 +1,382 @@
+package io.github.voidc.vectometry.stream;
+
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import io.github.voidc.vectometry.Aabb;
+import io.github.voidc.vectometry.IShape;
+import io.github.voidc.vectometry.Vector;
+import io.github.voidc.vectometry.algorithm.Simplifier;
+import io.github.voidc.vectometry.util.Affine;
+import io.github.voidc.vectometry.util.FloatList;
+
+/**
+ * immutable chain of geometry stages over packed coordinate arrays (a ring or a batch of points per element)
+ * <p>
+ * every stage works on a single element, so the whole chain is fused into one function which processes an element in one pass
+ * without any intermediate polygons. consecutive transformations are multiplied into one. a stage drops an element by returning
+ * null. the input arrays are never modified
+ * <pre>
+ * GeometryPipeline pipeline = GeometryPipeline.create().transform(toWorld).clip(viewport).simplify(0.5f);
+ * source.subscribe(pipeline.processor());
+ * </pre>
+ */
+public final class GeometryPipeline {
+	private static final GeometryPipeline IDENTITY = new GeometryPipeline(null, null);
+
+	private final UnaryOperator<float[]> fused; // null if there is no stage except for the pending transformation
+	private final Affine pending; // trailing transformation which can still be combined with the next one
+
+	private GeometryPipeline(UnaryOperator<float[]> fused, Affine pending) {
+		this.fused = fused;
+		this.pending = pending;
+	}
+
+	/**
+	 * @return pipeline which passes every element through unchanged
+	 */
+	public static GeometryPipeline create() {
+		return IDENTITY;
+	}
+
+	/**
+	 * @param transform
+	 * @return pipeline which additionally transforms every element
+	 */
+	public GeometryPipeline transform(Affine transform) {
+		return new GeometryPipeline(fused, pending == null ? transform : pending.then(transform));
+	}
+
+	/**
+	 * @param stage which returns the processed element or null to drop it, mustn't modify its input
+	 * @return pipeline which additionally applies the stage
+	 */
+	public GeometryPipeline map(UnaryOperator<float[]> stage) {
+		UnaryOperator<float[]> before = this.prefix();
+		if(before == null) {
+			return new GeometryPipeline(stage, null);
+		}
+		return new GeometryPipeline(xy -> {
+			float[] result = before.apply(xy);
+			return result == null ? null : stage.apply(result);
+		}, null);
+	}
+
+	/**
+	 * @param predicate
+	 * @return pipeline which additionally drops the elements which don't match the predicate
+	 */
+	public GeometryPipeline filter(Predicate<float[]> predicate) {
+		return this.map(xy -> predicate.test(xy) ? xy : null);
+	}
+
+	/**
+	 * @param region
+	 * @return pipeline which additionally drops the elements which have a point outside of the region
+	 */
+	public GeometryPipeline within(IShape region) {
+		Aabb bounds = region.aabb();
+		return this.filter(xy -> {
+			for(int i = 0; i + 1 < xy.length; i += 2) {
+				if(!bounds.contains(xy[i], xy[i+1]) || !region.contains(new Vector(xy[i], xy[i+1]))) {
+					return false;
+				}
+			}
+			return true;
+		});
+	}
+
+	/**
+	 * Sutherland-Hodgman clipping of rings, rings which are completely outside are dropped
+	 * @param box
+	 * @return pipeline which additionally clips every ring to the box
+	 */
+	public GeometryPipeline clip(Aabb box) {
+		return this.map(xy -> {
+			Aabb bounds = Aabb.of(xy);
+			if(box.contains(bounds)) {
+				return xy;
+			}
+			if(!box.overlaps(bounds)) {
+				return null;
+			}
+			float[] ring = xy;
+			for(int side = 0; side < 4 && ring.length >= 6; side++) {
+				ring = clip(ring, side, box);
+			}
+			return ring.length >= 6 ? ring : null;
+		});
+	}
+
+	/**
+	 * @param ring packed coordinates
+	 * @param side 0 to 3 for the left, bottom, right and top side
+	 * @return the part of the ring inside of the side
+	 */
+	private static float[] clip(float[] ring, int side, Aabb box) {
+		int n = ring.length / 2;
+		FloatList clipped = new FloatList(ring.length + 4);
+		for(int v = 0, w = n - 1; v < n; w = v++) {
+			float ax = ring[2*w], ay = ring[2*w+1], bx = ring[2*v], by = ring[2*v+1];
+			float da = outside(ax, ay, side, box), db = outside(bx, by, side, box);
+			if((da <= 0) != (db <= 0)) {
+				float t = da / (da - db);
+				clipped.add(ax + t * (bx - ax), ay + t * (by - ay));
+			}
+			if(db <= 0) {
+				clipped.add(bx, by);
+			}
+		}
+		return clipped.toArray();
+	}
+
+	/**
+	 * @return signed distance of the point to the side, positive if it is outside
+	 */
+	private static float outside(float x, float y, int side, Aabb box) {
+		switch(side) {
+			case 0: return box.minX - x;
+			case 1: return box.minY - y;
+			case 2: return x - box.maxX;
+			default: return y - box.maxY;
+		}
+	}
+
+	/**
+	 * @param tolerance maximum distance between the original and the simplified ring
+	 * @return pipeline which additionally simplifies every ring with Douglas-Peucker
+	 */
+	public GeometryPipeline simplify(float tolerance) {
+		return this.map(xy -> {
+			int[] kept = Simplifier.douglasPeucker(xy, tolerance, true);
+			if(kept.length == xy.length / 2) {
+				return xy;
+			}
+			float[] simplified = new float[2 * kept.length];
+			for(int i = 0; i < kept.length; i++) {
+				simplified[2*i] = xy[2*kept[i]];
+				simplified[2*i+1] = xy[2*kept[i]+1];
+			}
+			return simplified;
+		});
+	}
+
+	/**
+	 * @param consumer receives the bounding box of every element which reaches this stage
+	 * @return pipeline which additionally reports the bounds and passes the elements on unchanged
+	 */
+	public GeometryPipeline bounds(Consumer<Aabb> consumer) {
+		return this.map(xy -> {
+			consumer.accept(Aabb.of(xy));
+			return xy;
+		});
+	}
+
+	/**
+	 * @return the fused stages including the pending transformation, null for the identity
+	 */
+	private UnaryOperator<float[]> prefix() {
+		if(pending == null) {
+			return fused;
+		}
+		Affine transform = pending;
+		UnaryOperator<float[]> transformation = xy -> {
+			float[] transformed = new float[xy.length];
+			transform.apply(xy, transformed);
+			return transformed;
+		};
+		if(fused == null) {
+			return transformation;
+		}
+		UnaryOperator<float[]> before = fused;
+		return xy -> {
+			float[] result = before.apply(xy);
+			return result == null ? null : transformation.apply(result);
+		};
+	}
+
+	/**
+	 * @param xy packed coordinates of one element
+	 * @return the processed element or null if it has been dropped
+	 */
+	public float[] apply(float[] xy) {
+		UnaryOperator<float[]> all = this.prefix();
+		return all == null ? xy : all.apply(xy);
+	}
+
+	/**
+	 * processes the elements one after another, so only one element is in memory at a time
+	 * @param source
+	 * @param sink receives the elements which haven't been dropped
+	 */
+	public void run(Iterable<float[]> source, Consumer<float[]> sink) {
+		UnaryOperator<float[]> all = this.prefix();
+		for(float[] xy : source) {
+			float[] result = all == null ? xy : all.apply(xy);
+			if(result != null) {
+				sink.accept(result);
+			}
+		}
+	}
+
+	/**
+	 * the processor has a single subscriber and requests exactly as many elements from its source as the subscriber has requested,
+	 * plus one replacement for every dropped element. nothing is requested before the subscriber arrives, so no element is lost,
+	 * and the elements are passed on in the thread of the source without any buffering or blocking
+	 * @return processor which applies this pipeline
+	 */
+	public Flow.Processor<float[], float[]> processor() {
+		UnaryOperator<float[]> all = this.prefix();
+		return new Processor(all == null ? UnaryOperator.identity() : all);
+	}
+
+	private static class Processor implements Flow.Processor<float[], float[]>, Flow.Subscription {
+		private final UnaryOperator<float[]> function;
+		private Flow.Subscription upstream;
+		private Flow.Subscriber<? super float[]> downstream;
+		private boolean subscribed; // onSubscribe of the downstream has returned
+		private long pending; // demand of the downstream which hasn't been forwarded yet
+		private boolean invalid; // the downstream has requested a non-positive number of elements
+		private boolean completed;
+		private Throwable error;
+		private volatile boolean done; // cancelled or terminated, no further signals are passed on
+
+		Processor(UnaryOperator<float[]> function) {
+			this.function = function;
+		}
+
+		@Override
+		public void subscribe(Flow.Subscriber<? super float[]> subscriber) {
+			synchronized(this) {
+				if(downstream == null) {
+					downstream = subscriber;
+					subscriber = null;
+				}
+			}
+			if(subscriber != null) {
+				subscriber.onSubscribe(new Flow.Subscription() {
+					@Override
+					public void request(long n) {}
+
+					@Override
+					public void cancel() {}
+				});
+				subscriber.onError(new IllegalStateException("The processor already has a subscriber"));
+				return;
+			}
+			downstream.onSubscribe(this);
+			synchronized(this) {
+				subscribed = true;
+			}
+			this.drain();
+		}
+
+		/**
+		 * forwards the pending demand or the terminal signal once both sides have subscribed
+		 */
+		private void drain() {
+			Flow.Subscription source;
+			long n;
+			boolean reject, complete;
+			Throwable failure;
+			synchronized(this) {
+				if(!subscribed || done) return;
+				source = upstream;
+				reject = invalid && source != null;
+				failure = error;
+				complete = completed;
+				n = source == null || reject ? 0 : pending;
+				pending -= n;
+				invalid &= !reject;
+				if(failure != null || complete) done = true;
+			}
+			if(reject) {
+				source.request(0); // the source signals the IllegalArgumentException in order with its elements
+			} else if(failure != null) {
+				downstream.onError(failure);
+			} else if(complete) {
+				downstream.onComplete();
+			} else if(n > 0) {
+				source.request(n);
+			}
+		}
+
+		@Override
+		public void request(long n) {
+			synchronized(this) {
+				if(n <= 0) {
+					invalid = true;
+				} else {
+					pending = pending + n < 0 ? Long.MAX_VALUE : pending + n;
+				}
+			}
+			this.drain();
+		}
+
+		@Override
+		public void cancel() {
+			Flow.Subscription source;
+			synchronized(this) {
+				done = true;
+				source = upstream;
+			}
+			if(source != null) {
+				source.cancel();
+			}
+		}
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			boolean accepted;
+			synchronized(this) {
+				accepted = upstream == null && !done;
+				if(accepted) {
+					upstream = subscription;
+				}
+			}
+			if(!accepted) {
+				subscription.cancel();
+				return;
+			}
+			this.drain();
+		}
+
+		@Override
+		public void onNext(float[] item) {
+			if(done) return;
+			float[] result;
+			try {
+				result = function.apply(item);
+			} catch(RuntimeException e) {
+				done = true;
+				upstream.cancel();
+				downstream.onError(e);
+				return;
+			}
+			if(result != null) {
+				downstream.onNext(result);
+			} else {
+				upstream.request(1); // replaces the dropped element, so the demand of the downstream is met
+			}
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			synchronized(this) {
+				error = throwable;
+			}
+			this.drain();
+		}
+
+		@Override
+		public void onComplete() {
+			synchronized(this) {
+				completed = true;
+			}
+			this.drain();
+		}
+	}
+
+}
@@ -0,0 +1,337 @@
+package io.github.voidc.vectometry.topology;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import io.github.voidc.vectometry.Polygon;
+import io.github.voidc.vectometry.Vector;
+import io.github.voidc.vectometry.util.Coordinates;
+
+/**
+ * doubly connected edge list over a set of polygons whose vertices have been welded
+ * <p>
+ * every polygon becomes a face with the index of the polygon, the outside is face -1.
+ * each edge is stored as two half-edges which point in opposite directions, the face of a half-edge lies on its left side
+ */
+public class Topology {
+	public static final int OUTSIDE = -1;
+
+	private final VertexWelder welder;
+	private final int[] faceEdges;
+	private int[] origin, twin, next, prev, face;
+	private int halfEdges;
+
+	/**
+	 * welds the vertices of the polygons and connects their edges
+	 * @param polygons simple polygons which may share edges but don't overlap
+	 * @param epsilon maximum distance between two vertices which are welded together
+	 */
+	public Topology(Polygon[] polygons, float epsilon) {
+		this.welder = new VertexWelder(epsilon);
+		this.faceEdges = new int[polygons.length];
+		int capacity = 0;
+		for(Polygon poly : polygons) {
+			capacity += poly.n() * 2;
+		}
+		origin = new int[capacity];
+		twin = new int[capacity];
+		next = new int[capacity];
+		prev = new int[capacity];
+		face = new int[capacity];
+
+		// open addressing table of the directed edges, at most capacity / 2 of them, so it is at most half full
+		int slots = Integer.highestOneBit(Math.max(capacity, 1) - 1 | 1) << 1;
+		long[] edgeKeys = new long[slots];
+		int[] edgeHalves = new int[slots]; // -1 for free slots
+		Arrays.fill(edgeHalves, -1);
+		for(int f = 0; f < polygons.length; f++) {
+			float[] xy = polygons[f].coordinates();
+			if(Coordinates.signedArea(xy, xy.length / 2) < 0) {
+				xy = Coordinates.reverse(xy);
+			}
+			int[] ring = removeRepeated(welder.weld(xy));
+			if(ring.length < 3) {
+				faceEdges[f] = -1;
+				continue;
+			}
+			int first = halfEdges;
+			for(int i = 0; i < ring.length; i++) {
+				int h = halfEdges++;
+				origin[h] = ring[i];
+				face[h] = f;
+				next[h] = i + 1 < ring.length ? h + 1 : first;
+				prev[h] = i > 0 ? h - 1 : first + ring.length - 1;
+				twin[h] = -1;
+				int to = ring[i + 1 < ring.length ? i + 1 : 0];
+				long key = key(ring[i], to);
+				int s = slot(edgeKeys, edgeHalves, key);
+				if(edgeHalves[s] >= 0) {
+					throw new IllegalArgumentException("The polygons overlap along the edge from " + welder.vertex(ring[i]) + " to " + welder.vertex(to));
+				}
+				edgeKeys[s] = key;
+				edgeHalves[s] = h;
+			}
+			faceEdges[f] = first;
+		}
+
+		int interior = halfEdges;
+		for(int h = 0; h < interior; h++) {
+			if(twin[h] >= 0) continue;
+			int opposite = edgeHalves[slot(edgeKeys, edgeHalves, key(destination(h), origin[h]))];
+			if(opposite >= 0) {
+				twin[h] = opposite;
+				twin[opposite] = h;
+			} else {
+				int b = halfEdges++;
+				origin[b] = destination(h);
+				face[b] = OUTSIDE;
+				twin[b] = h;
+				twin[h] = b;
+			}
+		}
+		for(int b = interior; b < halfEdges; b++) {
+			// rotate around the end point of the boundary half-edge until the next boundary half-edge is found
+			int g = twin[b];
+			int t = twin[prev[g]];
+			while(face[t] != OUTSIDE) {
+				g = t;
+				t = twin[prev[g]];
+			}
+			next[b] = t;
+			prev[t] = b;
+		}
+		origin = Arrays.copyOf(origin, halfEdges);
+		twin = Arrays.copyOf(twin, halfEdges);
+		next = Arrays.copyOf(next, halfEdges);
+		prev = Arrays.copyOf(prev, halfEdges);
+		face = Arrays.copyOf(face, halfEdges);
+	}
+
+	private static int[] removeRepeated(int[] ids) {
+		int[] ring = new int[ids.length];
+		int n = 0;
+		for(int id : ids) {
+			if(n == 0 || ring[n - 1] != id) ring[n++] = id;
+		}
+		while(n > 1 && ring[n - 1] == ring[0]) {
+			n--;
+		}
+		return Arrays.copyOf(ring, n);
+	}
+
+	private static long key(int from, int to) {
+		return ((long) from << 32) | (to & 0xffffffffL);
+	}
+
+	/**
+	 * @return the slot of the key or the free slot at which it would be inserted
+	 */
+	private static int slot(long[] keys, int[] values, long key) {
+		int mask = keys.length - 1;
+		long h = key * 0x9E3779B97F4A7C15L;
+		int s = (int) (h ^ (h >>> 32)) & mask;
+		while(values[s] >= 0 && keys[s] != key) {
+			s = (s + 1) & mask;
+		}
+		return s;
+	}
+
+	/**
+	 * @param h half-edge
+	 * @return vertex id at which the half-edge starts
+	 */
+	public int origin(int h) {
+		return origin[h];
+	}
+
+	/**
+	 * @param h half-edge
+	 * @return vertex id at which the half-edge ends
+	 */
+	public int destination(int h) {
+		return origin[twin[h] >= 0 ? twin[h] : next[h]];
+	}
+
+	/**
+	 * @param h half-edge
+	 * @return the half-edge in the opposite direction
+	 */
+	public int twin(int h) {
+		return twin[h];
+	}
+
+	/**
+	 * @param h half-edge
+	 * @return the following half-edge around the same face
+	 */
+	public int next(int h) {
+		return next[h];
+	}
+
+	/**
+	 * @param h half-edge
+	 * @return the preceding half-edge around the same face
+	 */
+	public int prev(int h) {
+		return prev[h];
+	}
+
+	/**
+	 * @param h half-edge
+	 * @return the face on the left of the half-edge or {@link #OUTSIDE}
+	 */
+	public int face(int h) {
+		return face[h];
+	}
+
+	/**
+	 * @param h half-edge
+	 * @return true if the edge separates a polygon from the outside
+	 */
+	public boolean isBoundary(int h) {
+		return face[h] == OUTSIDE || face[twin[h]] == OUTSIDE;
+	}
+
+	/**
+	 * @param f face
+	 * @return a half-edge of the face or -1 if the polygon degenerated while welding
+	 */
+	public int edge(int f) {
+		return faceEdges[f];
+	}
+
+	/**
+	 * @param v vertex id
+	 * @return the position of the welded vertex
+	 */
+	public Vector vertex(int v) {
+		return welder.vertex(v);
+	}
+
+	/**
+	 * @return number of half-edges
+	 */
+	public int halfEdges() {
+		return halfEdges;
+	}
+
+	/**
+	 * @return number of faces (the outside isn't counted)
+	 */
+	public int faces() {
+		return faceEdges.length;
+	}
+
+	/**
+	 * @return number of welded vertices
+	 */
+	public int vertices() {
+		return welder.size();
+	}
+
+	/**
+	 * @param f face
+	 * @return all faces which share at least one edge with the given face
+	 */
+	public int[] neighbors(int f) {
+		int start = faceEdges[f];
+		if(start < 0) {
+			return new int[0];
+		}
+		int[] neighbors = new int[8];
+		int count = 0;
+		int h = start;
+		do {
+			int other = face[twin[h]];
+			if(other != OUTSIDE && other != f && !contains(neighbors, count, other)) {
+				if(count == neighbors.length) neighbors = Arrays.copyOf(neighbors, count * 2);
+				neighbors[count++] = other;
+			}
+			h = next[h];
+		} while(h != start);
+		return Arrays.copyOf(neighbors, count);
+	}
+
+	private static boolean contains(int[] values, int count, int value) {
+		for(int i = 0; i < count; i++) {
+			if(values[i] == value) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @param a face
+	 * @param b face
+	 * @return the half-edges of face a whose twins belong to face b
+	 */
+	public int[] sharedEdges(int a, int b) {
+		int start = faceEdges[a];
+		if(start < 0) {
+			return new int[0];
+		}
+		int[] shared = new int[4];
+		int count = 0;
+		int h = start;
+		do {
+			if(face[twin[h]] == b) {
+				if(count == shared.length) shared = Arrays.copyOf(shared, count * 2);
+				shared[count++] = h;
+			}
+			h = next[h];
+		} while(h != start);
+		return Arrays.copyOf(shared, count);
+	}
+
+	/**
+	 * @return the outlines of the union of all polygons, outer rings are counter clockwise and holes clockwise
+	 */
+	public List<Polygon> boundary() {
+		boolean[] all = new boolean[faceEdges.length];
+		Arrays.fill(all, true);
+		return this.dissolve(all);
+	}
+
+	/**
+	 * removes the edges between the given faces
+	 * @param faces
+	 * @return the outlines of the union of the given faces, outer rings are counter clockwise and holes clockwise
+	 */
+	public List<Polygon> dissolve(int[] faces) {
+		boolean[] selected = new boolean[faceEdges.length];
+		for(int f : faces) {
+			selected[f] = true;
+		}
+		return this.dissolve(selected);
+	}
+
+	private List<Polygon> dissolve(boolean[] selected) {
+		boolean[] visited = new boolean[halfEdges];
+		List<Polygon> rings = new ArrayList<Polygon>();
+		List<Vector> ring = new ArrayList<Vector>();
+		for(int start = 0; start < halfEdges; start++) {
+			if(visited[start] || !isOutline(start, selected)) continue;
+			ring.clear();
+			int h = start;
+			do {
+				visited[h] = true;
+				ring.add(welder.vertex(origin[h]));
+				int g = next[h];
+				while(!isOutline(g, selected)) {
+					g = next[twin[g]];
+				}
+				h = g;
+			} while(h != start);
+			if(ring.size() >= 3) {
+				rings.add(new Polygon(ring.toArray(new Vector[ring.size()])));
+			}
+		}
+		return rings;
+	}
+
+	private boolean isOutline(int h, boolean[] selected) {
+		int f = face[h], g = face[twin[h]];
+		return f != OUTSIDE && selected[f] && (g == OUTSIDE || !selected[g]);
+	}
+
+}
@@ -0,0 +1,215 @@
+package io.github.voidc.vectometry.topology;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+import io.github.voidc.vectometry.Segment;
+import io.github.voidc.vectometry.Vector;
+import io.github.voidc.vectometry.util.FloatList;
+
+/**
+ * merges points which are closer than epsilon to each other into one vertex
+ * <p>
+ * the points are bucketed into a spatial hash grid with cells of size epsilon, so each lookup only checks the 3x3 neighbouring cells.
+ * the first point of a group becomes the canonical vertex, so the result depends on the insertion order
+ */
+public class VertexWelder {
+	private final float epsilon, epsilonSq;
+	private final FloatList coordinates = new FloatList();
+	private int[] nextInCell = new int[16];
+	private long[] cellXs, cellYs;
+	private int[] cellHeads; // -1 for free slots
+	private int cells;
+	private Vector[] canonical = new Vector[0];
+	private final HashMap<Segment, Segment> segments = new HashMap<Segment, Segment>();
+
+	/**
+	 * @param epsilon maximum distance between two points which are welded together
+	 */
+	public VertexWelder(float epsilon) {
+		if(!(epsilon > 0)) throw new IllegalArgumentException("Epsilon must be positive");
+		this.epsilon = epsilon;
+		this.epsilonSq = epsilon * epsilon;
+		this.cellXs = new long[64];
+		this.cellYs = new long[64];
+		this.cellHeads = new int[64];
+		Arrays.fill(cellHeads, -1);
+	}
+
+	/**
+	 * @param x
+	 * @param y
+	 * @return the id of the vertex within epsilon of the given point, a new vertex is created if there is none
+	 */
+	public int weld(float x, float y) {
+		long cx = (long) Math.floor(x / epsilon);
+		long cy = (long) Math.floor(y / epsilon);
+		for(int i = -1; i <= 1; i++) {
+			for(int j = -1; j <= 1; j++) { // offsets, so cells at the saturated ends of the long range don't overflow the loop
+				for(int v = head(cx + i, cy + j); v >= 0; v = nextInCell[v]) {
+					float dx = coordinates.get(2*v) - x, dy = coordinates.get(2*v+1) - y;
+					if(dx * dx + dy * dy <= epsilonSq) {
+						return v;
+					}
+				}
+			}
+		}
+		int id = coordinates.size() / 2;
+		coordinates.add(x, y);
+		if(id == nextInCell.length) {
+			nextInCell = Arrays.copyOf(nextInCell, id * 2);
+		}
+		nextInCell[id] = insertHead(cx, cy, id);
+		return id;
+	}
+
+	/**
+	 * @param xy packed coordinates
+	 * @return the vertex id of each point
+	 */
+	public int[] weld(float[] xy) {
+		int[] ids = new int[xy.length / 2];
+		for(int v = 0; v < ids.length; v++) {
+			ids[v] = this.weld(xy[2*v], xy[2*v+1]);
+		}
+		return ids;
+	}
+
+	/**
+	 * @param vector
+	 * @return the canonical instance of the vertex within epsilon of the given vector
+	 */
+	public Vector intern(Vector vector) {
+		int id = this.weld(vector.x, vector.y);
+		if(id >= canonical.length) {
+			canonical = Arrays.copyOf(canonical, Math.max(this.size(), canonical.length * 2));
+		}
+		Vector vertex = canonical[id];
+		if(vertex == null) {
+			vertex = coordinates.get(2*id) == vector.x && coordinates.get(2*id+1) == vector.y ? vector : this.vertex(id);
+			canonical[id] = vertex;
+		}
+		return vertex;
+	}
+
+	/**
+	 * @param segment
+	 * @return the canonical instance of the segment between the welded end points
+	 */
+	public Segment intern(Segment segment) {
+		Segment welded = new Segment(this.intern(segment.pointA()), this.intern(segment.pointB()));
+		Segment existing = segments.putIfAbsent(welded, welded);
+		return existing != null ? existing : welded;
+	}
+
+	/**
+	 * @param id
+	 * @return the position of the vertex with the given id
+	 */
+	public Vector vertex(int id) {
+		Vector vertex = id < canonical.length ? canonical[id] : null;
+		return vertex != null ? vertex : new Vector(coordinates.get(2*id), coordinates.get(2*id+1));
+	}
+
+	/**
+	 * @param id
+	 * @return x coordinate of the vertex with the given id
+	 */
+	public float x(int id) {
+		return coordinates.get(2*id);
+	}
+
+	/**
+	 * @param id
+	 * @return y coordinate of the vertex with the given id
+	 */
+	public float y(int id) {
+		return coordinates.get(2*id+1);
+	}
+
+	/**
+	 * @return packed coordinates of all vertices in the order of their ids
+	 */
+	public float[] coordinates() {
+		return coordinates.toArray();
+	}
+
+	/**
+	 * @return number of distinct vertices
+	 */
+	public int size() {
+		return coordinates.size() / 2;
+	}
+
+	/**
+	 * @return the maximum distance between two welded points
+	 */
+	public float epsilon() {
+		return epsilon;
+	}
+
+	/**
+	 * @return hash slot of the cell, all bits of both cell coordinates take part in the hash
+	 */
+	private static int slot(long cx, long cy, int mask) {
+		long h = (cx * 0x9E3779B97F4A7C15L + cy) * 0xC2B2AE3D27D4EB4FL;
+		return (int) (h ^ (h >>> 32)) & mask;
+	}
+
+	/**
+	 * @return the first vertex in the cell or -1 if the cell is empty
+	 */
+	private int head(long cx, long cy) {
+		int mask = cellHeads.length - 1;
+		for(int s = slot(cx, cy, mask); cellHeads[s] >= 0; s = (s + 1) & mask) {
+			if(cellXs[s] == cx && cellYs[s] == cy) return cellHeads[s];
+		}
+		return -1;
+	}
+
+	/**
+	 * makes the vertex the first one in its cell
+	 * @return the previous first vertex in the cell or -1
+	 */
+	private int insertHead(long cx, long cy, int vertex) {
+		if(2 * (cells + 1) > cellHeads.length) {
+			rehash();
+		}
+		int mask = cellHeads.length - 1;
+		int s = slot(cx, cy, mask);
+		while(cellHeads[s] >= 0) {
+			if(cellXs[s] == cx && cellYs[s] == cy) {
+				int previous = cellHeads[s];
+				cellHeads[s] = vertex;
+				return previous;
+			}
+			s = (s + 1) & mask;
+		}
+		cellXs[s] = cx;
+		cellYs[s] = cy;
+		cellHeads[s] = vertex;
+		cells++;
+		return -1;
+	}
+
+	private void rehash() {
+		long[] oldXs = cellXs, oldYs = cellYs;
+		int[] oldHeads = cellHeads;
+		cellXs = new long[oldHeads.length * 2];
+		cellYs = new long[oldHeads.length * 2];
+		cellHeads = new int[oldHeads.length * 2];
+		Arrays.fill(cellHeads, -1);
+		int mask = cellHeads.length - 1;
+		for(int o = 0; o < oldHeads.length; o++) {
+			if(oldHeads[o] < 0) continue;
+			int s = slot(oldXs[o], oldYs[o], mask);
+			while(cellHeads[s] >= 0) {
+				s = (s + 1) & mask;
+			}
+			cellXs[s] = oldXs[o];
+			cellYs[s] = oldYs[o];
+			cellHeads[s] = oldHeads[o];
+		}
+	}
+
+}
@@ -0,0 +1,233 @@
+package io.github.voidc.vectometry.util;
+
+import io.github.voidc.vectometry.Vector;
+
+/**
+ * immutable 2D affine transformation
+ * <pre>
+ * | a  c  tx |   | x |
+ * | b  d  ty | * | y |
+ * | 0  0  1  |   | 1 |
+ * </pre>
+ */
+public final class Affine {
+	public static final Affine IDENTITY = new Affine(1, 0, 0, 1, 0, 0);
+
+	public final double a, b, c, d, tx, ty;
+
+	/**
+	 * creates a new transformation which maps (x, y) to (a*x + c*y + tx, b*x + d*y + ty)
+	 * @param a
+	 * @param b
+	 * @param c
+	 * @param d
+	 * @param tx
+	 * @param ty
+	 */
+	public Affine(double a, double b, double c, double d, double tx, double ty) {
+		this.a = a;
+		this.b = b;
+		this.c = c;
+		this.d = d;
+		this.tx = tx;
+		this.ty = ty;
+	}
+
+	/**
+	 * @param translation
+	 * @return transformation which moves points by the given vector
+	 */
+	public static Affine translation(Vector translation) {
+		return new Affine(1, 0, 0, 1, translation.x, translation.y);
+	}
+
+	/**
+	 * @param angle counter clockwise
+	 * @return transformation which rotates points around the origin
+	 */
+	public static Affine rotation(Angle angle) {
+		double cos = Math.cos(angle.rad()), sin = Math.sin(angle.rad());
+		return new Affine(cos, sin, -sin, cos, 0, 0);
+	}
+
+	/**
+	 * @param angle counter clockwise
+	 * @param center
+	 * @return transformation which rotates points around the center
+	 */
+	public static Affine rotation(Angle angle, Vector center) {
+		return around(rotation(angle), center);
+	}
+
+	/**
+	 * @param scalarX factor in x direction
+	 * @param scalarY factor in y direction
+	 * @return transformation which scales points from the origin
+	 */
+	public static Affine scaling(double scalarX, double scalarY) {
+		return new Affine(scalarX, 0, 0, scalarY, 0, 0);
+	}
+
+	/**
+	 * @param scalarX factor in x direction
+	 * @param scalarY factor in y direction
+	 * @param center
+	 * @return transformation which scales points from the center
+	 */
+	public static Affine scaling(double scalarX, double scalarY, Vector center) {
+		return around(scaling(scalarX, scalarY), center);
+	}
+
+	private static Affine around(Affine linear, Vector center) {
+		return new Affine(linear.a, linear.b, linear.c, linear.d,
+				center.x - linear.a * center.x - linear.c * center.y,
+				center.y - linear.b * center.x - linear.d * center.y);
+	}
+
+	/**
+	 * least squares fit: the coordinates are centered and the linear part is solved with a QR decomposition
+	 * @param from source points
+	 * @param to target points, each one corresponds to the source point with the same index
+	 * @return transformation which maps the source points as close as possible to the target points
+	 * @throws ArithmeticException if all source points are collinear
+	 */
+	public static Affine fit(Vector[] from, Vector[] to) {
+		if(from.length != to.length) throw new IllegalArgumentException("Both point sets must have the same size");
+		if(from.length < 3) throw new IllegalArgumentException("At least 3 point pairs are required");
+		int n = from.length;
+		double fx = 0, fy = 0, tx = 0, ty = 0;
+		for(int i = 0; i < n; i++) {
+			fx += from[i].x;
+			fy += from[i].y;
+			tx += to[i].x;
+			ty += to[i].y;
+		}
+		fx /= n;
+		fy /= n;
+		tx /= n;
+		ty /= n;
+		Matrix source = new Matrix(2, n), target = new Matrix(2, n);
+		for(int i = 0; i < n; i++) {
+			source.set(0, i, (float) (from[i].x - fx));
+			source.set(1, i, (float) (from[i].y - fy));
+			target.set(0, i, (float) (to[i].x - tx));
+			target.set(1, i, (float) (to[i].y - ty));
+		}
+		// x' = a*x + c*y and y' = b*x + d*y, so each column of the solution holds the factors of one target coordinate
+		Matrix linear = source.qr().solve(target);
+		double a = linear.get(0, 0), c = linear.get(0, 1), b = linear.get(1, 0), d = linear.get(1, 1);
+		return new Affine(a, b, c, d, tx - a * fx - c * fy, ty - b * fx - d * fy);
+	}
+
+	/**
+	 * @param other transformation which is applied after this one
+	 * @return transformation which applies this one first and then the other
+	 */
+	public Affine then(Affine other) {
+		return new Affine(
+				other.a * a + other.c * b, other.b * a + other.d * b,
+				other.a * c + other.c * d, other.b * c + other.d * d,
+				other.a * tx + other.c * ty + other.tx, other.b * tx + other.d * ty + other.ty);
+	}
+
+	/**
+	 * @return the factor by which areas are scaled, negative if the transformation mirrors
+	 */
+	public double determinant() {
+		return a * d - b * c;
+	}
+
+	/**
+	 * @return the inverse transformation
+	 * @throws ArithmeticException if the transformation isn't invertible
+	 */
+	public Affine inverse() {
+		double det = this.determinant();
+		if(det == 0 || Double.isNaN(det)) throw new ArithmeticException("The transformation is not invertible");
+		return new Affine(d / det, -b / det, -c / det, a / det, (c * ty - d * tx) / det, (b * tx - a * ty) / det);
+	}
+
+	/**
+	 * @return true if the transformation only moves points
+	 */
+	public boolean isTranslation() {
+		return a == 1 && b == 0 && c == 0 && d == 1;
+	}
+
+	/**
+	 * @return true if axis aligned rectangles stay axis aligned (scaling, mirroring and rotations by multiples of 90 degrees)
+	 */
+	public boolean isAxisAligned() {
+		return (b == 0 && c == 0) || (a == 0 && d == 0);
+	}
+
+	/**
+	 * @return true if the transformation preserves angles (rotation, uniform scaling and mirroring)
+	 */
+	public boolean isSimilarity() {
+		return (a == d && b == -c) || (a == -d && b == c);
+	}
+
+	/**
+	 * @param x
+	 * @param y
+	 * @return x coordinate of the transformed point
+	 */
+	public double x(double x, double y) {
+		return a * x + c * y + tx;
+	}
+
+	/**
+	 * @param x
+	 * @param y
+	 * @return y coordinate of the transformed point
+	 */
+	public double y(double x, double y) {
+		return b * x + d * y + ty;
+	}
+
+	/**
+	 * @param vector
+	 * @return the transformed vector
+	 */
+	public Vector apply(Vector vector) {
+		return new Vector((float) this.x(vector.x, vector.y), (float) this.y(vector.x, vector.y));
+	}
+
+	/**
+	 * transforms packed coordinates in single precision, source and target may be the same array
+	 * @param src packed coordinates
+	 * @param dst receives the transformed coordinates
+	 * @see CoordinateKernels#transform(float[], float[], int, Affine)
+	 */
+	public void apply(float[] src, float[] dst) {
+		CoordinateKernels.DEFAULT.transform(src, dst, src.length / 2, this);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if(!(obj instanceof Affine)) {
+			return false;
+		}
+		Affine other = (Affine) obj;
+		return Double.compare(a + 0.0, other.a + 0.0) == 0 && Double.compare(b + 0.0, other.b + 0.0) == 0
+				&& Double.compare(c + 0.0, other.c + 0.0) == 0 && Double.compare(d + 0.0, other.d + 0.0) == 0
+				&& Double.compare(tx + 0.0, other.tx + 0.0) == 0 && Double.compare(ty + 0.0, other.ty + 0.0) == 0;
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = Double.hashCode(a + 0.0);
+		hash = 31 * hash + Double.hashCode(b + 0.0);
+		hash = 31 * hash + Double.hashCode(c + 0.0);
+		hash = 31 * hash + Double.hashCode(d + 0.0);
+		hash = 31 * hash + Double.hashCode(tx + 0.0);
+		return 31 * hash + Double.hashCode(ty + 0.0);
+	}
+
+	@Override
+	public String toString() {
+		return "[" + a + ", " + c + ", " + tx + "; " + b + ", " + d + ", " + ty + "]";
+	}
+
+}
@@ -13,7 +13,7 @@ public class Angle implements Comparable<Angle> {
 	public Angle(double angle, AngleUnit unit) {
 		switch(unit) {
 		case RADIANS:
-			this.angle = Math.toRadians(angle);
+			this.angle = Math.toDegrees(angle);
 			break;
 		case DEGREES:
 			this.angle = angle;
@@ -97,7 +97,12 @@ public class Angle implements Comparable<Angle> {
 	public boolean equals(Object obj) {
 		if(obj == null || !(obj instanceof Angle)) return false;
 		Angle alpha = (Angle) obj;
-		return alpha.angle == this.angle;
+		return alpha.angle == this.angle || (Double.isNaN(alpha.angle) && Double.isNaN(this.angle));
+	}
+	
+	@Override
+	public int hashCode() {
+		return Double.hashCode(this.angle + 0.0);
 	}
 	
 	@Override
@@ -0,0 +1,69 @@
+package io.github.voidc.vectometry.util;
+
+/**
+ * bulk operations on packed coordinates {x0, y0, x1, y1, ...}
+ * <p>
+ * {@link #DEFAULT} uses the SIMD implementation if the module jdk.incubator.vector is available (--add-modules jdk.incubator.vector)
+ * and the system property vectometry.simd isn't false, otherwise the scalar implementation.
+ * the results of both implementations can differ in the last bits because the SIMD kernels sum in a different order.
+ * the SIMD implementation lives in the separate source folder src-simd, which is the only part that needs the module to compile.
+ * KernelBenchmark in src-bench compares both implementations
+ */
+public interface CoordinateKernels {
+	public static final CoordinateKernels DEFAULT = ScalarKernels.select();
+
+	/**
+	 * @param xy packed coordinates of a ring
+	 * @param n number of points
+	 * @return the signed area of the ring (shoelace formula), positive if counter clockwise
+	 */
+	public double signedArea(float[] xy, int n);
+
+	/**
+	 * @param xy packed coordinates
+	 * @param n number of points, at least one
+	 * @param out receives {minX, minY, maxX, maxY}
+	 */
+	public void bounds(float[] xy, int n, float[] out);
+
+	/**
+	 * transforms the points in single precision, source and target may be the same array
+	 * @param src packed coordinates
+	 * @param dst receives the transformed coordinates
+	 * @param n number of points
+	 * @param transform
+	 */
+	public void transform(float[] src, float[] dst, int n, Affine transform);
+
+	/**
+	 * @param xy packed coordinates
+	 * @param n number of points
+	 * @param x of the reference point
+	 * @param y of the reference point
+	 * @param out receives the squared distance of each point to the reference point
+	 */
+	public void distancesSquared(float[] xy, int n, float x, float y, float[] out);
+
+	/**
+	 * @param xy packed coordinates
+	 * @param n number of points
+	 * @param cx x of the center
+	 * @param cy y of the center
+	 * @param radius
+	 * @param out receives for each point whether it is inside of the circle (including the border)
+	 * @return number of points inside of the circle
+	 */
+	public int inCircle(float[] xy, int n, float cx, float cy, float radius, boolean[] out);
+
+	/**
+	 * even-odd point in polygon test of many points against one ring
+	 * @param ring packed coordinates of the ring
+	 * @param size number of vertices of the ring
+	 * @param xy packed coordinates of the points
+	 * @param n number of points
+	 * @param out receives for each point whether it is inside of the ring
+	 * @return number of points inside of the ring
+	 */
+	public int inPolygon(float[] ring, int size, float[] xy, int n, boolean[] out);
+
+}
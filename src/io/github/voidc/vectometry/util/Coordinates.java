@@ -0,0 +1,118 @@
+package io.github.voidc.vectometry.util;
+
+import io.github.voidc.vectometry.Vector;
+
+/**
+ * helper methods for packed coordinate arrays in the form {x0, y0, x1, y1, ...}
+ */
+public final class Coordinates {
+
+	private Coordinates() {}
+
+	/**
+	 * @param vectors
+	 * @return packed array of the x and y coordinates of the given vectors
+	 */
+	public static float[] of(Vector[] vectors) {
+		float[] xy = new float[vectors.length * 2];
+		for(int v = 0; v < vectors.length; v++) {
+			xy[2*v] = vectors[v].x;
+			xy[2*v+1] = vectors[v].y;
+		}
+		return xy;
+	}
+
+	/**
+	 * @param xy packed coordinates
+	 * @return an array of vectors with the given coordinates
+	 */
+	public static Vector[] toVectors(float[] xy) {
+		return toVectors(xy, xy.length / 2);
+	}
+
+	/**
+	 * @param xy packed coordinates
+	 * @param n number of points to be converted
+	 * @return an array of vectors with the given coordinates
+	 */
+	public static Vector[] toVectors(float[] xy, int n) {
+		Vector[] vectors = new Vector[n];
+		for(int v = 0; v < n; v++) {
+			vectors[v] = new Vector(xy[2*v], xy[2*v+1]);
+		}
+		return vectors;
+	}
+
+	/**
+	 * @param px x of the point
+	 * @param py y of the point
+	 * @param ax x of the segment start
+	 * @param ay y of the segment start
+	 * @param bx x of the segment end
+	 * @param by y of the segment end
+	 * @return the parameter t in [0, 1] of the point on the segment which is nearest to the given point
+	 */
+	public static float segmentParameter(float px, float py, float ax, float ay, float bx, float by) {
+		float dx = bx - ax;
+		float dy = by - ay;
+		float lengthSq = dx * dx + dy * dy;
+		if(lengthSq == 0) {
+			return 0;
+		}
+		float t = ((px - ax) * dx + (py - ay) * dy) / lengthSq;
+		return t < 0 ? 0 : (t > 1 ? 1 : t);
+	}
+
+	/**
+	 * @return the squared distance between the point and the segment
+	 * @see #segmentParameter(float, float, float, float, float, float)
+	 */
+	public static float segmentDistanceSquared(float px, float py, float ax, float ay, float bx, float by) {
+		float t = segmentParameter(px, py, ax, ay, bx, by);
+		float dx = ax + t * (bx - ax) - px;
+		float dy = ay + t * (by - ay) - py;
+		return dx * dx + dy * dy;
+	}
+
+	/**
+	 * @param xy packed coordinates of a closed ring
+	 * @param n number of points
+	 * @return the signed area of the ring (positive if counter clockwise)
+	 * @see CoordinateKernels#signedArea(float[], int)
+	 */
+	public static double signedArea(float[] xy, int n) {
+		return CoordinateKernels.DEFAULT.signedArea(xy, n);
+	}
+
+	/**
+	 * @param xy packed coordinates
+	 * @return packed coordinates of the points in reverse order
+	 */
+	public static float[] reverse(float[] xy) {
+		int n = xy.length / 2;
+		float[] reversed = new float[xy.length];
+		for(int v = 0; v < n; v++) {
+			reversed[2*v] = xy[2 * (n - 1 - v)];
+			reversed[2*v+1] = xy[2 * (n - 1 - v) + 1];
+		}
+		return reversed;
+	}
+
+	/**
+	 * @param a
+	 * @param b
+	 * @return true if both values are equal, 0.0 and -0.0 are equal and NaN is equal to NaN
+	 */
+	public static boolean equal(float a, float b) {
+		return a == b || (a != a && b != b);
+	}
+
+	/**
+	 * @param value
+	 * @return hash code of the value which is consistent with {@link #equal(float, float)}
+	 */
+	public static int hash(float value) {
+		return Float.floatToIntBits(value + 0.0f);
+	}
+
+}
@@ -0,0 +1,80 @@
+package io.github.voidc.vectometry.util;
+
+import java.util.Arrays;
+
+/**
+ * growable array of primitive floats
+ */
+public class FloatList {
+	private float[] values;
+	private int size;
+
+	/**
+	 * creates a new empty list
+	 */
+	public FloatList() {
+		this(16);
+	}
+
+	/**
+	 * creates a new empty list
+	 * @param capacity initial capacity
+	 */
+	public FloatList(int capacity) {
+		this.values = new float[Math.max(capacity, 2)];
+	}
+
+	/**
+	 * @param value to be appended
+	 */
+	public void add(float value) {
+		if(size == values.length) {
+			values = Arrays.copyOf(values, size * 2);
+		}
+		values[size++] = value;
+	}
+
+	/**
+	 * appends a point as two consecutive values
+	 * @param x
+	 * @param y
+	 */
+	public void add(float x, float y) {
+		if(size + 2 > values.length) {
+			values = Arrays.copyOf(values, Math.max(size * 2, size + 2));
+		}
+		values[size++] = x;
+		values[size++] = y;
+	}
+
+	/**
+	 * @param index
+	 * @return the value at the given index
+	 */
+	public float get(int index) {
+		if(index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		return values[index];
+	}
+
+	/**
+	 * @return number of values
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * removes all values
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * @return a copy of the values
+	 */
+	public float[] toArray() {
+		return Arrays.copyOf(values, size);
+	}
+
+}
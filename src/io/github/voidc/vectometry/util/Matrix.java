@@ -3,13 +3,19 @@ package io.github.voidc.vectometry.util;
 import io.github.voidc.vectometry.Vector;
 
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.BinaryOperator;
 import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
 
 /**
  * uses column-major order
  */
 public class Matrix {
+	private static final int BLOCK = 64;
+	private static final long PARALLEL_WORK = 1L << 21; // multiply-adds above which the work is split
+
 	private float[][] matrix;
 	
 	/**
@@ -56,7 +62,7 @@ public class Matrix {
 		if(this.size() != values.length) throw new IllegalArgumentException("Given array does not fit into the matrix");
 		for(int col = 0; col < this.columns(); col++) {
 			for(int row = 0; row < this.rows(); row++) {
-				this.set(col, row, values[col*(this.columns()+1)+row]);
+				this.set(col, row, values[col*this.rows()+row]);
 			}
 		}
 	}
@@ -121,7 +127,7 @@ public class Matrix {
 		float[] values = new float[this.size()];
 		for(int col = 0; col < this.columns(); col++) {
 			for(int row = 0; row < this.rows(); row++) {
-				values[col*(this.columns()+1)+row] = this.get(col, row);
+				values[col*this.rows()+row] = this.get(col, row);
 			}
 		}
 		return values;
@@ -167,24 +173,324 @@ public class Matrix {
 	}
 	
 	/**
+	 * blocked multiplication which adds scaled columns of this matrix, so all inner loops run along contiguous columns.
+	 * large products are split by the columns of the result and computed in parallel on the common pool
 	 * @param other matrix whose number of rows equal this matrix's number of columns
 	 * @return new matrix with the same number of columns as the other matrix and the same number of rows as this matrix
 	 */
 	public Matrix multiply(Matrix other) {
 		if(this.columns() != other.rows()) throw new IllegalArgumentException("The given matrices can't be multiplied");
-		Matrix result = new Matrix(other.columns(  ), this.rows());
-		for(int col = 0; col < result.columns(); col++) {
-			for(int row = 0; row < result.rows(); row++) {
-				float sum = 0;
-				for(int i = 0; i < this.columns(); i++) {
-					sum += other.get(col, i) * this.get(i, row);
+		float[][] result = new float[other.columns()][this.rows()];
+		if((long) result.length * this.rows() * this.columns() >= PARALLEL_WORK) {
+			ForkJoinPool.commonPool().invoke(new MultiplyTask(this.matrix, other.matrix, result, 0, result.length));
+		} else {
+			multiply(this.matrix, other.matrix, result, 0, result.length);
+		}
+		return new Matrix(result);
+	}
+
+	/**
+	 * c[first..last) += a * b[first..last), blocked over the inner dimension and the rows so a block of a stays in the cache
+	 */
+	private static void multiply(float[][] a, float[][] b, float[][] c, int first, int last) {
+		int inner = a.length, rows = a[0].length;
+		for(int i0 = 0; i0 < inner; i0 += BLOCK) {
+			int i1 = Math.min(i0 + BLOCK, inner);
+			for(int r0 = 0; r0 < rows; r0 += BLOCK) {
+				int r1 = Math.min(r0 + BLOCK, rows);
+				for(int col = first; col < last; col++) {
+					float[] target = c[col], factors = b[col];
+					for(int i = i0; i < i1; i++) {
+						float factor = factors[i];
+						float[] source = a[i];
+						for(int r = r0; r < r1; r++) {
+							target[r] += source[r] * factor;
+						}
+					}
 				}
-				result.set(col, row, sum);
 			}
 		}
-		return result;
 	}
-	
+
+	private static class MultiplyTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final float[][] a, b, c;
+		private final int first, last;
+
+		MultiplyTask(float[][] a, float[][] b, float[][] c, int first, int last) {
+			this.a = a;
+			this.b = b;
+			this.c = c;
+			this.first = first;
+			this.last = last;
+		}
+
+		@Override
+		protected void compute() {
+			if(last - first > 1 && (long) (last - first) * a.length * a[0].length > PARALLEL_WORK) {
+				int middle = (first + last) >>> 1;
+				invokeAll(new MultiplyTask(a, b, c, first, middle), new MultiplyTask(a, b, c, middle, last));
+			} else {
+				multiply(a, b, c, first, last);
+			}
+		}
+	}
+
+	/**
+	 * @return LU decomposition of this square matrix
+	 */
+	public LU lu() {
+		return new LU(this);
+	}
+
+	/**
+	 * @return QR decomposition of this matrix, which needs at least as many rows as columns
+	 */
+	public QR qr() {
+		return new QR(this);
+	}
+
+	/**
+	 * @param b matrix with the same number of rows as this matrix
+	 * @return x which solves this * x = b for square matrices, otherwise the least squares solution
+	 * @throws ArithmeticException if the matrix is singular or rank deficient
+	 */
+	public Matrix solve(Matrix b) {
+		return this.columns() == this.rows() ? this.lu().solve(b) : this.qr().solve(b);
+	}
+
+	/**
+	 * @return the determinant of this square matrix
+	 */
+	public float determinant() {
+		return (float) this.lu().determinant();
+	}
+
+	/**
+	 * @return the inverse of this square matrix
+	 * @throws ArithmeticException if the matrix is singular
+	 */
+	public Matrix inverse() {
+		return this.lu().solve(identity(this.rows()));
+	}
+
+	/**
+	 * LU decomposition with partial pivoting (P * A = L * U), computed in double precision
+	 * <p>
+	 * the elimination runs along the contiguous columns, large trailing updates are computed in parallel
+	 */
+	public static final class LU {
+		private final double[][] lu; // unit lower L below and U on and above the diagonal, column-major
+		private final int[] pivot;
+		private final int sign;
+
+		private LU(Matrix matrix) {
+			int n = matrix.columns();
+			if(n != matrix.rows()) throw new IllegalArgumentException("The matrix is not square");
+			this.lu = toDouble(matrix);
+			this.pivot = new int[n];
+			for(int r = 0; r < n; r++) {
+				pivot[r] = r;
+			}
+			int sign = 1;
+			for(int k = 0; k < n; k++) {
+				double[] column = lu[k];
+				int p = k;
+				for(int r = k + 1; r < n; r++) {
+					if(Math.abs(column[r]) > Math.abs(column[p])) p = r;
+				}
+				if(p != k) {
+					for(double[] col : lu) {
+						double swap = col[p];
+						col[p] = col[k];
+						col[k] = swap;
+					}
+					int swap = pivot[p];
+					pivot[p] = pivot[k];
+					pivot[k] = swap;
+					sign = -sign;
+				}
+				double diagonal = column[k];
+				if(diagonal == 0) continue;
+				for(int r = k + 1; r < n; r++) {
+					column[r] /= diagonal;
+				}
+				int pivotRow = k;
+				IntStream columns = IntStream.range(k + 1, n);
+				if((long) (n - k) * (n - k) >= PARALLEL_WORK) columns = columns.parallel();
+				columns.forEach(col -> {
+					double[] target = lu[col];
+					double factor = target[pivotRow];
+					if(factor == 0) return;
+					for(int r = pivotRow + 1; r < n; r++) {
+						target[r] -= column[r] * factor;
+					}
+				});
+			}
+			this.sign = sign;
+		}
+
+		/**
+		 * @return true if the matrix isn't invertible
+		 */
+		public boolean isSingular() {
+			for(int k = 0; k < lu.length; k++) {
+				if(lu[k][k] == 0) return true;
+			}
+			return false;
+		}
+
+		/**
+		 * @return the determinant of the matrix
+		 */
+		public double determinant() {
+			double det = sign;
+			for(int k = 0; k < lu.length; k++) {
+				det *= lu[k][k];
+			}
+			return det;
+		}
+
+		/**
+		 * @param b matrix with the same number of rows
+		 * @return x which solves A * x = b
+		 * @throws ArithmeticException if the matrix is singular
+		 */
+		public Matrix solve(Matrix b) {
+			int n = lu.length;
+			if(b.rows() != n) throw new IllegalArgumentException("The number of rows doesn't match");
+			if(this.isSingular()) throw new ArithmeticException("The matrix is singular");
+			float[][] result = new float[b.columns()][n];
+			for(int col = 0; col < b.columns(); col++) {
+				double[] x = new double[n];
+				for(int r = 0; r < n; r++) {
+					x[r] = b.get(col, pivot[r]);
+				}
+				for(int k = 0; k < n; k++) { // forward substitution with the unit lower triangle
+					double value = x[k];
+					if(value == 0) continue;
+					double[] column = lu[k];
+					for(int r = k + 1; r < n; r++) {
+						x[r] -= column[r] * value;
+					}
+				}
+				for(int k = n - 1; k >= 0; k--) { // back substitution with the upper triangle
+					double[] column = lu[k];
+					x[k] /= column[k];
+					double value = x[k];
+					for(int r = 0; r < k; r++) {
+						x[r] -= column[r] * value;
+					}
+				}
+				for(int r = 0; r < n; r++) {
+					result[col][r] = (float) x[r];
+				}
+			}
+			return new Matrix(result);
+		}
+	}
+
+	/**
+	 * QR decomposition by Householder reflections, computed in double precision
+	 */
+	public static final class QR {
+		private final double[][] qr; // Householder vectors on and below the diagonal, R above it, column-major
+		private final double[] diagonal; // diagonal of R
+
+		private QR(Matrix matrix) {
+			int n = matrix.columns(), m = matrix.rows();
+			if(m < n) throw new IllegalArgumentException("The matrix has less rows than columns");
+			this.qr = toDouble(matrix);
+			this.diagonal = new double[n];
+			for(int k = 0; k < n; k++) {
+				double[] column = qr[k];
+				double norm = 0;
+				for(int r = k; r < m; r++) {
+					norm = Math.hypot(norm, column[r]);
+				}
+				if(norm != 0) {
+					if(column[k] < 0) norm = -norm;
+					for(int r = k; r < m; r++) {
+						column[r] /= norm;
+					}
+					column[k] += 1;
+					for(int col = k + 1; col < n; col++) {
+						reflect(column, qr[col], k);
+					}
+				}
+				diagonal[k] = -norm;
+			}
+		}
+
+		/**
+		 * applies the reflection stored in the column to the target
+		 */
+		private static void reflect(double[] column, double[] target, int k) {
+			double s = 0;
+			for(int r = k; r < column.length; r++) {
+				s += column[r] * target[r];
+			}
+			s = -s / column[k];
+			for(int r = k; r < column.length; r++) {
+				target[r] += s * column[r];
+			}
+		}
+
+		/**
+		 * @return true if the columns of the matrix are linearly independent
+		 */
+		public boolean isFullRank() {
+			for(double d : diagonal) {
+				if(d == 0) return false;
+			}
+			return true;
+		}
+
+		/**
+		 * @param b matrix with the same number of rows
+		 * @return x which minimizes the squared error of A * x - b
+		 * @throws ArithmeticException if the matrix is rank deficient
+		 */
+		public Matrix solve(Matrix b) {
+			int n = diagonal.length, m = qr[0].length;
+			if(b.rows() != m) throw new IllegalArgumentException("The number of rows doesn't match");
+			if(!this.isFullRank()) throw new ArithmeticException("The matrix is rank deficient");
+			float[][] result = new float[b.columns()][n];
+			for(int col = 0; col < b.columns(); col++) {
+				double[] x = new double[m];
+				for(int r = 0; r < m; r++) {
+					x[r] = b.get(col, r);
+				}
+				for(int k = 0; k < n; k++) { // x = Q^T * b
+					if(diagonal[k] != 0) reflect(qr[k], x, k);
+				}
+				for(int k = n - 1; k >= 0; k--) { // R * x = Q^T * b
+					x[k] /= diagonal[k];
+					double[] column = qr[k];
+					for(int r = 0; r < k; r++) {
+						x[r] -= x[k] * column[r];
+					}
+				}
+				for(int r = 0; r < n; r++) {
+					result[col][r] = (float) x[r];
+				}
+			}
+			return new Matrix(result);
+		}
+	}
+
+	private static double[][] toDouble(Matrix matrix) {
+		double[][] values = new double[matrix.columns()][matrix.rows()];
+		for(int col = 0; col < values.length; col++) {
+			float[] column = matrix.getColumn(col);
+			for(int row = 0; row < column.length; row++) {
+				values[col][row] = column[row];
+			}
+		}
+		return values;
+	}
+
 	/**
 	 * @return the transposed matrix
 	 * -> this[x, y] = transposed[y, x]
@@ -305,5 +611,10 @@ public class Matrix {
 		Matrix mat = (Matrix) obj;
 		return Arrays.deepEquals(this.matrix, mat.matrix);
 	}
+	
+	@Override
+	public int hashCode() {
+		return Arrays.deepHashCode(this.matrix);
+	}
 
 }
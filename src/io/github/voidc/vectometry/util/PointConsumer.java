@@ -0,0 +1,15 @@
+package io.github.voidc.vectometry.util;
+
+/**
+ * receives points as primitive coordinates
+ */
+@FunctionalInterface
+public interface PointConsumer {
+
+	/**
+	 * @param x
+	 * @param y
+	 */
+	public void accept(float x, float y);
+
+}
@@ -0,0 +1,86 @@
+package io.github.voidc.vectometry.util;
+
+/**
+ * real roots of polynomials up to degree three
+ */
+public final class Polynomial {
+	private static final double EPSILON = 1e-12;
+
+	private Polynomial() {}
+
+	/**
+	 * solves a*t^2 + b*t + c = 0, a linear equation if a is zero
+	 * @param roots receives the roots in ascending order, must have room for two values
+	 * @return number of roots, 0 for an equation without a single solution
+	 */
+	public static int solveQuadratic(double a, double b, double c, double[] roots) {
+		if(Math.abs(a) <= EPSILON * (Math.abs(b) + Math.abs(c))) {
+			if(b == 0) return 0;
+			roots[0] = -c / b;
+			return 1;
+		}
+		double discriminant = b * b - 4 * a * c;
+		if(discriminant < 0) return 0;
+		if(discriminant == 0) {
+			roots[0] = -b / (2 * a);
+			return 1;
+		}
+		// avoids the cancellation of -b + sqrt(d) for the smaller root
+		double q = -0.5 * (b + Math.copySign(Math.sqrt(discriminant), b));
+		double r0 = q / a, r1 = c / q;
+		roots[0] = Math.min(r0, r1);
+		roots[1] = Math.max(r0, r1);
+		return 2;
+	}
+
+	/**
+	 * solves a*t^3 + b*t^2 + c*t + d = 0, a quadratic equation if a is zero
+	 * @param roots receives the roots in ascending order, must have room for three values
+	 * @return number of distinct roots
+	 */
+	public static int solveCubic(double a, double b, double c, double d, double[] roots) {
+		if(Math.abs(a) <= EPSILON * (Math.abs(b) + Math.abs(c) + Math.abs(d))) {
+			return solveQuadratic(b, c, d, roots);
+		}
+		// depressed cubic t = x - b/3a: x^3 + p*x + q = 0
+		double B = b / a, C = c / a, D = d / a;
+		double shift = B / 3;
+		double p = C - B * B / 3;
+		double q = 2 * B * B * B / 27 - B * C / 3 + D;
+		double discriminant = q * q / 4 + p * p * p / 27;
+		int count;
+		if(Math.abs(discriminant) <= EPSILON * Math.max(1, q * q)) {
+			if(Math.abs(p) <= EPSILON) {
+				roots[0] = -shift;
+				return 1;
+			}
+			double u = Math.cbrt(-q / 2);
+			roots[0] = 2 * u - shift;
+			roots[1] = -u - shift;
+			count = 2;
+		} else if(discriminant > 0) {
+			double sqrt = Math.sqrt(discriminant);
+			roots[0] = Math.cbrt(-q / 2 + sqrt) + Math.cbrt(-q / 2 - sqrt) - shift;
+			return 1;
+		} else { // three real roots
+			double r = Math.sqrt(-p / 3);
+			double phi = Math.acos(Math.max(-1, Math.min(1, -q / (2 * r * r * r))));
+			for(int k = 0; k < 3; k++) {
+				roots[k] = 2 * r * Math.cos((phi + 2 * Math.PI * k) / 3) - shift;
+			}
+			count = 3;
+		}
+		// sorts the few roots
+		for(int i = 1; i < count; i++) {
+			double root = roots[i];
+			int j = i;
+			while(j > 0 && roots[j - 1] > root) {
+				roots[j] = roots[j - 1];
+				j--;
+			}
+			roots[j] = root;
+		}
+		return count;
+	}
+
+}
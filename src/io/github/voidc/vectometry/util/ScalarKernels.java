@@ -0,0 +1,98 @@
+package io.github.voidc.vectometry.util;
+
+/**
+ * plain loops over the coordinates, used if the vector API isn't available
+ */
+final class ScalarKernels implements CoordinateKernels {
+
+	static CoordinateKernels select() {
+		if(!"false".equals(System.getProperty("vectometry.simd"))) {
+			try {
+				return (CoordinateKernels) Class.forName("io.github.voidc.vectometry.util.SimdKernels").getDeclaredConstructor().newInstance();
+			} catch(ReflectiveOperationException | LinkageError e) {
+				// the module jdk.incubator.vector isn't available
+			}
+		}
+		return new ScalarKernels();
+	}
+
+	@Override
+	public double signedArea(float[] xy, int n) {
+		double sum = 0;
+		for(int v = 0; v < n; v++) {
+			int w = v + 1 < n ? v + 1 : 0;
+			sum += (double) xy[2*v] * xy[2*w+1] - (double) xy[2*w] * xy[2*v+1];
+		}
+		return sum / 2;
+	}
+
+	@Override
+	public void bounds(float[] xy, int n, float[] out) {
+		float minX = xy[0], minY = xy[1], maxX = xy[0], maxY = xy[1];
+		for(int i = 2; i < 2 * n; i += 2) {
+			float x = xy[i], y = xy[i+1];
+			if(x < minX) minX = x;
+			if(x > maxX) maxX = x;
+			if(y < minY) minY = y;
+			if(y > maxY) maxY = y;
+		}
+		out[0] = minX;
+		out[1] = minY;
+		out[2] = maxX;
+		out[3] = maxY;
+	}
+
+	@Override
+	public void transform(float[] src, float[] dst, int n, Affine transform) {
+		float a = (float) transform.a, b = (float) transform.b, c = (float) transform.c, d = (float) transform.d;
+		float tx = (float) transform.tx, ty = (float) transform.ty;
+		for(int i = 0; i < 2 * n; i += 2) {
+			float x = src[i], y = src[i+1];
+			dst[i] = a * x + c * y + tx;
+			dst[i+1] = b * x + d * y + ty;
+		}
+	}
+
+	@Override
+	public void distancesSquared(float[] xy, int n, float x, float y, float[] out) {
+		for(int i = 0; i < n; i++) {
+			float dx = xy[2*i] - x, dy = xy[2*i+1] - y;
+			out[i] = dx * dx + dy * dy;
+		}
+	}
+
+	@Override
+	public int inCircle(float[] xy, int n, float cx, float cy, float radius, boolean[] out) {
+		float r2 = radius * radius;
+		int count = 0;
+		for(int i = 0; i < n; i++) {
+			float dx = xy[2*i] - cx, dy = xy[2*i+1] - cy;
+			boolean inside = dx * dx + dy * dy <= r2;
+			out[i] = inside;
+			if(inside) count++;
+		}
+		return count;
+	}
+
+	@Override
+	public int inPolygon(float[] ring, int size, float[] xy, int n, boolean[] out) {
+		int count = 0;
+		for(int i = 0; i < n; i++) {
+			float px = xy[2*i], py = xy[2*i+1];
+			boolean inside = false;
+			for(int v = 0, w = size - 1; v < size; w = v++) {
+				float ay = ring[2*v+1], by = ring[2*w+1];
+				if((ay > py) != (by > py)) {
+					float ax = ring[2*v], bx = ring[2*w];
+					if(px < ax + (py - ay) * ((bx - ax) / (by - ay))) {
+						inside = !inside;
+					}
+				}
+			}
+			out[i] = inside;
+			if(inside) count++;
+		}
+		return count;
+	}
+
+}